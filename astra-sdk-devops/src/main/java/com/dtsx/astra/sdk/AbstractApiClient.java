@@ -2,7 +2,15 @@ package com.dtsx.astra.sdk;
 
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.Deadline;
 import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.JsonBody;
+import com.dtsx.astra.sdk.utils.tracing.Tracing;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.net.HttpURLConnection.HTTP_ACCEPTED;
 
@@ -14,6 +22,9 @@ public abstract class AbstractApiClient {
     /** hold a reference to the bearer token. */
     protected final String token;
 
+    /** Transport used to send the requests. */
+    protected final HttpClientWrapper httpClient;
+
     /**
      * Default constructor.
      *
@@ -21,8 +32,22 @@ public abstract class AbstractApiClient {
      *     token value
      */
     public AbstractApiClient(String token) {
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor with a dedicated transport, sub clients share the same transport.
+     *
+     * @param token
+     *     token value
+     * @param httpClient
+     *     http client used to send the requests
+     */
+    public AbstractApiClient(String token, HttpClientWrapper httpClient) {
         Assert.hasLength(token, "token");
-        this.token = token;
+        Assert.notNull(httpClient, "httpClient");
+        this.token      = token;
+        this.httpClient = httpClient;
     }
 
     /**
@@ -41,7 +66,65 @@ public abstract class AbstractApiClient {
      *      Http client
      */
     public HttpClientWrapper getHttpClient() {
-        return HttpClientWrapper.getInstance();
+        return httpClient;
+    }
+
+    /**
+     * Execute a call with a deadline, every request sent during the call, including the
+     * ones of nested clients, shares the same time budget.
+     *
+     * @param timeout
+     *      time allowed for the whole call
+     * @param call
+     *      operation to execute
+     * @param <T>
+     *      returned type
+     * @return
+     *      result of the call
+     */
+    public <T> T withDeadline(Duration timeout, Supplier<T> call) {
+        return Deadline.after(timeout).call(call);
+    }
+
+    /**
+     * Execute an operation with a deadline, every request sent during the operation,
+     * including the ones of nested clients, shares the same time budget.
+     *
+     * @param timeout
+     *      time allowed for the whole operation
+     * @param operation
+     *      operation to execute
+     */
+    public void withDeadline(Duration timeout, Runnable operation) {
+        Deadline.after(timeout).run(operation);
+    }
+
+    /**
+     * Execute a logical operation in a span, parent of the requests sent during the call.
+     *
+     * @param operation
+     *      name of the operation, like <code>TenantCdcClient.create</code>
+     * @param call
+     *      operation to execute
+     * @param <T>
+     *      returned type
+     * @return
+     *      result of the call
+     */
+    protected <T> T traced(String operation, Supplier<T> call) {
+        return Tracing.call(getHttpClient().getTracer(), operation, call);
+    }
+
+    /**
+     * Execute a logical operation in a span, parent of the requests sent during the operation.
+     *
+     * @param operation
+     *      name of the operation, like <code>TenantCdcClient.create</code>
+     * @param run
+     *      operation to execute
+     */
+    protected void traced(String operation, Runnable run) {
+        Tracing.run(getHttpClient().getTracer(), operation, run);
     }
 
     /**
@@ -56,6 +139,23 @@ public abstract class AbstractApiClient {
         return getHttpClient().GET(url, getToken());
     }
 
+    /**
+     * Syntax sugar http requests, decode a JSON array lazily from the response stream.
+     * The stream must be closed when it is not fully consumed.
+     *
+     * @param url
+     *      url
+     * @param type
+     *      type of the array elements
+     * @param <T>
+     *      type of the array elements
+     * @return
+     *      lazy stream of elements
+     */
+    public <T> Stream<T> GETStream(String url, Class<T> type) {
+        return getHttpClient().GETStream(url, getToken(), type);
+    }
+
     /**
      * Syntax sugar http requests.
      *
@@ -118,6 +218,44 @@ public abstract class AbstractApiClient {
         getHttpClient().PATCH(url, getToken(), body);
     }
 
+    /**
+     * Syntax sugar http requests, the body is streamed.
+     *
+     * @param url
+     *      url
+     * @param body
+     *      body
+     * @return
+     *      response
+     */
+    public ApiResponseHttp POST(String url, JsonBody body) {
+        return getHttpClient().POST(url, getToken(), body);
+    }
+
+    /**
+     * Syntax sugar http requests, the body is streamed.
+     *
+     * @param url
+     *      url
+     * @param body
+     *      body
+     */
+    public void PUT(String url, JsonBody body) {
+        getHttpClient().PUT(url, getToken(), body);
+    }
+
+    /**
+     * Syntax sugar http requests, the body is streamed.
+     *
+     * @param url
+     *      url
+     * @param body
+     *      body
+     */
+    public void PATCH(String url, JsonBody body) {
+        getHttpClient().PATCH(url, getToken(), body);
+    }
+
     /**
      * Syntax sugar http requests.
      *
@@ -128,6 +266,138 @@ public abstract class AbstractApiClient {
         getHttpClient().DELETE(url, getToken());
     }
 
+    /**
+     * Syntax sugar http requests, non-blocking.
+     *
+     * @param url
+     *      url
+     * @return
+     *      future response
+     */
+    public CompletableFuture<ApiResponseHttp> GETAsync(String url) {
+        return getHttpClient().GETAsync(url, getToken());
+    }
+
+    /**
+     * Syntax sugar http requests, non-blocking.
+     *
+     * @param url
+     *      url
+     * @return
+     *      future response
+     */
+    public CompletableFuture<ApiResponseHttp> HEADAsync(String url) {
+        return getHttpClient().HEADAsync(url, getToken());
+    }
+
+    /**
+     * Syntax sugar http requests, non-blocking.
+     *
+     * @param url
+     *      url
+     * @return
+     *      future response
+     */
+    public CompletableFuture<ApiResponseHttp> POSTAsync(String url) {
+        return getHttpClient().POSTAsync(url, getToken());
+    }
+
+    /**
+     * Syntax sugar http requests, non-blocking.
+     *
+     * @param url
+     *      url
+     * @param body
+     *      body
+     * @return
+     *      future response
+     */
+    public CompletableFuture<ApiResponseHttp> POSTAsync(String url, String body) {
+        return getHttpClient().POSTAsync(url, getToken(), body);
+    }
+
+    /**
+     * Syntax sugar http requests, non-blocking.
+     *
+     * @param url
+     *      url
+     * @param body
+     *      body
+     * @return
+     *      future response
+     */
+    public CompletableFuture<ApiResponseHttp> PUTAsync(String url, String body) {
+        return getHttpClient().PUTAsync(url, getToken(), body);
+    }
+
+    /**
+     * Syntax sugar http requests, non-blocking.
+     *
+     * @param url
+     *      url
+     * @param body
+     *      body
+     * @return
+     *      future response
+     */
+    public CompletableFuture<ApiResponseHttp> PATCHAsync(String url, String body) {
+        return getHttpClient().PATCHAsync(url, getToken(), body);
+    }
+
+    /**
+     * Syntax sugar http requests, non-blocking.
+     *
+     * @param url
+     *      url
+     * @param body
+     *      body
+     * @return
+     *      future response
+     */
+    public CompletableFuture<ApiResponseHttp> POSTAsync(String url, JsonBody body) {
+        return getHttpClient().POSTAsync(url, getToken(), body);
+    }
+
+    /**
+     * Syntax sugar http requests, non-blocking.
+     *
+     * @param url
+     *      url
+     * @param body
+     *      body
+     * @return
+     *      future response
+     */
+    public CompletableFuture<ApiResponseHttp> PUTAsync(String url, JsonBody body) {
+        return getHttpClient().PUTAsync(url, getToken(), body);
+    }
+
+    /**
+     * Syntax sugar http requests, non-blocking.
+     *
+     * @param url
+     *      url
+     * @param body
+     *      body
+     * @return
+     *      future response
+     */
+    public CompletableFuture<ApiResponseHttp> PATCHAsync(String url, JsonBody body) {
+        return getHttpClient().PATCHAsync(url, getToken(), body);
+    }
+
+    /**
+     * Syntax sugar http requests, non-blocking.
+     *
+     * @param url
+     *      url
+     * @return
+     *      future response
+     */
+    public CompletableFuture<ApiResponseHttp> DELETEAsync(String url) {
+        return getHttpClient().DELETEAsync(url, getToken());
+    }
+
     /**
      * Response validation
      *
@@ -9,6 +9,7 @@ import com.dtsx.astra.sdk.org.domain.*;
 import com.dtsx.astra.sdk.streaming.AstraStreamingClient;
 import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 
 import java.util.Map;
@@ -27,7 +28,19 @@ public class AstraDevopsApiClient extends AbstractApiClient {
      *      bearerAuthToken token
      */
     public AstraDevopsApiClient(String token) {
-        super(token);
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Initialize the Devops API with a token
+     *
+     * @param token
+     *      bearerAuthToken token
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public AstraDevopsApiClient(String token, HttpClientWrapper httpClient) {
+        super(token, httpClient);
     }
 
     // ------------------------------------------------------
@@ -73,7 +86,7 @@ public class AstraDevopsApiClient extends AbstractApiClient {
      *      databases client
      */
     public AstraDbClient db() {
-        return new AstraDbClient(token);
+        return new AstraDbClient(token, getHttpClient());
     }
 
     // ------------------------------------------------------
@@ -87,7 +100,7 @@ public class AstraDevopsApiClient extends AbstractApiClient {
      *      streaming client
      */
     public AstraStreamingClient streaming() {
-        return new AstraStreamingClient(token);
+        return new AstraStreamingClient(token, getHttpClient());
     }
 
 
@@ -102,7 +115,7 @@ public class AstraDevopsApiClient extends AbstractApiClient {
      *      user client
      */
     public UsersClient users() {
-        return new UsersClient(token);
+        return new UsersClient(token, getHttpClient());
     }
 
     // ------------------------------------------------------
@@ -116,7 +129,7 @@ public class AstraDevopsApiClient extends AbstractApiClient {
      *      role client
      */
     public RolesClient roles() {
-        return new RolesClient(token);
+        return new RolesClient(token, getHttpClient());
     }
 
     // ------------------------------------------------------
@@ -130,7 +143,7 @@ public class AstraDevopsApiClient extends AbstractApiClient {
      *      keys client
      */
     public KeysClient keys() {
-        return new KeysClient(token);
+        return new KeysClient(token, getHttpClient());
     }
 
     // ------------------------------------------------------
@@ -144,7 +157,7 @@ public class AstraDevopsApiClient extends AbstractApiClient {
      *      token client
      */
     public TokensClient tokens() {
-        return new TokensClient(token);
+        return new TokensClient(token, getHttpClient());
     }
 
 
@@ -6,24 +6,30 @@ import com.dtsx.astra.sdk.db.domain.*;
 import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.JsonBody;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 import com.dtsx.astra.sdk.db.domain.DatabaseFilter.Include;
 
 import java.net.HttpURLConnection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Devops API Client working with Databases.
  */
 public class AstraDbClient extends AbstractApiClient {
 
-    /** Load Database responses. */
-    private static final TypeReference<List<Database>> RESPONSE_DATABASES =  
-            new TypeReference<List<Database>>(){};
+    /** Databases per page when listing every database. */
+    public static final int DEFAULT_PAGE_SIZE = 100;
 
     /** Load Database responses. */
     private static final TypeReference<List<AccessList>> RESPONSE_ACCESS_LIST =
@@ -36,7 +42,19 @@ public class AstraDbClient extends AbstractApiClient {
      *      authenticated token
      */
     public AstraDbClient(String token) {
-        super(token);
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * As immutable object use builder to initiate the object.
+     * 
+     * @param token
+     *      authenticated token
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public AstraDbClient(String token, HttpClientWrapper httpClient) {
+        super(token, httpClient);
     }
 
     // ---------------------------------
@@ -50,7 +68,7 @@ public class AstraDbClient extends AbstractApiClient {
      *      work with regions
      */
     public DbRegionsClient regions() {
-        return new DbRegionsClient(token);
+        return new DbRegionsClient(token, getHttpClient());
     }
 
 
@@ -72,28 +90,64 @@ public class AstraDbClient extends AbstractApiClient {
     // ---------------------------------
     
     /**
-     * Returns list of databases with default filter.
-     * (include=non terminated, provider=ALL,limit=25)
+     * Returns every database (include=all, provider=ALL), pages of {@link #DEFAULT_PAGE_SIZE}
+     * databases are requested while the result is consumed.
      *
      * @return
      *      matching db
      */
     public Stream<Database> findAll() {
-        return search(DatabaseFilter.builder()
+        return searchAll(DatabaseFilter.builder()
                 .include(Include.ALL)
                 .provider(CloudProviderType.ALL)
-                .limit(1000)
+                .limit(DEFAULT_PAGE_SIZE)
                 .build());
     }
     
     /**
-     * Default Filter to find databases.
+     * Every non terminated database, pages of {@link #DEFAULT_PAGE_SIZE} databases are
+     * requested while the result is consumed.
      *
      * @return
      *      list of non terminated db
      */
     public Stream<Database> findAllNonTerminated() {
-        return search(DatabaseFilter.builder().build());
+        return searchAll(DatabaseFilter.builder().limit(DEFAULT_PAGE_SIZE).build());
+    }
+
+    /**
+     * Default Filter to find databases, only the fields of the projection are decoded.
+     * The projection must expose the <code>id</code> field, the cursor of the next page,
+     * it is checked when the call starts.
+     *
+     * @param projection
+     *      class binding a subset of the database fields, like {@link DatabaseSummary}
+     * @param <T>
+     *      type of the projection
+     * @return
+     *      list of non terminated db
+     * @throws IllegalArgumentException
+     *      when the projection does not expose the database identifier
+     */
+    public <T> Stream<T> findAllNonTerminated(Class<T> projection) {
+        Assert.notNull(projection, "projection");
+        return findAllNonTerminated(projection, idAccessor(projection));
+    }
+
+    /**
+     * Default Filter to find databases, only the fields of the projection are decoded.
+     *
+     * @param projection
+     *      class binding a subset of the database fields, like {@link DatabaseSummary}
+     * @param idOf
+     *      identifier of a decoded database, cursor of the next page
+     * @param <T>
+     *      type of the projection
+     * @return
+     *      list of non terminated db
+     */
+    public <T> Stream<T> findAllNonTerminated(Class<T> projection, Function<T, String> idOf) {
+        return searchAll(DatabaseFilter.builder().limit(DEFAULT_PAGE_SIZE).build(), projection, idOf);
     }
     
     /**
@@ -133,11 +187,110 @@ public class AstraDbClient extends AbstractApiClient {
      *      list of db
      */
     public Stream<Database> search(DatabaseFilter filter) {
+        return search(filter, Database.class);
+    }
+
+    /**
+     * Find Databases matching the provided filter and decode only the fields of a projection,
+     * other subtrees of the response are skipped by the parser.
+     *
+     * @param filter
+     *      filter to search for db
+     * @param projection
+     *      class binding a subset of the database fields, like {@link DatabaseSummary}
+     * @param <T>
+     *      type of the projection
+     * @return
+     *      list of db
+     */
+    public <T> Stream<T> search(DatabaseFilter filter, Class<T> projection) {
+        try (Stream<T> dbs = searchStream(filter, projection)) {
+            return dbs.collect(Collectors.toList()).stream();
+        }
+    }
+
+    /**
+     * Find Databases matching the provided filter, databases are decoded one at a time
+     * from the response stream while the result is consumed.
+     *
+     * <p>The result holds an http connection until it has been fully consumed and must be
+     * closed otherwise:</p>
+     * <pre>
+     * try (Stream&lt;Database&gt; dbs = client.searchStream(filter)) {
+     *     dbs.filter(db -&gt; ...).findFirst();
+     * }
+     * </pre>
+     *
+     * @param filter
+     *      filter to search for db
+     * @return
+     *      lazy stream of db
+     */
+    public Stream<Database> searchStream(DatabaseFilter filter) {
+        return searchStream(filter, Database.class);
+    }
+
+    /**
+     * Find Databases matching the provided filter, each database is decoded in the projection
+     * while the result is consumed. The result must be closed when not fully consumed.
+     *
+     * @param filter
+     *      filter to search for db
+     * @param projection
+     *      class binding a subset of the database fields, like {@link DatabaseSummary}
+     * @param <T>
+     *      type of the projection
+     * @return
+     *      lazy stream of db
+     */
+    public <T> Stream<T> searchStream(DatabaseFilter filter, Class<T> projection) {
         Assert.notNull(filter, "filter");
-        ApiResponseHttp res = GET(getEndpointDatabases() + filter.urlParams());
-        return JsonUtils.unmarshallType(res.getBody(), RESPONSE_DATABASES).stream();
+        Assert.notNull(projection, "projection");
+        return GETStream(getEndpointDatabases() + filter.urlParams(), projection);
     }
     
+    /**
+     * Find every database matching the filter, page after page. The limit of the filter is
+     * the page size, the next page is requested in the background while the current one is
+     * consumed.
+     *
+     * <p>Pages are fully read when received, closing the result only cancels the page
+     * requested in advance. The first page is decoded from the response stream like
+     * {@link #searchStream(DatabaseFilter)}, the pages requested in advance are buffered
+     * before being decoded. A listing fitting in one page is never buffered.</p>
+     *
+     * @param filter
+     *      filter to search for db, its limit is the page size
+     * @return
+     *      lazy stream of db
+     */
+    public Stream<Database> searchAll(DatabaseFilter filter) {
+        return searchAll(filter, Database.class, Database::getId);
+    }
+
+    /**
+     * Find every database matching the filter page after page, decoded in a projection.
+     *
+     * @param filter
+     *      filter to search for db, its limit is the page size
+     * @param projection
+     *      class binding a subset of the database fields, like {@link DatabaseSummary}
+     * @param idOf
+     *      identifier of a decoded database, cursor of the next page
+     * @param <T>
+     *      type of the projection
+     * @return
+     *      lazy stream of db
+     */
+    public <T> Stream<T> searchAll(DatabaseFilter filter, Class<T> projection, Function<T, String> idOf) {
+        Assert.notNull(filter, "filter");
+        Assert.notNull(projection, "projection");
+        Assert.notNull(idOf, "idOf");
+        Assert.isTrue(filter.getLimit() > 0, "Page size");
+        DatabasePageSpliterator<T> pages = new DatabasePageSpliterator<>(this, filter, projection, idOf);
+        return StreamSupport.stream(pages, false).onClose(pages::close);
+    }
+
     /**
      * Create a database base on some parameters.
      * 
@@ -150,12 +303,12 @@ public class AstraDbClient extends AbstractApiClient {
      */
     public String create(DatabaseCreationRequest dbCreationRequest) {
         Assert.notNull(dbCreationRequest, "Database creation request");
-        ApiResponseHttp res = POST(getEndpointDatabases(), JsonUtils.marshall(dbCreationRequest));
+        ApiResponseHttp res = POST(getEndpointDatabases(), JsonBody.of(dbCreationRequest));
         if (HttpURLConnection.HTTP_CREATED != res.getCode()) {
             throw new IllegalStateException("Expected code 201 to create db but got " 
                         + res.getCode() + "body=" + res.getBody());
         }
-        return res.getHeaders().get("location");
+        return res.getHeader("location");
     }
 
     // ---------------------------------
@@ -172,7 +325,7 @@ public class AstraDbClient extends AbstractApiClient {
      */
     public DatabaseClient database(String dbId) {
         Assert.hasLength(dbId, "Database Id should not be null nor empty");
-        return new DatabaseClient(token, dbId);
+        return new DatabaseClient(token, dbId, getHttpClient());
     }
 
     /**
@@ -184,13 +337,43 @@ public class AstraDbClient extends AbstractApiClient {
      */
     public DatabaseClient databaseByName(String dbName) {
         Assert.hasLength(dbName, "Database Id should not be null nor empty");
-        List<Database> dbs = findByName(dbName).collect(Collectors.toList());
+        // Only the identifier is needed, databases are decoded as summaries
+        List<DatabaseSummary> dbs = findAllNonTerminated(DatabaseSummary.class, DatabaseSummary::getId)
+                .filter(db -> dbName.equals(db.getName()))
+                .collect(Collectors.toList());
         if (1 == dbs.size()) {
-            return new DatabaseClient(token, dbs.get(0).getId());
+            return new DatabaseClient(token, dbs.get(0).getId(), getHttpClient());
         }
         throw new IllegalArgumentException("Cannot retrieve database from its name (matching count=" + dbs.size() + ")");
     }
 
+    /**
+     * Accessor of the database identifier of a projection, resolved once from its bindings.
+     *
+     * @param projection
+     *      class binding a subset of the database fields
+     * @param <T>
+     *      type of the projection
+     * @return
+     *      identifier of a decoded database
+     */
+    private static <T> Function<T, String> idAccessor(Class<T> projection) {
+        ObjectMapper mapper = JsonUtils.getObjectMapper();
+        AnnotatedMember id = mapper.getSerializationConfig()
+                .introspect(mapper.constructType(projection))
+                .findProperties().stream()
+                .filter(property -> "id".equals(property.getName()) && property.getAccessor() != null)
+                .map(BeanPropertyDefinition::getAccessor)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Projection " + projection.getSimpleName()
+                        + " should expose the database identifier 'id' to be paged"));
+        id.fixAccess(true);
+        return db -> {
+            Object value = id.getValue(db);
+            return (value == null) ? null : value.toString();
+        };
+    }
+
     /**
      * Endpoint to access schema for namespace.
      *
@@ -0,0 +1,424 @@
+package com.dtsx.astra.sdk.db;
+
+import com.dtsx.astra.sdk.db.domain.Database;
+import com.dtsx.astra.sdk.db.domain.DatabaseStatusType;
+import com.dtsx.astra.sdk.utils.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Non terminated databases of an organization kept in memory, indexed by identifier and by name.
+ * Each refresh builds new indexes and replaces the previous ones at once, lookups never see a
+ * partially applied listing.
+ *
+ * <p>Lookups never call the API once the catalog is loaded: entries older than the time to live
+ * are served while a refresh runs in the background (stale while revalidate). Refreshes apply
+ * the differences with the previous listing and notify the {@link DatabaseCatalogListener}s of
+ * new, removed databases and status changes. A periodic refresh can also be scheduled.</p>
+ *
+ * <pre>
+ * try (DatabaseCatalog catalog = DatabaseCatalog.builder().client(astraDbClient).build()) {
+ *     String dbId = catalog.getDatabaseId("my_db");
+ * }
+ * </pre>
+ */
+public class DatabaseCatalog implements Closeable {
+
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseCatalog.class);
+
+    /** Default time to live of the entries. */
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+
+    /** Client listing the databases. */
+    private final AstraDbClient client;
+
+    /** Time to live of the entries. */
+    private final Duration ttl;
+
+    /** Indexes of the last listing, replaced as a whole by each refresh. */
+    private volatile Index index = new Index(Collections.emptyMap());
+
+    /** Listeners notified on refresh. */
+    private final List<DatabaseCatalogListener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Refreshes the catalog in the background. */
+    private final ScheduledExecutorService refresher;
+
+    /** If a background refresh is pending. */
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /** Time of the last refresh, as {@link System#nanoTime()}, 0 before the first load. */
+    private volatile long refreshedAt;
+
+    /**
+     * Constructor, use {@link #builder()}.
+     *
+     * @param builder
+     *      builder
+     */
+    private DatabaseCatalog(Builder builder) {
+        this.client = builder.client;
+        this.ttl    = builder.ttl;
+        this.listeners.addAll(builder.listeners);
+        this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "astra-sdk-catalog");
+            t.setDaemon(true);
+            return t;
+        });
+        if (builder.backgroundRefresh) {
+            long periodMillis = ttl.toMillis();
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Helper to create a builder.
+     *
+     * @return
+     *      an instance of the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Find a database from its identifier.
+     *
+     * @param id
+     *      database identifier
+     * @return
+     *      database if listed
+     */
+    public Optional<Database> findById(String id) {
+        Assert.hasLength(id, "Database identifier");
+        ensureFresh();
+        return Optional.ofNullable(index.byId.get(id));
+    }
+
+    /**
+     * Find the databases with a name.
+     *
+     * @param name
+     *      database name
+     * @return
+     *      databases with this name
+     */
+    public Stream<Database> findByName(String name) {
+        Assert.hasLength(name, "Database name");
+        ensureFresh();
+        Index current = index;
+        return current.byName.getOrDefault(name, Collections.emptyList()).stream().map(current.byId::get);
+    }
+
+    /**
+     * Resolve the identifier of a database from its name.
+     *
+     * @param name
+     *      database name
+     * @return
+     *      database identifier
+     * @throws IllegalArgumentException
+     *      when no database or several databases have this name
+     */
+    public String getDatabaseId(String name) {
+        List<Database> dbs = findByName(name).collect(Collectors.toList());
+        if (1 == dbs.size()) {
+            return dbs.get(0).getId();
+        }
+        throw new IllegalArgumentException("Cannot retrieve database from its name (matching count=" + dbs.size() + ")");
+    }
+
+    /**
+     * Use the database part of the API from its name.
+     *
+     * @param name
+     *      database name
+     * @return
+     *      client specialized for this db
+     */
+    public DatabaseClient databaseByName(String name) {
+        return client.database(getDatabaseId(name));
+    }
+
+    /**
+     * Every database of the catalog.
+     *
+     * @return
+     *      databases
+     */
+    public Stream<Database> findAll() {
+        ensureFresh();
+        return index.byId.values().stream();
+    }
+
+    /**
+     * Register a listener.
+     *
+     * @param listener
+     *      listener notified on refresh
+     */
+    public void addListener(DatabaseCatalogListener listener) {
+        Assert.notNull(listener, "listener");
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a listener.
+     *
+     * @param listener
+     *      listener to remove
+     */
+    public void removeListener(DatabaseCatalogListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * List the databases now and apply the changes, blocking the caller. The catalog and the
+     * listeners see the changes only once the whole listing has been received.
+     */
+    public synchronized void refresh() {
+        Map<String, Database> listed = new LinkedHashMap<>();
+        try (Stream<Database> dbs = client.findAllNonTerminated()) {
+            dbs.forEach(db -> listed.put(db.getId(), db));
+        }
+        Index previous = index;
+        List<Runnable> events = new ArrayList<>();
+        for (Database db : listed.values()) {
+            Database before = previous.byId.get(db.getId());
+            if (before == null) {
+                events.add(() -> listeners.forEach(l -> l.onAdded(db)));
+            } else if (before.getStatus() != db.getStatus()) {
+                DatabaseStatusType previousStatus = before.getStatus();
+                events.add(() -> listeners.forEach(l -> l.onStatusChanged(db, previousStatus)));
+            }
+        }
+        for (Database db : previous.byId.values()) {
+            if (!listed.containsKey(db.getId())) {
+                events.add(() -> listeners.forEach(l -> l.onRemoved(db)));
+            }
+        }
+        index       = new Index(listed);
+        refreshedAt = System.nanoTime();
+        events.forEach(this::notifyQuietly);
+    }
+
+    /**
+     * Tells if the entries are older than the time to live.
+     *
+     * @return
+     *      if a refresh is expected
+     */
+    public boolean isStale() {
+        long at = refreshedAt;
+        return at == 0 || System.nanoTime() - at > ttl.toNanos();
+    }
+
+    /**
+     * Number of databases in the catalog.
+     *
+     * @return
+     *      databases count
+     */
+    public int size() {
+        return index.byId.size();
+    }
+
+    /**
+     * Stop the background refresh.
+     */
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Load the catalog on first use, then refresh stale entries in the background.
+     */
+    private void ensureFresh() {
+        if (refreshedAt == 0) {
+            synchronized (this) {
+                if (refreshedAt == 0) {
+                    refresh();
+                }
+            }
+        } else if (isStale() && !refresher.isShutdown() && refreshing.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                try {
+                    refreshQuietly();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Background refresh, errors are logged and the current entries kept.
+     */
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Cannot refresh the database catalog, entries are kept: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Notify a change, listeners cannot interrupt the refresh.
+     *
+     * @param event
+     *      notification of the listeners
+     */
+    private void notifyQuietly(Runnable event) {
+        try {
+            event.run();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Database catalog listener failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Name of a database, empty when unknown.
+     *
+     * @param db
+     *      database
+     * @return
+     *      database name
+     */
+    private static String name(Database db) {
+        return (db.getInfo() == null || db.getInfo().getName() == null) ? "" : db.getInfo().getName();
+    }
+
+    /**
+     * Databases of a listing indexed by identifier and by name, never modified.
+     */
+    private static final class Index {
+
+        /** Databases per identifier. */
+        private final Map<String, Database> byId;
+
+        /** Database identifiers per name, names are not unique. */
+        private final Map<String, List<String>> byName;
+
+        /**
+         * Index a listing.
+         *
+         * @param listed
+         *      databases per identifier
+         */
+        private Index(Map<String, Database> listed) {
+            Map<String, List<String>> names = new HashMap<>();
+            listed.values().forEach(db -> names.computeIfAbsent(name(db), n -> new ArrayList<>()).add(db.getId()));
+            this.byId   = Collections.unmodifiableMap(new LinkedHashMap<>(listed));
+            this.byName = Collections.unmodifiableMap(names);
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static class Builder {
+
+        /** Client listing the databases. */
+        private AstraDbClient client;
+
+        /** Time to live of the entries. */
+        private Duration ttl = DEFAULT_TTL;
+
+        /** If the catalog is refreshed periodically. */
+        private boolean backgroundRefresh = true;
+
+        /** Listeners notified on refresh. */
+        private final List<DatabaseCatalogListener> listeners = new ArrayList<>();
+
+        /**
+         * Default constructor.
+         */
+        public Builder() {}
+
+        /**
+         * Client listing the databases.
+         *
+         * @param client
+         *      devops client for databases
+         * @return
+         *      this instance.
+         */
+        public Builder client(AstraDbClient client) {
+            this.client = client;
+            return this;
+        }
+
+        /**
+         * Time to live of the entries, older entries are served while refreshed.
+         *
+         * @param ttl
+         *      time to live
+         * @return
+         *      this instance.
+         */
+        public Builder ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Refresh the catalog every time to live, even without lookups.
+         *
+         * @param backgroundRefresh
+         *      if the catalog is refreshed periodically
+         * @return
+         *      this instance.
+         */
+        public Builder backgroundRefresh(boolean backgroundRefresh) {
+            this.backgroundRefresh = backgroundRefresh;
+            return this;
+        }
+
+        /**
+         * Listener of the changes.
+         *
+         * @param listener
+         *      listener notified on refresh
+         * @return
+         *      this instance.
+         */
+        public Builder listener(DatabaseCatalogListener listener) {
+            Assert.notNull(listener, "listener");
+            this.listeners.add(listener);
+            return this;
+        }
+
+        /**
+         * Build the immutable instance.
+         *
+         * @return
+         *      catalog, loaded on first use
+         */
+        public DatabaseCatalog build() {
+            Assert.notNull(client, "client");
+            Assert.notNull(ttl, "ttl");
+            Assert.isTrue(!ttl.isNegative() && !ttl.isZero(), "ttl should be positive");
+            return new DatabaseCatalog(this);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.dtsx.astra.sdk.db;
+
+import com.dtsx.astra.sdk.db.domain.Database;
+import com.dtsx.astra.sdk.db.domain.DatabaseStatusType;
+
+/**
+ * Changes detected by a {@link DatabaseCatalog} when it is refreshed. Listeners are invoked
+ * on the refreshing thread, the catalog already contains the change.
+ */
+public interface DatabaseCatalogListener {
+
+    /**
+     * The status of a database changed.
+     *
+     * @param database
+     *      database with its new status
+     * @param previousStatus
+     *      status before the refresh
+     */
+    void onStatusChanged(Database database, DatabaseStatusType previousStatus);
+
+    /**
+     * A database appeared in the listing.
+     *
+     * @param database
+     *      new database
+     */
+    default void onAdded(Database database) {}
+
+    /**
+     * A database is no longer listed, it has been terminated.
+     *
+     * @param database
+     *      last known state of the database
+     */
+    default void onRemoved(Database database) {}
+
+}
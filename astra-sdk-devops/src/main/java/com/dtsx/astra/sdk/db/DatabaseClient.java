@@ -9,6 +9,8 @@ import com.dtsx.astra.sdk.db.exception.RegionNotFoundException;
 import com.dtsx.astra.sdk.db.telemetry.TelemetryClient;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.JsonBody;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.dtsx.astra.sdk.utils.Utils;
 import org.slf4j.Logger;
@@ -16,11 +18,17 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.net.HttpURLConnection;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 
 /**
  * Devops API Client working with a Database.
+ *
+ * <p>The client holds a snapshot of the database, loaded on first use and shared with the
+ * sub-clients ({@link #keyspaces()}, {@link #datacenters()}...): they read it instead of
+ * requesting the database again. The snapshot is reloaded when older than its maximum age,
+ * after the operations changing the database and on {@link #refresh()}.</p>
  */
 public class DatabaseClient extends AbstractApiClient {
 
@@ -34,6 +42,21 @@ public class DatabaseClient extends AbstractApiClient {
      */
     private final String databaseId;
 
+    /**
+     * Default maximum age of the snapshot.
+     */
+    public static final Duration DEFAULT_SNAPSHOT_MAX_AGE = Duration.ofSeconds(30);
+
+    /**
+     * Maximum age of the snapshot.
+     */
+    private final Duration snapshotMaxAge;
+
+    /**
+     * Last loaded state of the database, null before the first load.
+     */
+    private volatile Snapshot snapshot;
+
     /**
      * Default constructor.
      *
@@ -43,9 +66,41 @@ public class DatabaseClient extends AbstractApiClient {
      *         unique database identifier
      */
     public DatabaseClient(String token, String databaseId) {
-        super(token);
+        this(token, databaseId, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param token
+     *         token client
+     * @param databaseId
+     *         unique database identifier
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public DatabaseClient(String token, String databaseId, HttpClientWrapper httpClient) {
+        this(token, databaseId, httpClient, DEFAULT_SNAPSHOT_MAX_AGE);
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param token
+     *         token client
+     * @param databaseId
+     *         unique database identifier
+     * @param httpClient
+     *      http client used to send the requests
+     * @param snapshotMaxAge
+     *      maximum age of the database snapshot shared with the sub-clients
+     */
+    public DatabaseClient(String token, String databaseId, HttpClientWrapper httpClient, Duration snapshotMaxAge) {
+        super(token, httpClient);
         Assert.hasLength(databaseId, "databaseId");
-        this.databaseId = databaseId;
+        Assert.notNull(snapshotMaxAge, "snapshotMaxAge");
+        this.databaseId     = databaseId;
+        this.snapshotMaxAge = snapshotMaxAge;
     }
 
     // ---------------------------------
@@ -53,16 +108,19 @@ public class DatabaseClient extends AbstractApiClient {
     // ---------------------------------
 
     /**
-     * Retrieve a DB by its id.
+     * Retrieve a DB by its id, the snapshot is updated.
      *
      * @return the database if present,
      */
     public Optional<Database> find() {
         ApiResponseHttp res = GET(getEndpointDatabase());
         if (HttpURLConnection.HTTP_NOT_FOUND == res.getCode()) {
+            snapshot = null;
             return Optional.empty();
         } else {
-            return Optional.of(JsonUtils.unmarshallBean(res.getBody(), Database.class));
+            Database db = JsonUtils.unmarshallBean(res.getBody(), Database.class);
+            snapshot = new Snapshot(db);
+            return Optional.of(db);
         }
     }
 
@@ -75,6 +133,40 @@ public class DatabaseClient extends AbstractApiClient {
         return find().orElseThrow(() -> new DatabaseNotFoundException(databaseId));
     }
 
+    /**
+     * Retrieve the database from the snapshot, loaded when missing or older than the maximum age.
+     *
+     * @return snapshot of the database or error
+     */
+    public Database snapshot() {
+        Snapshot current = snapshot;
+        if (current == null || current.isOlderThan(snapshotMaxAge)) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || current.isOlderThan(snapshotMaxAge)) {
+                    return get();
+                }
+            }
+        }
+        return current.database;
+    }
+
+    /**
+     * Reload the snapshot now.
+     *
+     * @return current db or error
+     */
+    public Database refresh() {
+        return get();
+    }
+
+    /**
+     * Discard the snapshot after an operation changing the database, the next read reloads it.
+     */
+    void invalidate() {
+        snapshot = null;
+    }
+
     /**
      * Evaluate if a database exists using the findById method.
      *
@@ -106,14 +198,16 @@ public class DatabaseClient extends AbstractApiClient {
     public void downloadDefaultSecureConnectBundle(String destination) {
         // Parameters Validation
         Assert.hasLength(destination, "destination");
-        if (!isActive())
-            throw new IllegalStateException("Database '" + databaseId + "' is not available.");
-        // Get list of urls
-        ApiResponseHttp res = POST(getEndpointDatabase() + "/secureBundleURL");
-        // Mapping
-        String url = (String) JsonUtils.unmarshallBean(res.getBody(), Map.class).get("downloadURL");
-        // Download binary in target folder
-        Utils.downloadFile(url, destination);
+        traced("DatabaseClient.downloadDefaultSecureConnectBundle", () -> {
+            if (!isActive())
+                throw new IllegalStateException("Database '" + databaseId + "' is not available.");
+            // Get list of urls
+            ApiResponseHttp res = POST(getEndpointDatabase() + "/secureBundleURL");
+            // Mapping
+            String url = (String) JsonUtils.unmarshallBean(res.getBody(), Map.class).get("downloadURL");
+            // Download binary in target folder
+            Utils.downloadFile(url, destination);
+        });
     }
 
     /**
@@ -127,13 +221,15 @@ public class DatabaseClient extends AbstractApiClient {
     public void downloadSecureConnectBundle(String region, String destination) {
         Assert.hasLength(region, "region");
         Assert.hasLength(destination, "destination");
-        Database db = get();
-        downloadSecureConnectBundle(db.getInfo()
-                .getDatacenters()
-                .stream()
-                .filter(d -> region.equalsIgnoreCase(d.getRegion()))
-                .findFirst()
-                .orElseThrow(() -> new RegionNotFoundException(region, databaseId)), destination);
+        traced("DatabaseClient.downloadSecureConnectBundle", () -> {
+            Database db = snapshot();
+            downloadSecureConnectBundle(db.getInfo()
+                    .getDatacenters()
+                    .stream()
+                    .filter(d -> region.equalsIgnoreCase(d.getRegion()))
+                    .findFirst()
+                    .orElseThrow(() -> new RegionNotFoundException(region, databaseId)), destination);
+        });
     }
 
     /**
@@ -163,10 +259,12 @@ public class DatabaseClient extends AbstractApiClient {
     public void downloadAllSecureConnectBundles(String destination) {
         Assert.hasLength(destination, "destination");
         Assert.isTrue(new File(destination).exists(), "Destination folder");
-        Database db = get();
-        db.getInfo()
-                .getDatacenters()
-                .forEach(dc -> downloadSecureConnectBundle(dc, destination + File.separator + buildScbFileName(db.getId(), dc.getRegion())));
+        traced("DatabaseClient.downloadAllSecureConnectBundles", () -> {
+            Database db = snapshot();
+            db.getInfo()
+                    .getDatacenters()
+                    .forEach(dc -> downloadSecureConnectBundle(dc, destination + File.separator + buildScbFileName(db.getId(), dc.getRegion())));
+        });
     }
 
     /**
@@ -194,6 +292,7 @@ public class DatabaseClient extends AbstractApiClient {
         ApiResponseHttp res = POST(getEndpointDatabase() + "/park");
         // Check response code
         assertHttpCodeAccepted(res, "park", databaseId);
+        invalidate();
     }
 
     /**
@@ -206,6 +305,7 @@ public class DatabaseClient extends AbstractApiClient {
         ApiResponseHttp res = POST(getEndpointDatabase() + "/unpark");
         // Check response code
         assertHttpCodeAccepted(res, "unpark", databaseId);
+        invalidate();
     }
 
     /**
@@ -218,6 +318,7 @@ public class DatabaseClient extends AbstractApiClient {
         ApiResponseHttp res = POST(getEndpointDatabase() + "/terminate");
         // Check response code
         assertHttpCodeAccepted(res, "terminate", databaseId);
+        invalidate();
     }
 
     /**
@@ -232,11 +333,16 @@ public class DatabaseClient extends AbstractApiClient {
         // Parameter validations
         Assert.isTrue(capacityUnits > 0, "Capacity Unit");
         // Build request
-        String body = "{ \"capacityUnits\":" + capacityUnits + "}";
+        JsonBody body = JsonBody.of(json -> {
+            json.writeStartObject();
+            json.writeNumberField("capacityUnits", capacityUnits);
+            json.writeEndObject();
+        });
         // Invoke Http endpoint
         ApiResponseHttp res = POST(getEndpointDatabase() + "/resize", body);
         // Check response code
         assertHttpCodeAccepted(res, "resize", databaseId);
+        invalidate();
     }
 
     /**
@@ -254,7 +360,12 @@ public class DatabaseClient extends AbstractApiClient {
         Assert.hasLength(username, "username");
         Assert.hasLength(password, "password");
         // Build body
-        String body = "{" + "\"username\": \"" + username + "\", " + "\"password\": \"" + password + "\"  }";
+        JsonBody body = JsonBody.of(json -> {
+            json.writeStartObject();
+            json.writeStringField("username", username);
+            json.writeStringField("password", password);
+            json.writeEndObject();
+        });
         // Invoke
         ApiResponseHttp res = POST(getEndpointDatabase() + "/resetPassword", body);
         // Check response code
@@ -272,7 +383,7 @@ public class DatabaseClient extends AbstractApiClient {
      *      keyspaces client
      */
     public DbKeyspacesClient keyspaces() {
-        return new DbKeyspacesClient(token, databaseId);
+        return new DbKeyspacesClient(this);
     }
 
     // ---------------------------------
@@ -285,7 +396,7 @@ public class DatabaseClient extends AbstractApiClient {
      * @return cdc client
      */
     public DbDatacentersClient datacenters() {
-        return new DbDatacentersClient(token, databaseId);
+        return new DbDatacentersClient(this);
     }
 
     // ---------------------------------
@@ -298,7 +409,7 @@ public class DatabaseClient extends AbstractApiClient {
      * @return access list client
      */
     public DbAccessListsClient accessLists() {
-        return new DbAccessListsClient(token, databaseId);
+        return new DbAccessListsClient(this);
     }
 
     // ---------------------------------
@@ -311,7 +422,7 @@ public class DatabaseClient extends AbstractApiClient {
      * @return cdc client
      */
     public DbCdcsClient cdc() {
-        return new DbCdcsClient(token, databaseId);
+        return new DbCdcsClient(this);
     }
 
     // ---------------------------------
@@ -338,7 +449,7 @@ public class DatabaseClient extends AbstractApiClient {
      * @return privateLink client
      */
     public DbPrivateLinksClient privateLink() {
-        return new DbPrivateLinksClient(token, databaseId);
+        return new DbPrivateLinksClient(this);
     }
 
     // ---------------------------------
@@ -374,4 +485,38 @@ public class DatabaseClient extends AbstractApiClient {
         return AstraDbClient.getEndpointDatabases() + "/" + dbId;
     }
 
+    /**
+     * State of the database and its loading time.
+     */
+    private static final class Snapshot {
+
+        /** Database as loaded. */
+        private final Database database;
+
+        /** Loading time, as {@link System#nanoTime()}. */
+        private final long loadedAt = System.nanoTime();
+
+        /**
+         * Constructor.
+         *
+         * @param database
+         *      database as loaded
+         */
+        private Snapshot(Database database) {
+            this.database = database;
+        }
+
+        /**
+         * Tells if the snapshot is older than a maximum age.
+         *
+         * @param maxAge
+         *      maximum age
+         * @return
+         *      if the snapshot should be reloaded
+         */
+        private boolean isOlderThan(Duration maxAge) {
+            return System.nanoTime() - loadedAt > maxAge.toNanos();
+        }
+    }
+
 }
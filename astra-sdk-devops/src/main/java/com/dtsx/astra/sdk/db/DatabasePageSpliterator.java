@@ -0,0 +1,191 @@
+package com.dtsx.astra.sdk.db;
+
+import com.dtsx.astra.sdk.db.domain.DatabaseFilter;
+import com.dtsx.astra.sdk.utils.ApiResponseHttp;
+import com.dtsx.astra.sdk.utils.JsonUtils;
+
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Databases of every page of a search, the <code>starting_after</code> cursor is the
+ * identifier of the last database of the previous page.
+ *
+ * <p>The first page is requested on the blocking client, like the other synchronous calls,
+ * and decoded from the response stream. When a full page is received the next one is
+ * requested with the non-blocking client while the current one is consumed: the body of a
+ * prefetched page is buffered by that client before being decoded, the price of overlapping
+ * the request with the consumption. A page smaller than the limit of the filter is the last
+ * one. Nothing is requested before the first element is consumed.</p>
+ *
+ * @param <T>
+ *      type of the decoded databases
+ */
+final class DatabasePageSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    /** Client sending the requests. */
+    private final AstraDbClient client;
+
+    /** Search criteria, the cursor is replaced for each page. */
+    private final DatabaseFilter filter;
+
+    /** Class of the decoded databases. */
+    private final Class<T> projection;
+
+    /** Identifier of a decoded database, used as cursor. */
+    private final Function<T, String> idOf;
+
+    /** Databases of the current page. */
+    private Iterator<T> current = Collections.emptyIterator();
+
+    /** Next page, null when the last page has been received. */
+    private CompletableFuture<List<T>> next;
+
+    /** If the first page has been requested. */
+    private boolean started;
+
+    /**
+     * Constructor.
+     *
+     * @param client
+     *      client sending the requests
+     * @param filter
+     *      search criteria, its limit is the page size
+     * @param projection
+     *      class of the decoded databases
+     * @param idOf
+     *      identifier of a decoded database
+     */
+    DatabasePageSpliterator(AstraDbClient client, DatabaseFilter filter, Class<T> projection, Function<T, String> idOf) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.client     = client;
+        this.filter     = filter;
+        this.projection = projection;
+        this.idOf       = idOf;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (!started) {
+            started = true;
+            moveTo(firstPage());
+        }
+        while (!current.hasNext()) {
+            if (next == null) {
+                return false;
+            }
+            moveTo(await(next));
+        }
+        action.accept(current.next());
+        return true;
+    }
+
+    /**
+     * Cancel the page requested in advance, when the stream is closed before the end.
+     */
+    void close() {
+        if (next != null) {
+            next.cancel(true);
+            next = null;
+        }
+        current = Collections.emptyIterator();
+    }
+
+    /**
+     * Consume a page and prefetch the next one when this page is full.
+     *
+     * @param page
+     *      databases of the page
+     */
+    private void moveTo(List<T> page) {
+        next = (page.size() < filter.getLimit() || page.isEmpty())
+                ? null
+                : fetch(idOf.apply(page.get(page.size() - 1)));
+        current = page.iterator();
+    }
+
+    /**
+     * Request the first page on the blocking client, databases are decoded from the response
+     * stream without buffering the body.
+     *
+     * @return
+     *      databases of the page
+     */
+    private List<T> firstPage() {
+        try (Stream<T> page = client.GETStream(url(filter.getStartingAfterDbId().orElse(null)), projection)) {
+            return page.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Request a page without blocking.
+     *
+     * @param startingAfter
+     *      identifier of the last database of the previous page
+     * @return
+     *      future page
+     */
+    private CompletableFuture<List<T>> fetch(String startingAfter) {
+        return client.GETAsync(url(startingAfter)).thenApply(this::decode);
+    }
+
+    /**
+     * Url of a page.
+     *
+     * @param startingAfter
+     *      identifier of the last database of the previous page, null for the first page
+     * @return
+     *      url with the search criteria
+     */
+    private String url(String startingAfter) {
+        DatabaseFilter page = new DatabaseFilter(filter.getLimit(), filter.getInclude(), filter.getProvider(), startingAfter);
+        return AstraDbClient.getEndpointDatabases() + page.urlParams();
+    }
+
+    /**
+     * Decode a page.
+     *
+     * @param res
+     *      http response
+     * @return
+     *      databases of the page
+     */
+    private List<T> decode(ApiResponseHttp res) {
+        if (res.getBody() == null || res.getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+            return Collections.emptyList();
+        }
+        return JsonUtils.unmarshallList(res.getBody(), projection);
+    }
+
+    /**
+     * Wait for a page, errors of the request are thrown as is.
+     *
+     * @param <T>
+     *      type of the decoded databases
+     * @param page
+     *      future page
+     * @return
+     *      databases of the page
+     */
+    private static <T> List<T> await(CompletableFuture<List<T>> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
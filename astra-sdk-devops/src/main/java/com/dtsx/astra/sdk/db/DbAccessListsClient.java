@@ -4,9 +4,10 @@ import com.dtsx.astra.sdk.AbstractApiClient;
 import com.dtsx.astra.sdk.db.domain.AccessList;
 import com.dtsx.astra.sdk.db.domain.AccessListAddressRequest;
 import com.dtsx.astra.sdk.db.domain.AccessListRequest;
-import com.dtsx.astra.sdk.db.domain.Database;
 import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.JsonBody;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 
@@ -19,9 +20,9 @@ import java.util.Arrays;
 public class DbAccessListsClient extends AbstractApiClient {
 
     /**
-     * unique db identifier.
+     * Client of the database, holding the snapshot shared with the other sub-clients.
      */
-    private final Database db;
+    private final DatabaseClient dbClient;
 
     /**
      * Constructor.
@@ -32,9 +33,34 @@ public class DbAccessListsClient extends AbstractApiClient {
      *      databaseId
      */
     public DbAccessListsClient(String token, String databaseId) {
-        super(token);
-        Assert.hasLength(databaseId, "databaseId");
-        this.db = new DatabaseClient(token, databaseId).get();
+        this(token, databaseId, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      token
+     * @param databaseId
+     *      databaseId
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public DbAccessListsClient(String token, String databaseId, HttpClientWrapper httpClient) {
+        this(new DatabaseClient(token, databaseId, httpClient));
+        // Test Db exists
+        dbClient.snapshot();
+    }
+
+    /**
+     * Constructor sharing the snapshot of a database client.
+     *
+     * @param dbClient
+     *      client of the database
+     */
+    DbAccessListsClient(DatabaseClient dbClient) {
+        super(dbClient.getToken(), dbClient.getHttpClient());
+        this.dbClient = dbClient;
     }
 
     /**
@@ -48,8 +74,8 @@ public class DbAccessListsClient extends AbstractApiClient {
             return JsonUtils.unmarshallBean(GET(getApiDevopsEndpointAccessListsDb()).getBody(), AccessList.class);
         } catch(RuntimeException mex) {
             AccessList ac = new AccessList();
-            ac.setDatabaseId(db.getId());
-            ac.setOrganizationId(db.getOrgId());
+            ac.setDatabaseId(dbClient.getDatabaseId());
+            ac.setOrganizationId(dbClient.snapshot().getOrgId());
             ac.setAddresses(new ArrayList<>());
             ac.setConfigurations(new AccessList.Configurations(false));
             return ac;
@@ -66,7 +92,7 @@ public class DbAccessListsClient extends AbstractApiClient {
     public void addAddress(AccessListAddressRequest... newAddressed) {
         Assert.notNull(newAddressed, "New addresses should not be null");
         Assert.isTrue(newAddressed.length > 0, "New address should not be empty");
-        POST(getApiDevopsEndpointAccessListsDb(), JsonUtils.marshall(newAddressed));
+        POST(getApiDevopsEndpointAccessListsDb(), JsonBody.of(newAddressed));
     }
 
     /**
@@ -89,7 +115,7 @@ public class DbAccessListsClient extends AbstractApiClient {
     public void replaceAddresses(AccessListAddressRequest... addresses) {
         Assert.notNull(addresses, "Addresses should not be null");
         Assert.isTrue(addresses.length > 0, "Address should not be empty");
-        PUT(getApiDevopsEndpointAccessListsDb(), JsonUtils.marshall(addresses));
+        PUT(getApiDevopsEndpointAccessListsDb(), JsonBody.of(addresses));
     }
 
     /**
@@ -106,7 +132,7 @@ public class DbAccessListsClient extends AbstractApiClient {
         AccessListRequest alr = new AccessListRequest();
         alr.setAddresses(Arrays.asList(addresses));
         alr.setConfigurations(new AccessListRequest.Configurations(true));
-        PATCH(getApiDevopsEndpointAccessListsDb(), JsonUtils.marshall(alr));
+        PATCH(getApiDevopsEndpointAccessListsDb(), JsonBody.of(alr));
     }
 
     /**
@@ -116,7 +142,7 @@ public class DbAccessListsClient extends AbstractApiClient {
      *      endpoint
      */
     public String getApiDevopsEndpointAccessListsDb() {
-        return ApiLocator.getApiDevopsEndpoint() + "/databases/" + db.getId() + "/access-list";
+        return ApiLocator.getApiDevopsEndpoint() + "/databases/" + dbClient.getDatabaseId() + "/access-list";
     }
 
 }
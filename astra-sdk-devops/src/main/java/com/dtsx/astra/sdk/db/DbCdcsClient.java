@@ -1,13 +1,13 @@
 package com.dtsx.astra.sdk.db;
 
 import com.dtsx.astra.sdk.AbstractApiClient;
-import com.dtsx.astra.sdk.db.domain.Database;
 import com.dtsx.astra.sdk.db.exception.ChangeDataCaptureNotFoundException;
 import com.dtsx.astra.sdk.db.exception.KeyspaceNotFoundException;
 import com.dtsx.astra.sdk.streaming.AstraStreamingClient;
 import com.dtsx.astra.sdk.streaming.domain.CdcDefinition;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -29,9 +29,9 @@ public class DbCdcsClient extends AbstractApiClient {
     };
 
     /**
-     * unique db identifier.
+     * Client of the database, holding the snapshot shared with the other sub-clients.
      */
-    private final Database db;
+    private final DatabaseClient dbClient;
 
     /**
      * Constructor.
@@ -42,10 +42,34 @@ public class DbCdcsClient extends AbstractApiClient {
      *      databaseId
      */
     public DbCdcsClient(String token, String databaseId) {
-        super(token);
-        Assert.hasLength(databaseId, "databaseId");
+        this(token, databaseId, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      token
+     * @param databaseId
+     *      databaseId
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public DbCdcsClient(String token, String databaseId, HttpClientWrapper httpClient) {
+        this(new DatabaseClient(token, databaseId, httpClient));
         // Test Db exists
-        this.db = new DatabaseClient(token, databaseId).get();
+        dbClient.snapshot();
+    }
+
+    /**
+     * Constructor sharing the snapshot of a database client.
+     *
+     * @param dbClient
+     *      client of the database
+     */
+    DbCdcsClient(DatabaseClient dbClient) {
+        super(dbClient.getToken(), dbClient.getHttpClient());
+        this.dbClient = dbClient;
     }
 
     /**
@@ -106,10 +130,12 @@ public class DbCdcsClient extends AbstractApiClient {
      */
     public void create(String keyspace, String table, String tenant, int topicPartition) {
         Assert.hasLength(keyspace, "keyspace");
-        if (!db.getInfo().getKeyspaces().contains(keyspace)) {
-            throw new KeyspaceNotFoundException(db.getId(), keyspace);
+        if (!dbClient.snapshot().getInfo().getKeyspaces().contains(keyspace)) {
+            throw new KeyspaceNotFoundException(dbClient.getDatabaseId(), keyspace);
         }
-        new AstraStreamingClient(token).tenant(tenant).cdc().create(db.getId(), keyspace, table, topicPartition);
+        traced("DbCdcsClient.create", () -> {
+            new AstraStreamingClient(token, getHttpClient()).tenant(tenant).cdc().create(dbClient.getDatabaseId(), keyspace, table, topicPartition);
+        });
     }
 
     /**
@@ -119,7 +145,9 @@ public class DbCdcsClient extends AbstractApiClient {
      *         cdc identifier
      */
     public void delete(String cdcId) {
-        delete(findById(cdcId).orElseThrow(() -> new ChangeDataCaptureNotFoundException(cdcId, db.getId())));
+        traced("DbCdcsClient.delete", () -> {
+            delete(findById(cdcId).orElseThrow(() -> new ChangeDataCaptureNotFoundException(cdcId, dbClient.getDatabaseId())));
+        });
     }
 
     /**
@@ -133,8 +161,10 @@ public class DbCdcsClient extends AbstractApiClient {
      *         tenant identifier
      */
     public void delete(String keyspace, String table, String tenant) {
-        delete(findByDefinition(keyspace, table, tenant)
-                .orElseThrow(() -> new ChangeDataCaptureNotFoundException(keyspace, table, tenant, db.getId())));
+        traced("DbCdcsClient.delete", () -> {
+            delete(findByDefinition(keyspace, table, tenant)
+                    .orElseThrow(() -> new ChangeDataCaptureNotFoundException(keyspace, table, tenant, dbClient.getDatabaseId())));
+        });
     }
 
     /**
@@ -144,9 +174,9 @@ public class DbCdcsClient extends AbstractApiClient {
      *         cdc definition
      */
     private void delete(CdcDefinition cdc) {
-        new AstraStreamingClient(token)
+        new AstraStreamingClient(token, getHttpClient())
                 .tenant(cdc.getTenant()).cdc()
-                .delete(db.getId(), cdc.getKeyspace(), cdc.getDatabaseTable());
+                .delete(dbClient.getDatabaseId(), cdc.getKeyspace(), cdc.getDatabaseTable());
     }
 
     /**
@@ -155,7 +185,7 @@ public class DbCdcsClient extends AbstractApiClient {
      * @return url to invoke CDC
      */
     private String getEndpointDatabaseCdc() {
-        return AstraStreamingClient.getApiDevopsEndpointStreaming() + "/astra-cdc/databases/" + db.getId();
+        return AstraStreamingClient.getApiDevopsEndpointStreaming() + "/astra-cdc/databases/" + dbClient.getDatabaseId();
     }
 
 }
@@ -2,13 +2,14 @@ package com.dtsx.astra.sdk.db;
 
 import com.dtsx.astra.sdk.AbstractApiClient;
 import com.dtsx.astra.sdk.db.domain.CloudProviderType;
-import com.dtsx.astra.sdk.db.domain.Database;
 import com.dtsx.astra.sdk.db.domain.DatabaseRegionCreationRequest;
 import com.dtsx.astra.sdk.db.domain.Datacenter;
 import com.dtsx.astra.sdk.db.exception.RegionAlreadyExistException;
 import com.dtsx.astra.sdk.db.exception.RegionNotFoundException;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.JsonBody;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -30,9 +31,9 @@ public class DbDatacentersClient extends AbstractApiClient {
             new TypeReference<List<Datacenter>>() {};
 
     /**
-     * unique db identifier.
+     * Client of the database, holding the snapshot shared with the other sub-clients.
      */
-    private final Database db;
+    private final DatabaseClient dbClient;
 
     /**
      * Constructor.
@@ -43,10 +44,34 @@ public class DbDatacentersClient extends AbstractApiClient {
      *      databaseId
      */
     public DbDatacentersClient(String token, String databaseId) {
-        super(token);
-        Assert.hasLength(databaseId, "databaseId");
+        this(token, databaseId, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      token
+     * @param databaseId
+     *      databaseId
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public DbDatacentersClient(String token, String databaseId, HttpClientWrapper httpClient) {
+        this(new DatabaseClient(token, databaseId, httpClient));
         // Test Db exists
-        this.db = new DatabaseClient(token, databaseId).get();
+        dbClient.snapshot();
+    }
+
+    /**
+     * Constructor sharing the snapshot of a database client.
+     *
+     * @param dbClient
+     *      client of the database
+     */
+    DbDatacentersClient(DatabaseClient dbClient) {
+        super(dbClient.getToken(), dbClient.getHttpClient());
+        this.dbClient = dbClient;
     }
 
     /**
@@ -105,14 +130,14 @@ public class DbDatacentersClient extends AbstractApiClient {
         Assert.notNull(cloudProvider, "cloudProvider");
         Assert.hasLength(regionName, "regionName");
         if (findByRegionName(regionName).isPresent()) {
-            throw new RegionAlreadyExistException(db.getId(), regionName);
+            throw new RegionAlreadyExistException(dbClient.getDatabaseId(), regionName);
         }
         DatabaseRegionCreationRequest req = new DatabaseRegionCreationRequest(tier, cloudProvider.getCode(), regionName);
-        String body = JsonUtils.marshall(Collections.singletonList(req));
-        ApiResponseHttp res = POST(getEndpointRegions(), body);
+        ApiResponseHttp res = POST(getEndpointRegions(), JsonBody.of(Collections.singletonList(req)));
         if (res.getCode() != HttpURLConnection.HTTP_CREATED) {
             throw new IllegalStateException("Cannot Add Region: " + res.getBody());
         }
+        dbClient.invalidate();
     }
 
     /**
@@ -126,12 +151,13 @@ public class DbDatacentersClient extends AbstractApiClient {
     public void delete(String regionName) {
         Optional<Datacenter> optDc = findByRegionName(regionName);
         if (!optDc.isPresent()) {
-            throw new RegionNotFoundException(db.getId(), regionName);
+            throw new RegionNotFoundException(dbClient.getDatabaseId(), regionName);
         }
         // Invoke Http endpoint
         ApiResponseHttp res = POST(getEndpointRegions() + "/" + optDc.get().getId() + "/terminate");
         // Check response code
-        assertHttpCodeAccepted(res, "deleteRegion", db.getId());
+        assertHttpCodeAccepted(res, "deleteRegion", dbClient.getDatabaseId());
+        dbClient.invalidate();
     }
 
     /**
@@ -140,7 +166,7 @@ public class DbDatacentersClient extends AbstractApiClient {
      * @return database endpoint
      */
     private String getEndpointRegions() {
-        return DatabaseClient.getEndpointDatabase(db.getId()) + "/datacenters";
+        return DatabaseClient.getEndpointDatabase(dbClient.getDatabaseId()) + "/datacenters";
     }
 
 }
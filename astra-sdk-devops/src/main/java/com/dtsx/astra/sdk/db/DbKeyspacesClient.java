@@ -5,6 +5,7 @@ import com.dtsx.astra.sdk.db.domain.Database;
 import com.dtsx.astra.sdk.db.exception.KeyspaceAlreadyExistException;
 import com.dtsx.astra.sdk.db.exception.KeyspaceNotFoundException;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 
 import java.util.Set;
 
@@ -14,9 +15,9 @@ import java.util.Set;
 public class DbKeyspacesClient extends AbstractApiClient  {
 
     /**
-     * unique db identifier.
+     * Client of the database, holding the snapshot shared with the other sub-clients.
      */
-    private final Database db;
+    private final DatabaseClient dbClient;
 
     /**
      * Constructor.
@@ -27,8 +28,34 @@ public class DbKeyspacesClient extends AbstractApiClient  {
      *      databaseId
      */
     public DbKeyspacesClient(String token, String databaseId) {
-        super(token);
-        this.db = new DatabaseClient(token, databaseId).get();
+        this(token, databaseId, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      token
+     * @param databaseId
+     *      databaseId
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public DbKeyspacesClient(String token, String databaseId, HttpClientWrapper httpClient) {
+        this(new DatabaseClient(token, databaseId, httpClient));
+        // Test Db exists
+        dbClient.snapshot();
+    }
+
+    /**
+     * Constructor sharing the snapshot of a database client.
+     *
+     * @param dbClient
+     *      client of the database
+     */
+    DbKeyspacesClient(DatabaseClient dbClient) {
+        super(dbClient.getToken(), dbClient.getHttpClient());
+        this.dbClient = dbClient;
     }
 
     /**
@@ -37,7 +64,7 @@ public class DbKeyspacesClient extends AbstractApiClient  {
      * @return
      */
     public Set<String> findAll() {
-        return db.getInfo().getKeyspaces();
+        return dbClient.snapshot().getInfo().getKeyspaces();
     }
 
     /**
@@ -60,10 +87,12 @@ public class DbKeyspacesClient extends AbstractApiClient  {
      */
     public void create(String keyspace) {
         Assert.hasLength(keyspace, "keyspace");
+        Database db = dbClient.snapshot();
         if (db.getInfo().getKeyspaces().contains(keyspace)) {
             throw new KeyspaceAlreadyExistException(keyspace, db.getInfo().getName());
         }
         getHttpClient().POST(getEndpointKeyspace(keyspace), getToken());
+        dbClient.invalidate();
     }
 
     /**
@@ -74,10 +103,12 @@ public class DbKeyspacesClient extends AbstractApiClient  {
      */
     public void delete(String keyspace) {
         Assert.hasLength(keyspace, "keyspace");
+        Database db = dbClient.snapshot();
         if (!db.getInfo().getKeyspaces().contains(keyspace)) {
             throw new KeyspaceNotFoundException(db.getInfo().getName(), keyspace);
         }
         getHttpClient().DELETE(getEndpointKeyspace(keyspace), getToken());
+        dbClient.invalidate();
     }
 
     /**
@@ -88,7 +119,7 @@ public class DbKeyspacesClient extends AbstractApiClient  {
      * @return endpoint
      */
     public String getEndpointKeyspace(String keyspaceName) {
-        return DatabaseClient.getEndpointDatabase(db.getId()) + "/keyspaces/" + keyspaceName;
+        return DatabaseClient.getEndpointDatabase(dbClient.getDatabaseId()) + "/keyspaces/" + keyspaceName;
     }
 
 }
@@ -2,7 +2,6 @@ package com.dtsx.astra.sdk.db;
 
 import com.dtsx.astra.sdk.AbstractApiClient;
 import com.dtsx.astra.sdk.utils.HttpClientWrapper;
-import com.dtsx.astra.sdk.db.domain.Database;
 
 import java.util.Optional;
 
@@ -12,14 +11,21 @@ import java.util.Optional;
 public class DbPrivateLinksClient extends AbstractApiClient  {
 
     /**
-     * Wrapper handling header and error management as a singleton.
+     * Client of the database, holding the snapshot shared with the other sub-clients.
      */
-    private final HttpClientWrapper http = HttpClientWrapper.getInstance();
+    private final DatabaseClient dbClient;
 
     /**
-     * unique db identifier.
+     * Constructor.
+     *
+     * @param token
+     *      token
+     * @param databaseId
+     *      databaseId
      */
-    private final Database db;
+    public DbPrivateLinksClient(String token, String databaseId) {
+        this(token, databaseId, HttpClientWrapper.getInstance());
+    }
 
     /**
      * Constructor.
@@ -28,10 +34,24 @@ public class DbPrivateLinksClient extends AbstractApiClient  {
      *      token
      * @param databaseId
      *      databaseId
+     * @param httpClient
+     *      http client used to send the requests
      */
-    public DbPrivateLinksClient(String token, String databaseId) {
-        super(token);
-        this.db = new DatabaseClient(token, databaseId).get();
+    public DbPrivateLinksClient(String token, String databaseId, HttpClientWrapper httpClient) {
+        this(new DatabaseClient(token, databaseId, httpClient));
+        // Test Db exists
+        dbClient.snapshot();
+    }
+
+    /**
+     * Constructor sharing the snapshot of a database client.
+     *
+     * @param dbClient
+     *      client of the database
+     */
+    DbPrivateLinksClient(DatabaseClient dbClient) {
+        super(dbClient.getToken(), dbClient.getHttpClient());
+        this.dbClient = dbClient;
     }
 
     /**
@@ -30,9 +30,16 @@ public class DbRegionsClient {
     public static final TypeReference<List<DatabaseRegion>> TYPE_LIST_REGION =
             new TypeReference<List<DatabaseRegion>>(){};
 
+    /** List of serverless regions. */
+    private static final TypeReference<List<DatabaseRegionServerless>> TYPE_LIST_REGION_SERVERLESS =
+            new TypeReference<List<DatabaseRegionServerless>>(){};
+
     /** Authentication token */
     private final String token;
 
+    /** Transport used to send the requests. */
+    private final HttpClientWrapper httpClient;
+
     /**
      * Get Access to the token
      *
@@ -40,7 +47,20 @@ public class DbRegionsClient {
      *      current token
      */
     public DbRegionsClient(String token) {
-        this.token = token;
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Get Access to the token
+     *
+     * @param token
+     *      current token
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public DbRegionsClient(String token, HttpClientWrapper httpClient) {
+        this.token      = token;
+        this.httpClient = httpClient;
     }
 
     /**
@@ -51,8 +71,7 @@ public class DbRegionsClient {
      */
     public Stream<DatabaseRegion> findAll() {
         // Invoke endpoint
-        ApiResponseHttp res = HttpClientWrapper
-                .getInstance()
+        ApiResponseHttp res = httpClient
                 .GET(ApiLocator.getApiDevopsEndpoint() + PATH_REGIONS, token);
         // Marshall response
         return JsonUtils.unmarshallType(res.getBody(), TYPE_LIST_REGION).stream();
@@ -66,10 +85,9 @@ public class DbRegionsClient {
      */
     public Stream<DatabaseRegionServerless> findAllServerless() {
         // Invoke endpoint
-        ApiResponseHttp res = HttpClientWrapper
-                .getInstance().GET(ApiLocator.getApiDevopsEndpoint() + PATH_REGIONS_SERVERLESS, token);
+        ApiResponseHttp res = httpClient.GET(ApiLocator.getApiDevopsEndpoint() + PATH_REGIONS_SERVERLESS, token);
         // Marshall response
-        return JsonUtils.unmarshallType(res.getBody(), new TypeReference<List<DatabaseRegionServerless>>(){}).stream();
+        return JsonUtils.unmarshallType(res.getBody(), TYPE_LIST_REGION_SERVERLESS).stream();
     }
 
     /**
@@ -0,0 +1,118 @@
+package com.dtsx.astra.sdk.db.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Projection of a {@link Database} on its identifier, name and status.
+ *
+ * <p>Only these fields are bound when a listing is decoded, the other subtrees (datacenters,
+ * cost, storage, metrics...) are skipped by the parser without creating objects.</p>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DatabaseSummary {
+
+    /** Database identifier. */
+    private String id;
+
+    /** Database name, read from 'info.name'. */
+    private String name;
+
+    /** Database status. */
+    private DatabaseStatusType status;
+
+    /**
+     * Default Constructor.
+     */
+    public DatabaseSummary() {
+    }
+
+    /**
+     * Getter accessor for attribute 'id'.
+     *
+     * @return
+     *       current value of 'id'
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Setter accessor for attribute 'id'.
+     *
+     * @param id
+     * 		new value for 'id '
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Getter accessor for attribute 'name'.
+     *
+     * @return
+     *       current value of 'name'
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Setter accessor for attribute 'name'.
+     *
+     * @param name
+     * 		new value for 'name '
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Getter accessor for attribute 'status'.
+     *
+     * @return
+     *       current value of 'status'
+     */
+    public DatabaseStatusType getStatus() {
+        return status;
+    }
+
+    /**
+     * Setter accessor for attribute 'status'.
+     *
+     * @param status
+     * 		new value for 'status '
+     */
+    public void setStatus(DatabaseStatusType status) {
+        this.status = status;
+    }
+
+    /**
+     * Read the name from the 'info' subtree, its other fields are skipped.
+     *
+     * @param info
+     *      projection of the database info
+     */
+    @JsonProperty("info")
+    private void setInfo(Info info) {
+        this.name = (info == null) ? null : info.name;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "DatabaseSummary{id=" + id + ", name=" + name + ", status=" + status + "}";
+    }
+
+    /**
+     * Projection of {@link DatabaseInfo} on the name.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private static final class Info {
+
+        /** Database name. */
+        @JsonProperty("name")
+        private String name;
+    }
+
+}
@@ -3,13 +3,13 @@ package com.dtsx.astra.sdk.db.telemetry;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
 import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.JsonBody;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.HttpURLConnection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -33,6 +33,9 @@ public class SpecializedTelemetryClient<T> {
     /** Reference to upper resource. */
     private final String telemetryEndpoint;
 
+    /** Transport used to send the requests. */
+    private final HttpClientWrapper httpClient;
+
     /**
      * Default constructor.
      *
@@ -42,11 +45,29 @@ public class SpecializedTelemetryClient<T> {
      *          endpoint
      */
     public SpecializedTelemetryClient(String token, String telemetryEndpoint, String key) {
+        this(token, telemetryEndpoint, HttpClientWrapper.getInstance(), key);
+    }
+
+    /**
+     * Constructor with a dedicated transport.
+     *
+     * @param token
+     *          token client
+     * @param telemetryEndpoint
+     *          endpoint
+     * @param httpClient
+     *          http client used to send the requests
+     * @param key
+     *          telemetry kind
+     */
+    public SpecializedTelemetryClient(String token, String telemetryEndpoint, HttpClientWrapper httpClient, String key) {
         Assert.notNull(token,"databasesClient");
         Assert.hasLength(telemetryEndpoint, "telemetryEndpoint");
+        Assert.notNull(httpClient, "httpClient");
         this.token = token;
         this.key   = key;
         this.telemetryEndpoint = telemetryEndpoint;
+        this.httpClient = httpClient;
     }
 
     /**
@@ -58,9 +79,12 @@ public class SpecializedTelemetryClient<T> {
      *      http response
      */
     public ApiResponseHttp setup(T ktr) {
-        Map<String, T> bodyMap = new HashMap<>();
-        bodyMap.put(key, ktr);
-        return HttpClientWrapper.getInstance().POST(telemetryEndpoint, token, JsonUtils.mapAsJson(bodyMap));
+        JsonBody body = JsonBody.of(json -> {
+            json.writeStartObject();
+            json.writeObjectField(key, ktr);
+            json.writeEndObject();
+        });
+        return httpClient.POST(telemetryEndpoint, token, body);
     }
 
     /**
@@ -70,7 +94,7 @@ public class SpecializedTelemetryClient<T> {
      *      telemetry request
      */
     public Optional<T> find() {
-        ApiResponseHttp res =  HttpClientWrapper.getInstance().GET(telemetryEndpoint, token);
+        ApiResponseHttp res =  httpClient.GET(telemetryEndpoint, token);
         try{
             if (res.getCode() == HttpURLConnection.HTTP_OK) {
                 return Optional.ofNullable(JsonUtils
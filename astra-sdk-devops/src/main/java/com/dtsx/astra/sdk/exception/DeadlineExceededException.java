@@ -0,0 +1,36 @@
+/*
+ * Copyright DataStax, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dtsx.astra.sdk.exception;
+
+/**
+ * Raised when the deadline of a call expires, before a request is sent or while waiting for it.
+ */
+public class DeadlineExceededException extends IllegalStateException {
+
+    /** Serial. */
+    private static final long serialVersionUID = -6158203917406451827L;
+
+    /**
+     * Constructor with message
+     * @param msg
+     *      message
+     */
+    public DeadlineExceededException(String msg) {
+        super(msg);
+    }
+
+}
@@ -6,6 +6,7 @@ import com.dtsx.astra.sdk.org.domain.KeyDefinition;
 import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -17,6 +18,10 @@ import java.util.stream.Stream;
  */
 public class KeysClient extends AbstractApiClient {
 
+    /** List of keys. */
+    private static final TypeReference<List<Key>> TYPE_LIST_KEYS =
+            new TypeReference<List<Key>>(){};
+
     /**
      * Constructor.
      *
@@ -24,7 +29,19 @@ public class KeysClient extends AbstractApiClient {
      *      current token.
      */
     public KeysClient(String token) {
-        super(token);
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      current token.
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public KeysClient(String token, HttpClientWrapper httpClient) {
+        super(token, httpClient);
     }
 
     /**
@@ -37,7 +54,7 @@ public class KeysClient extends AbstractApiClient {
         // Invoke endpoint
         ApiResponseHttp res = GET(ApiLocator.getApiDevopsEndpoint() + "/kms");
         // Mapping
-        return JsonUtils.unmarshallType(res.getBody(), new TypeReference<List<Key>>(){}).stream();
+        return JsonUtils.unmarshallType(res.getBody(), TYPE_LIST_KEYS).stream();
     }
 
     /**
@@ -9,6 +9,8 @@ import com.dtsx.astra.sdk.org.exception.RoleNotFoundException;
 import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.JsonBody;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -39,7 +41,19 @@ public class RolesClient extends AbstractApiClient {
      *      current token.
      */
     public RolesClient(String token) {
-        super(token);
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      current token.
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public RolesClient(String token, HttpClientWrapper httpClient) {
+        super(token, httpClient);
     }
 
     /**
@@ -143,7 +157,7 @@ public class RolesClient extends AbstractApiClient {
      */
     public CreateRoleResponse create(RoleDefinition cr) {
         Assert.notNull(cr, "CreateRole request");
-        ApiResponseHttp res = POST(getApiEndpointRoles(), JsonUtils.marshall(cr));
+        ApiResponseHttp res = POST(getApiEndpointRoles(), JsonBody.of(cr));
         return JsonUtils.unmarshallBean(res.getBody(), CreateRoleResponse.class);
     }
 
@@ -181,7 +195,7 @@ public class RolesClient extends AbstractApiClient {
      *      role definition
      */
     public void update(String roleId, RoleDefinition cr) {
-        PUT(getEndpointRole(roleId), JsonUtils.marshall(cr));
+        PUT(getEndpointRole(roleId), JsonBody.of(cr));
     }
 
     /**
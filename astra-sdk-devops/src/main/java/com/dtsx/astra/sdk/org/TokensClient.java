@@ -5,6 +5,8 @@ import com.dtsx.astra.sdk.org.domain.*;
 import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.JsonBody;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 
 import java.util.Optional;
@@ -25,8 +27,20 @@ public class TokensClient extends AbstractApiClient {
      *      current token.
      */
     public TokensClient(String token) {
-        super(token);
-        this.rolesClient = new RolesClient(token);
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      current token.
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public TokensClient(String token, HttpClientWrapper httpClient) {
+        super(token, httpClient);
+        this.rolesClient = new RolesClient(token, getHttpClient());
     }
 
     /**
@@ -93,14 +107,15 @@ public class TokensClient extends AbstractApiClient {
         Assert.hasLength(role, "role");
         // Role should exist
         Optional<Role> optRole = rolesClient.findByName(role);
-        String roleId = role;
-        if (optRole.isPresent()) {
-            roleId = optRole.get().getId();
-        } else {
-            roleId = rolesClient.get(role).getId();
-        }
+        String roleId = optRole.isPresent() ? optRole.get().getId() : rolesClient.get(role).getId();
         // Building request
-        String body = "{ \"roles\": [ \"" + JsonUtils.escapeJson(roleId) + "\"]}";
+        JsonBody body = JsonBody.of(json -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart("roles");
+            json.writeString(roleId);
+            json.writeEndArray();
+            json.writeEndObject();
+        });
         // Invoke endpoint
         ApiResponseHttp res = POST(getEndpointTokens(), body);
         // Marshall response
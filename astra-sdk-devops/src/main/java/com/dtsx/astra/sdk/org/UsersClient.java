@@ -8,6 +8,8 @@ import com.dtsx.astra.sdk.org.domain.Role;
 import com.dtsx.astra.sdk.org.domain.User;
 import com.dtsx.astra.sdk.org.exception.UserNotFoundException;
 import com.dtsx.astra.sdk.utils.*;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.JsonBody;
 
 import java.net.HttpURLConnection;
 import java.util.*;
@@ -25,7 +27,19 @@ public class UsersClient extends AbstractApiClient {
      *      current token.
      */
     public UsersClient(String token) {
-        super(token);
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      current token.
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public UsersClient(String token, HttpClientWrapper httpClient) {
+        super(token, httpClient);
     }
 
     /**
@@ -133,8 +147,8 @@ public class UsersClient extends AbstractApiClient {
         Assert.isTrue(roles.length > 0, "Roles list cannot be empty");
 
         // Build the invite request with expected roles
-        RolesClient rolesClient = new RolesClient(token);
-        AstraDevopsApiClient devopsApiClient = new AstraDevopsApiClient(token);
+        RolesClient rolesClient = new RolesClient(token, getHttpClient());
+        AstraDevopsApiClient devopsApiClient = new AstraDevopsApiClient(token, getHttpClient());
         InviteUserRequest inviteRequest = new InviteUserRequest(devopsApiClient.getOrganizationId(), email);
         Arrays.asList(roles).forEach(currentRole -> {
             if (IdUtils.isUUID(currentRole)) {
@@ -151,7 +165,7 @@ public class UsersClient extends AbstractApiClient {
         });
 
         // Invoke HTTP
-        PUT(getEndpointUsers(), JsonUtils.marshall(inviteRequest));
+        PUT(getEndpointUsers(), JsonBody.of(inviteRequest));
     }
 
     /**
@@ -173,7 +187,7 @@ public class UsersClient extends AbstractApiClient {
         Map<String, List<String>> mapRoles = new HashMap<>();
         mapRoles.put("roles", new ArrayList<>());
 
-        RolesClient rolesClient = new RolesClient(token);
+        RolesClient rolesClient = new RolesClient(token, getHttpClient());
         Arrays.stream(roles).forEach(currentRole -> {
             if (IdUtils.isUUID(currentRole)) {
                 mapRoles.get("roles").add(currentRole);
@@ -186,7 +200,7 @@ public class UsersClient extends AbstractApiClient {
                 }
             }
         });
-        PUT(getEndpointUser(userId) + "/roles", JsonUtils.marshall(mapRoles));
+        PUT(getEndpointUser(userId) + "/roles", JsonBody.of(mapRoles));
     }
 
     /**
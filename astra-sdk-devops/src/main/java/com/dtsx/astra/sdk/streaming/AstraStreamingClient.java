@@ -4,6 +4,8 @@ import com.dtsx.astra.sdk.AbstractApiClient;
 import com.dtsx.astra.sdk.streaming.exception.TenantNotFoundException;
 import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.JsonBody;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.dtsx.astra.sdk.streaming.domain.CreateTenant;
@@ -21,6 +23,10 @@ import java.util.stream.Stream;
  */
 public class AstraStreamingClient extends AbstractApiClient {
 
+    /** List of tenants. */
+    private static final TypeReference<List<Tenant>> TYPE_LIST_TENANTS =
+            new TypeReference<List<Tenant>>(){};
+
     /**
      * As immutable object use builder to initiate the object.
      *
@@ -28,7 +34,19 @@ public class AstraStreamingClient extends AbstractApiClient {
      *      authenticated token
      */
     public AstraStreamingClient(String token) {
-        super(token);
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * As immutable object use builder to initiate the object.
+     *
+     * @param token
+     *      authenticated token
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public AstraStreamingClient(String token, HttpClientWrapper httpClient) {
+        super(token, httpClient);
     }
 
     /**
@@ -41,7 +59,7 @@ public class AstraStreamingClient extends AbstractApiClient {
         return JsonUtils
                 .unmarshallType(
                         GET(getApiDevopsEndpointTenants()).getBody(),
-                        new TypeReference<List<Tenant>>(){})
+                        TYPE_LIST_TENANTS)
                 .stream();
     }
 
@@ -79,7 +97,7 @@ public class AstraStreamingClient extends AbstractApiClient {
      */
     public void create(CreateTenant ct) {
         Assert.notNull(ct, "Create Tenant request");
-        POST(AstraStreamingClient.getApiDevopsEndpointTenants(), JsonUtils.marshall(ct));
+        POST(AstraStreamingClient.getApiDevopsEndpointTenants(), JsonBody.of(ct));
     }
 
     /**
@@ -118,7 +136,7 @@ public class AstraStreamingClient extends AbstractApiClient {
      *      client for a tenant
      */
     public TenantClient tenant(String tenantName) {
-        return new TenantClient(token, tenantName);
+        return new TenantClient(token, tenantName, getHttpClient());
     }
 
     // ---------------------------------
@@ -132,7 +150,7 @@ public class AstraStreamingClient extends AbstractApiClient {
      *      streaming cluster client
      */
     public ClustersClient clusters() {
-        return new ClustersClient(token);
+        return new ClustersClient(token, getHttpClient());
     }
 
     // ---------------------------------
@@ -146,7 +164,7 @@ public class AstraStreamingClient extends AbstractApiClient {
      *      streaming cluster client
      */
     public ProvidersClient providers() {
-        return new ProvidersClient(token);
+        return new ProvidersClient(token, getHttpClient());
     }
 
     // ---------------------------------
@@ -160,7 +178,7 @@ public class AstraStreamingClient extends AbstractApiClient {
      *      streaming cluster client
      */
     public RegionsClient regions() {
-        return new RegionsClient(token);
+        return new RegionsClient(token, getHttpClient());
     }
     
     // ---------------------------------
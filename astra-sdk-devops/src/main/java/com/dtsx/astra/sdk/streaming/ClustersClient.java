@@ -7,6 +7,7 @@ import java.util.stream.Stream;
 import com.dtsx.astra.sdk.AbstractApiClient;
 import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.streaming.domain.Cluster;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -17,6 +18,10 @@ import com.fasterxml.jackson.core.type.TypeReference;
  */
 public class ClustersClient extends AbstractApiClient {
 
+    /** List of clusters. */
+    private static final TypeReference<List<Cluster>> TYPE_LIST_CLUSTERS =
+            new TypeReference<List<Cluster>>(){};
+
     /**
      * Constructor.
      *
@@ -24,7 +29,19 @@ public class ClustersClient extends AbstractApiClient {
      *      current token.
      */
     public ClustersClient(String token) {
-        super(token);
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      current token.
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public ClustersClient(String token, HttpClientWrapper httpClient) {
+        super(token, httpClient);
     }
 
     /**
@@ -35,7 +52,7 @@ public class ClustersClient extends AbstractApiClient {
      */
     public Stream<Cluster> findAll() {
         return JsonUtils
-                .unmarshallType(GET(getApiDevopsEndpointClusters()).getBody(), new TypeReference<List<Cluster>>(){})
+                .unmarshallType(GET(getApiDevopsEndpointClusters()).getBody(), TYPE_LIST_CLUSTERS)
                 .stream();
     }
     
@@ -1,6 +1,7 @@
 package com.dtsx.astra.sdk.streaming;
 
 import com.dtsx.astra.sdk.AbstractApiClient;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 
 import java.util.List;
@@ -18,7 +19,19 @@ public class ProvidersClient extends AbstractApiClient {
      *      current token.
      */
     public ProvidersClient(String token) {
-        super(token);
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      current token.
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public ProvidersClient(String token, HttpClientWrapper httpClient) {
+        super(token, httpClient);
     }
 
     /**
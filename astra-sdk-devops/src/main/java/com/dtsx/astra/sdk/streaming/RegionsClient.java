@@ -3,6 +3,7 @@ package com.dtsx.astra.sdk.streaming;
 import com.dtsx.astra.sdk.AbstractApiClient;
 import com.dtsx.astra.sdk.streaming.domain.StreamingRegion;
 import com.dtsx.astra.sdk.utils.ApiResponse;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -32,7 +33,19 @@ public class RegionsClient extends AbstractApiClient {
      *      current token.
      */
     public RegionsClient(String token) {
-        super(token);
+        this(token, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      current token.
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public RegionsClient(String token, HttpClientWrapper httpClient) {
+        super(token, httpClient);
     }
 
     /**
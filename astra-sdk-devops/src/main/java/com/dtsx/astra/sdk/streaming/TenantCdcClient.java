@@ -3,7 +3,6 @@ package com.dtsx.astra.sdk.streaming;
 import com.dtsx.astra.sdk.AbstractApiClient;
 import com.dtsx.astra.sdk.AstraDevopsApiClient;
 import com.dtsx.astra.sdk.db.AstraDbClient;
-import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.db.domain.Database;
 import com.dtsx.astra.sdk.db.exception.KeyspaceNotFoundException;
 import com.dtsx.astra.sdk.streaming.domain.CdcDefinition;
@@ -12,6 +11,8 @@ import com.dtsx.astra.sdk.streaming.domain.DeleteCdc;
 import com.dtsx.astra.sdk.streaming.domain.Tenant;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.JsonBody;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -24,6 +25,10 @@ import java.util.stream.Stream;
  */
 public class TenantCdcClient extends AbstractApiClient {
 
+    /** List of cdc definitions. */
+    private static final TypeReference<List<CdcDefinition>> TYPE_LIST_CDC =
+            new TypeReference<List<CdcDefinition>>(){};
+
     /**
      * Unique db identifier.
      */
@@ -38,10 +43,24 @@ public class TenantCdcClient extends AbstractApiClient {
      *      tenantId
      */
     public TenantCdcClient(String token, String tenantId) {
-        super(token);
+        this(token, tenantId, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      token
+     * @param tenantId
+     *      tenantId
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public TenantCdcClient(String token, String tenantId, HttpClientWrapper httpClient) {
+        super(token, httpClient);
         Assert.hasLength(tenantId, "tenantId");
         // Test Db exists
-        this.tenant = new AstraStreamingClient(token).get(tenantId);
+        this.tenant = new AstraStreamingClient(token, getHttpClient()).get(tenantId);
     }
 
     /**
@@ -60,22 +79,24 @@ public class TenantCdcClient extends AbstractApiClient {
         Assert.hasLength(keyspace, "keyspace");
         Assert.hasLength(table, "table");
         Assert.isTrue(topicPartition > 0, "topic partition should be positive");
-        Database db = new AstraDbClient(token).database(databaseId).get();
-        if (!db.getInfo().getKeyspaces().contains(keyspace)) {
-            throw new KeyspaceNotFoundException(databaseId, keyspace);
-        }
-        CreateCdc createCdc = new CreateCdc();
-        createCdc.setOrgId(db.getOrgId());
-        createCdc.setDatabaseId(db.getId());
-        createCdc.setDatabaseName(db.getInfo().getName());
-        createCdc.setKeyspace(keyspace);
-        createCdc.setTableName(table);
-        createCdc.setTopicPartitions(topicPartition);
-        HttpClientWrapper.getInstance().POST_PULSAR(getEndpointTenantCdc(),
-                tenant.getPulsarToken(),
-                JsonUtils.marshall(createCdc),
-                tenant.getClusterName(),
-                tenant.getOrganizationId().toString());
+        traced("TenantCdcClient.create", () -> {
+            Database db = new AstraDbClient(token, getHttpClient()).database(databaseId).get();
+            if (!db.getInfo().getKeyspaces().contains(keyspace)) {
+                throw new KeyspaceNotFoundException(databaseId, keyspace);
+            }
+            CreateCdc createCdc = new CreateCdc();
+            createCdc.setOrgId(db.getOrgId());
+            createCdc.setDatabaseId(db.getId());
+            createCdc.setDatabaseName(db.getInfo().getName());
+            createCdc.setKeyspace(keyspace);
+            createCdc.setTableName(table);
+            createCdc.setTopicPartitions(topicPartition);
+            getHttpClient().POST_PULSAR(getEndpointTenantCdc(),
+                    tenant.getPulsarToken(),
+                    JsonBody.of(createCdc),
+                    tenant.getClusterName(),
+                    tenant.getOrganizationId().toString());
+        });
     }
 
     /**
@@ -91,17 +112,19 @@ public class TenantCdcClient extends AbstractApiClient {
     public void delete(String databaseId, String keyspace, String table) {
         Assert.hasLength(keyspace, "keyspace");
         Assert.hasLength(table, "table");
-        Database db = new AstraDbClient(token).database(databaseId).get();
-        DeleteCdc deleteCdc = new DeleteCdc();
-        deleteCdc.setOrgId(db.getOrgId());
-        deleteCdc.setDatabaseId(db.getId());
-        deleteCdc.setKeyspace(keyspace);
-        deleteCdc.setTableName(table);
-        HttpClientWrapper.getInstance().DELETE_PULSAR(getEndpointTenantCdc(),
-                tenant.getPulsarToken(),
-                JsonUtils.marshall(deleteCdc),
-                tenant.getClusterName(),
-                tenant.getOrganizationId().toString());
+        traced("TenantCdcClient.delete", () -> {
+            Database db = new AstraDbClient(token, getHttpClient()).database(databaseId).get();
+            DeleteCdc deleteCdc = new DeleteCdc();
+            deleteCdc.setOrgId(db.getOrgId());
+            deleteCdc.setDatabaseId(db.getId());
+            deleteCdc.setKeyspace(keyspace);
+            deleteCdc.setTableName(table);
+            getHttpClient().DELETE_PULSAR(getEndpointTenantCdc(),
+                    tenant.getPulsarToken(),
+                    JsonBody.of(deleteCdc),
+                    tenant.getClusterName(),
+                    tenant.getOrganizationId().toString());
+        });
     }
 
     /**
@@ -111,11 +134,11 @@ public class TenantCdcClient extends AbstractApiClient {
      *      list of cdc.
      */
     public Stream<CdcDefinition> list() {
-        ApiResponseHttp res =  HttpClientWrapper.getInstance().GET_PULSAR(getEndpointTenantCdc(),
+        ApiResponseHttp res =  getHttpClient().GET_PULSAR(getEndpointTenantCdc(),
                 tenant.getPulsarToken(),
                 tenant.getClusterName(),
                 tenant.getOrganizationId().toString());
-        return JsonUtils.unmarshallType(res.getBody(),  new TypeReference<List<CdcDefinition>>(){}).stream();
+        return JsonUtils.unmarshallType(res.getBody(), TYPE_LIST_CDC).stream();
     }
 
     /**
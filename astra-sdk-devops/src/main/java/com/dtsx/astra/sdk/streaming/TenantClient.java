@@ -2,6 +2,7 @@ package com.dtsx.astra.sdk.streaming;
 
 import com.dtsx.astra.sdk.AbstractApiClient;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,7 +30,21 @@ public class TenantClient extends AbstractApiClient {
      *         unique tenantId identifier
      */
     public TenantClient(String token, String tenantId) {
-        super(token);
+        this(token, tenantId, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param token
+     *         token client
+     * @param tenantId
+     *         unique tenantId identifier
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public TenantClient(String token, String tenantId, HttpClientWrapper httpClient) {
+        super(token, httpClient);
         Assert.hasLength(tenantId, "tenantId");
         this.tenantId = tenantId;
     }
@@ -45,7 +60,7 @@ public class TenantClient extends AbstractApiClient {
      *      cdc component
      */
     public TenantLimitsClient limits() {
-        return new TenantLimitsClient(token, tenantId);
+        return new TenantLimitsClient(token, tenantId, getHttpClient());
     }
 
     // ---------------------------------
@@ -59,7 +74,7 @@ public class TenantClient extends AbstractApiClient {
      *      cdc component
      */
     public TenantCdcClient cdc() {
-        return new TenantCdcClient(token, tenantId);
+        return new TenantCdcClient(token, tenantId, getHttpClient());
     }
 
     // ---------------------------------
@@ -73,7 +88,7 @@ public class TenantClient extends AbstractApiClient {
      *      cdc component
      */
     public TenantStatsClient stats() {
-        return new TenantStatsClient(token, tenantId);
+        return new TenantStatsClient(token, tenantId, getHttpClient());
     }
 
     // ---------------------------------
@@ -5,6 +5,7 @@ import com.dtsx.astra.sdk.streaming.domain.Tenant;
 import com.dtsx.astra.sdk.streaming.domain.TenantLimit;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -16,6 +17,10 @@ import java.util.stream.Stream;
  */
 public class TenantLimitsClient extends AbstractApiClient {
 
+    /** List of limits. */
+    private static final TypeReference<List<TenantLimit>> TYPE_LIST_LIMITS =
+            new TypeReference<List<TenantLimit>>(){};
+
     /**
      * Unique db identifier.
      */
@@ -30,10 +35,24 @@ public class TenantLimitsClient extends AbstractApiClient {
      *      tenantId
      */
     public TenantLimitsClient(String token, String tenantId) {
-        super(token);
+        this(token, tenantId, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      token
+     * @param tenantId
+     *      tenantId
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public TenantLimitsClient(String token, String tenantId, HttpClientWrapper httpClient) {
+        super(token, httpClient);
         Assert.hasLength(tenantId, "tenantId");
         // Test Db exists
-        this.tenant = new AstraStreamingClient(token).get(tenantId);
+        this.tenant = new AstraStreamingClient(token, getHttpClient()).get(tenantId);
     }
 
     /**
@@ -44,7 +63,7 @@ public class TenantLimitsClient extends AbstractApiClient {
      */
     public Stream<TenantLimit> limits() {
         ApiResponseHttp res = GET(AstraStreamingClient.getEndpointTenant(tenant.getTenantName()) + "/limits");
-        return JsonUtils.unmarshallType(res.getBody(), new TypeReference<List<TenantLimit>>(){}).stream();
+        return JsonUtils.unmarshallType(res.getBody(), TYPE_LIST_LIMITS).stream();
     }
 
 }
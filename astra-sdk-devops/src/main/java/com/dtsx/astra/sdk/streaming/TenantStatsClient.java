@@ -2,9 +2,9 @@ package com.dtsx.astra.sdk.streaming;
 
 import com.dtsx.astra.sdk.AbstractApiClient;
 import com.dtsx.astra.sdk.utils.Assert;
-import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.streaming.domain.Statistics;
 import com.dtsx.astra.sdk.streaming.domain.Tenant;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -35,10 +35,24 @@ public class TenantStatsClient extends AbstractApiClient {
      *      tenantId
      */
     public TenantStatsClient(String token, String tenantId) {
-        super(token);
+        this(token, tenantId, HttpClientWrapper.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param token
+     *      token
+     * @param tenantId
+     *      tenantId
+     * @param httpClient
+     *      http client used to send the requests
+     */
+    public TenantStatsClient(String token, String tenantId, HttpClientWrapper httpClient) {
+        super(token, httpClient);
         Assert.hasLength(tenantId, "tenantId");
         // Test Db exists
-        this.tenant = new AstraStreamingClient(token).get(tenantId);
+        this.tenant = new AstraStreamingClient(token, getHttpClient()).get(tenantId);
     }
 
     /**
@@ -50,7 +64,7 @@ public class TenantStatsClient extends AbstractApiClient {
     public Stream<Statistics> namespaces() {
         return JsonUtils
                 .unmarshallType(
-                        HttpClientWrapper.getInstance().GET_PULSAR(getEndpointStatisticsNamespaces(),
+                        getHttpClient().GET_PULSAR(getEndpointStatisticsNamespaces(),
                         tenant.getPulsarToken(), tenant.getClusterName(),
                         tenant.getOrganizationId().toString()).getBody(), TYPE_LIST_STATISTICS)
                 .values()
@@ -68,8 +82,7 @@ public class TenantStatsClient extends AbstractApiClient {
     public Optional<Statistics> namespace(String namespace) {
         Map<String, Statistics> map = JsonUtils
                 .unmarshallType(
-                        HttpClientWrapper
-                                .getInstance()
+                        getHttpClient()
                                 .GET_PULSAR(
                                     getEndpointStatisticsNamespaces() + "/" + namespace,
                                     tenant.getPulsarToken(), tenant.getClusterName(),
@@ -87,7 +100,7 @@ public class TenantStatsClient extends AbstractApiClient {
     public Stream<Statistics> topics() {
         return JsonUtils
                 .unmarshallType(
-                        HttpClientWrapper.getInstance().GET_PULSAR(getEndpointStatisticsTopics(),
+                        getHttpClient().GET_PULSAR(getEndpointStatisticsTopics(),
                                 tenant.getPulsarToken(), tenant.getClusterName(),
                                 tenant.getOrganizationId().toString()).getBody(), TYPE_LIST_STATISTICS)
                 .values()
@@ -105,7 +118,7 @@ public class TenantStatsClient extends AbstractApiClient {
     public Stream<Statistics> topics(String namespace) {
         return JsonUtils
                 .unmarshallType(
-                        HttpClientWrapper.getInstance().GET_PULSAR(getEndpointStatisticsTopics() + "/" + namespace,
+                        getHttpClient().GET_PULSAR(getEndpointStatisticsTopics() + "/" + namespace,
                                 tenant.getPulsarToken(), tenant.getClusterName(),
                                 tenant.getOrganizationId().toString()).getBody(), TYPE_LIST_STATISTICS)
                 .values()
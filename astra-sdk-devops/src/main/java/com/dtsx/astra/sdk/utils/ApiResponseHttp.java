@@ -1,11 +1,17 @@
 package com.dtsx.astra.sdk.utils;
 
+import org.apache.hc.core5.http.Header;
+
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Response HTTP.
  *
+ * <p>Headers received by {@link HttpClientWrapper} are kept as returned by the client, the map
+ * of {@link #getHeaders()} is only built when requested. Use {@link #getHeader(String)} to read
+ * a single header without materializing the map.</p>
+ *
  * @author Cedrick LUNVEN (@clunven)
  */
 public class ApiResponseHttp {
@@ -17,7 +23,13 @@ public class ApiResponseHttp {
     private final int code;
     
     /** Http Headers. **/
-    private Map<String, String> headers = new HashMap<>();
+    private volatile Map<String, String> headers;
+
+    /** Headers of the http response, until the map is built. */
+    private final Header[] rawHeaders;
+
+    /** Phases of the call, null when timings are disabled. */
+    private RequestTimings timings;
     
     /**
      * Defaut constructor.
@@ -28,8 +40,7 @@ public class ApiResponseHttp {
      *      request code
      */
     public ApiResponseHttp(String body, int code) {
-        this.body = body;
-        this.code = code;
+        this(body, code, new HashMap<>());
     }
     
     /**
@@ -43,9 +54,26 @@ public class ApiResponseHttp {
      *      request headers      
      */
     public ApiResponseHttp(String body, int code, Map<String, String> headers) {
-        this.body = body;
-        this.code = code;
-        this.headers = headers;
+        this.body       = body;
+        this.code       = code;
+        this.headers    = headers;
+        this.rawHeaders = null;
+    }
+
+    /**
+     * Constructor keeping the headers of the http response.
+     *
+     * @param body
+     *      request body
+     * @param code
+     *      request code
+     * @param rawHeaders
+     *      headers of the http response
+     */
+    ApiResponseHttp(String body, int code, Header[] rawHeaders) {
+        this.body       = body;
+        this.code       = code;
+        this.rawHeaders = rawHeaders;
     }
 
     /**
@@ -75,7 +103,65 @@ public class ApiResponseHttp {
      *       current value of 'headers'
      */
     public Map<String, String> getHeaders() {
-        return headers;
+        Map<String, String> map = headers;
+        if (map == null && rawHeaders != null) {
+            map = new HashMap<>(Math.max(16, rawHeaders.length * 2));
+            for (Header h : rawHeaders) {
+                map.put(h.getName(), h.getValue());
+            }
+            headers = map;
+        }
+        return map;
+    }
+
+    /**
+     * Value of a header, name is case-insensitive.
+     *
+     * @param name
+     *      header name
+     * @return
+     *      first value of the header or null
+     */
+    public String getHeader(String name) {
+        if (rawHeaders != null) {
+            for (Header h : rawHeaders) {
+                if (h.getName().equalsIgnoreCase(name)) {
+                    return h.getValue();
+                }
+            }
+            return null;
+        }
+        Map<String, String> map = headers;
+        if (map == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> h : map.entrySet()) {
+            if (h.getKey().equalsIgnoreCase(name)) {
+                return h.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Phases of the call, available when a {@link RequestTimingsListener} is configured
+     * on {@link HttpClientWrapper}.
+     *
+     * @return
+     *       timings of the call or null
+     */
+    public RequestTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Attach the phases of the call.
+     *
+     * @param timings
+     *       timings of the call
+     */
+    void setTimings(RequestTimings timings) {
+        this.timings = timings;
     }
     
 
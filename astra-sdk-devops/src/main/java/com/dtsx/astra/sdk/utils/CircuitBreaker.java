@@ -0,0 +1,443 @@
+package com.dtsx.astra.sdk.utils;
+
+import com.dtsx.astra.sdk.exception.CircuitBreakerOpenException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker of {@link HttpClientWrapper}, one circuit per host and path template.
+ *
+ * <p>Each circuit keeps the outcome of the last calls in a sliding window. When the rate
+ * of failed calls (I/O errors and 5xx) or the rate of slow calls goes above its threshold
+ * the circuit opens and calls fail fast with {@link CircuitBreakerOpenException}, without
+ * holding a thread or a connection. After a wait the circuit becomes half-open and lets a
+ * few probe calls through: it closes when they all succeed and opens again otherwise.</p>
+ */
+public class CircuitBreaker {
+
+    /** Default size of the sliding window. */
+    public static final int DEFAULT_WINDOW_SIZE = 50;
+
+    /** Default number of calls before rates are evaluated. */
+    public static final int DEFAULT_MINIMUM_CALLS = 10;
+
+    /** Default time spent open before probing. */
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    /** Default duration above which a call is slow. */
+    public static final Duration DEFAULT_SLOW_CALL_DURATION = Duration.ofSeconds(5);
+
+    /**
+     * State of a circuit.
+     */
+    public enum State {
+        /** Calls go through. */
+        CLOSED,
+        /** Calls fail fast. */
+        OPEN,
+        /** A few probe calls go through. */
+        HALF_OPEN
+    }
+
+    /** Size of the sliding window. */
+    private final int windowSize;
+
+    /** Number of calls before rates are evaluated. */
+    private final int minimumCalls;
+
+    /** Failure rate opening the circuit. */
+    private final double failureRateThreshold;
+
+    /** Slow call rate opening the circuit. */
+    private final double slowCallRateThreshold;
+
+    /** Duration above which a call is slow. */
+    private final long slowCallNanos;
+
+    /** Time spent open before probing. */
+    private final long openNanos;
+
+    /** Number of probe calls in half-open state. */
+    private final int halfOpenCalls;
+
+    /** Circuits per key. */
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    /** Calls refused. */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Full constructor, use the builder.
+     *
+     * @param builder
+     *      current builder
+     */
+    private CircuitBreaker(CircuitBreakerBuilder builder) {
+        this.windowSize            = builder.windowSize;
+        this.minimumCalls          = builder.minimumCalls;
+        this.failureRateThreshold  = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallNanos         = builder.slowCallDuration.toNanos();
+        this.openNanos             = builder.openDuration.toNanos();
+        this.halfOpenCalls         = builder.halfOpenCalls;
+    }
+
+    /**
+     * Helper to create a builder.
+     *
+     * @return
+     *      an instance of the builder
+     */
+    public static CircuitBreakerBuilder builder() {
+        return new CircuitBreakerBuilder();
+    }
+
+    /**
+     * Build the key of a circuit from the template of the path, see
+     * {@link Utils#pathTemplate(String)}.
+     *
+     * @param host
+     *      target host
+     * @param path
+     *      request path
+     * @return
+     *      key of the circuit
+     */
+    public static String key(String host, String path) {
+        return host + Utils.pathTemplate(path);
+    }
+
+    /**
+     * Ask permission to send a call.
+     *
+     * @param key
+     *      key of the circuit
+     * @throws CircuitBreakerOpenException
+     *      when the circuit is open
+     */
+    public void acquire(String key) {
+        if (!circuits.computeIfAbsent(key, k -> new Circuit()).tryAcquire()) {
+            rejected.increment();
+            throw new CircuitBreakerOpenException("Circuit breaker is open for '" + key
+                    + "', calls are rejected until the endpoint recovers");
+        }
+    }
+
+    /**
+     * Record the outcome of a call allowed with {@link #acquire(String)}.
+     *
+     * @param key
+     *      key of the circuit
+     * @param durationNanos
+     *      duration of the call
+     * @param failed
+     *      if the call failed
+     */
+    public void onResult(String key, long durationNanos, boolean failed) {
+        Circuit circuit = circuits.get(key);
+        if (circuit != null) {
+            circuit.record(failed, durationNanos >= slowCallNanos);
+        }
+    }
+
+    /**
+     * Release a call allowed with {@link #acquire(String)} which completed without outcome
+     * (cancelled).
+     *
+     * @param key
+     *      key of the circuit
+     */
+    public void release(String key) {
+        Circuit circuit = circuits.get(key);
+        if (circuit != null) {
+            circuit.release();
+        }
+    }
+
+    /**
+     * State of a circuit.
+     *
+     * @param key
+     *      key of the circuit
+     * @return
+     *      current state, closed when no call has been sent
+     */
+    public State getState(String key) {
+        Circuit circuit = circuits.get(key);
+        return (circuit == null) ? State.CLOSED : circuit.getState();
+    }
+
+    /**
+     * State of every circuit, sorted by key.
+     *
+     * @return
+     *      states per key
+     */
+    public Map<String, State> getStates() {
+        Map<String, State> states = new TreeMap<>();
+        circuits.forEach((key, circuit) -> states.put(key, circuit.getState()));
+        return states;
+    }
+
+    /**
+     * Number of calls refused because a circuit was open.
+     *
+     * @return
+     *      calls refused
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "CircuitBreaker{rejected=" + getRejectedCount() + ", circuits=" + getStates() + "}";
+    }
+
+    /**
+     * Circuit of one key, calls are rare enough for a monitor to be cheap.
+     */
+    private final class Circuit {
+
+        /** Current state. */
+        private State state = State.CLOSED;
+
+        /** When the circuit opened. */
+        private long openedAt;
+
+        /** Failed calls of the window. */
+        private final boolean[] failures = new boolean[windowSize];
+
+        /** Slow calls of the window. */
+        private final boolean[] slows = new boolean[windowSize];
+
+        /** Next slot of the window. */
+        private int index;
+
+        /** Calls in the window. */
+        private int calls;
+
+        /** Failed calls in the window. */
+        private int failureCount;
+
+        /** Slow calls in the window. */
+        private int slowCount;
+
+        /** Probe calls sent in half-open state. */
+        private int probes;
+
+        /** Probe calls which succeeded. */
+        private int probeSuccesses;
+
+        /**
+         * Tells if a call can be sent.
+         *
+         * @return
+         *      if the call is allowed
+         */
+        synchronized boolean tryAcquire() {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state          = State.HALF_OPEN;
+                probes         = 0;
+                probeSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (probes >= halfOpenCalls) {
+                    return false;
+                }
+                probes++;
+            }
+            return true;
+        }
+
+        /**
+         * Record the outcome of a call.
+         *
+         * @param failed
+         *      if the call failed
+         * @param slow
+         *      if the call was slow
+         */
+        synchronized void record(boolean failed, boolean slow) {
+            if (state == State.HALF_OPEN) {
+                if (failed || slow) {
+                    open();
+                } else if (++probeSuccesses >= halfOpenCalls) {
+                    close();
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                return;
+            }
+            if (calls == windowSize) {
+                failureCount -= failures[index] ? 1 : 0;
+                slowCount    -= slows[index] ? 1 : 0;
+            } else {
+                calls++;
+            }
+            failures[index] = failed;
+            slows[index]    = slow;
+            failureCount   += failed ? 1 : 0;
+            slowCount      += slow ? 1 : 0;
+            index = (index + 1) % windowSize;
+            if (calls >= minimumCalls && ((double) failureCount / calls >= failureRateThreshold
+                    || (double) slowCount / calls >= slowCallRateThreshold)) {
+                open();
+            }
+        }
+
+        /**
+         * Release a probe which completed without outcome.
+         */
+        synchronized void release() {
+            if (state == State.HALF_OPEN && probes > probeSuccesses) {
+                probes--;
+            }
+        }
+
+        /**
+         * Current state, an open circuit waiting for probes is reported as half-open.
+         *
+         * @return
+         *      state
+         */
+        synchronized State getState() {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                return State.HALF_OPEN;
+            }
+            return state;
+        }
+
+        /**
+         * Fail fast.
+         */
+        private void open() {
+            state    = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+
+        /**
+         * Back to normal, the window is reset.
+         */
+        private void close() {
+            state        = State.CLOSED;
+            index        = 0;
+            calls        = 0;
+            failureCount = 0;
+            slowCount    = 0;
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static class CircuitBreakerBuilder {
+        /** */
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        /** */
+        private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+        /** */
+        private double failureRateThreshold = 0.5;
+        /** */
+        private double slowCallRateThreshold = 0.8;
+        /** */
+        private Duration slowCallDuration = DEFAULT_SLOW_CALL_DURATION;
+        /** */
+        private Duration openDuration = DEFAULT_OPEN_DURATION;
+        /** */
+        private int halfOpenCalls = 3;
+
+        /**
+         * Default constructor.
+         */
+        public CircuitBreakerBuilder() {}
+
+        /**
+         * Define the sliding window.
+         *
+         * @param size
+         *      number of calls kept in the window
+         * @param minCalls
+         *      number of calls before rates are evaluated
+         * @return
+         *      this instance.
+         */
+        public CircuitBreakerBuilder window(int size, int minCalls) {
+            Assert.isTrue(size > 0, "Window size should be positive");
+            Assert.isTrue(minCalls > 0 && minCalls <= size, "Minimum calls should be between 1 and window size");
+            this.windowSize   = size;
+            this.minimumCalls = minCalls;
+            return this;
+        }
+
+        /**
+         * Define the failure rate opening the circuit.
+         *
+         * @param rate
+         *      rate between 0 and 1
+         * @return
+         *      this instance.
+         */
+        public CircuitBreakerBuilder failureRateThreshold(double rate) {
+            Assert.isTrue(rate > 0 && rate <= 1, "Rate should be between 0 and 1");
+            this.failureRateThreshold = rate;
+            return this;
+        }
+
+        /**
+         * Define the slow call rate opening the circuit.
+         *
+         * @param rate
+         *      rate between 0 and 1
+         * @param duration
+         *      duration above which a call is slow
+         * @return
+         *      this instance.
+         */
+        public CircuitBreakerBuilder slowCallRateThreshold(double rate, Duration duration) {
+            Assert.isTrue(rate > 0 && rate <= 1, "Rate should be between 0 and 1");
+            Assert.notNull(duration, "duration");
+            this.slowCallRateThreshold = rate;
+            this.slowCallDuration      = duration;
+            return this;
+        }
+
+        /**
+         * Define the half-open state.
+         *
+         * @param wait
+         *      time spent open before probing
+         * @param probeCalls
+         *      number of probe calls
+         * @return
+         *      this instance.
+         */
+        public CircuitBreakerBuilder halfOpen(Duration wait, int probeCalls) {
+            Assert.notNull(wait, "wait");
+            Assert.isTrue(probeCalls > 0, "Probe calls should be positive");
+            this.openDuration  = wait;
+            this.halfOpenCalls = probeCalls;
+            return this;
+        }
+
+        /**
+         * Build the immutable instance.
+         *
+         * @return
+         *      an instance of circuit breaker
+         */
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
+    }
+
+}
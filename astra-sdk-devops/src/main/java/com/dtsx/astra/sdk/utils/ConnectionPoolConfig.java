@@ -0,0 +1,429 @@
+package com.dtsx.astra.sdk.utils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of the connection pools used by {@link HttpClientWrapper}.
+ *
+ * <p>Limits and time to live can be defined per host. A host pattern is either an exact
+ * host name (<code>api.astra.datastax.com</code>) or a wildcard on a domain
+ * (<code>*.api.streaming.datastax.com</code>) to cover every pulsar cluster at once.
+ * Exact names are evaluated before wildcards.</p>
+ *
+ * <p>A background evictor closes the connections idle for longer than the max idle time
+ * and the ones expired, either by their time to live or by the keep-alive advertised by
+ * the server, so they are not reused after the server or a load balancer dropped them.</p>
+ */
+public class ConnectionPoolConfig {
+
+    /** Default maximum number of connections. */
+    public static final int DEFAULT_MAX_TOTAL = 100;
+
+    /** Default maximum number of connections per route. */
+    public static final int DEFAULT_MAX_PER_ROUTE = 10;
+
+    /** Default delay before a pooled connection is validated again. */
+    public static final Duration DEFAULT_VALIDATE_AFTER_INACTIVITY = Duration.ofSeconds(10);
+
+    /** Default idle time after which a connection is evicted. */
+    public static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofSeconds(30);
+
+    /** Default delay between two runs of the evictor. */
+    public static final Duration DEFAULT_EVICTION_INTERVAL = Duration.ofSeconds(5);
+
+    /** Default keep-alive when the server does not advertise one. */
+    public static final Duration DEFAULT_KEEP_ALIVE = Duration.ofSeconds(30);
+
+    /** Prefix for wildcard host patterns. */
+    private static final String WILDCARD = "*.";
+
+    /** Maximum number of connections for the whole pool. */
+    private final int maxTotal;
+
+    /** Maximum number of connections for a route without specific limit. */
+    private final int defaultMaxPerRoute;
+
+    /** Specific limits per host pattern. */
+    private final Map<String, Integer> maxPerHost;
+
+    /** Time to live of a connection, null means unlimited. */
+    private final Duration timeToLive;
+
+    /** Specific time to live per host pattern. */
+    private final Map<String, Duration> timeToLivePerHost;
+
+    /** Idle connections older than this value are evicted, null means never. */
+    private final Duration maxIdleTime;
+
+    /** Delay before a pooled connection is validated again. */
+    private final Duration validateAfterInactivity;
+
+    /** Delay between two runs of the evictor. */
+    private final Duration evictionInterval;
+
+    /** Keep-alive when the server does not advertise one, also caps the advertised one. */
+    private final Duration keepAlive;
+
+    /**
+     * Full constructor, use the builder.
+     *
+     * @param builder
+     *      current builder
+     */
+    private ConnectionPoolConfig(ConnectionPoolConfigBuilder builder) {
+        this.maxTotal                = builder.maxTotal;
+        this.defaultMaxPerRoute      = builder.defaultMaxPerRoute;
+        this.maxPerHost              = Collections.unmodifiableMap(new LinkedHashMap<>(builder.maxPerHost));
+        this.timeToLive              = builder.timeToLive;
+        this.timeToLivePerHost       = Collections.unmodifiableMap(new LinkedHashMap<>(builder.timeToLivePerHost));
+        this.maxIdleTime             = builder.maxIdleTime;
+        this.validateAfterInactivity = builder.validateAfterInactivity;
+        this.evictionInterval        = builder.evictionInterval;
+        this.keepAlive               = builder.keepAlive;
+    }
+
+    /**
+     * Helper to create a builder.
+     *
+     * @return
+     *      an instance of the builder
+     */
+    public static ConnectionPoolConfigBuilder builder() {
+        return new ConnectionPoolConfigBuilder();
+    }
+
+    /**
+     * Find the connection limit to apply for a host.
+     *
+     * @param host
+     *      target host
+     * @return
+     *      specific limit or default limit per route
+     */
+    public int getMaxPerRoute(String host) {
+        Integer max = matchHost(maxPerHost, host);
+        return (max == null) ? defaultMaxPerRoute : max;
+    }
+
+    /**
+     * Tells if a specific limit has been defined for a host.
+     *
+     * @param host
+     *      target host
+     * @return
+     *      if a specific limit exists
+     */
+    public boolean hasMaxPerRoute(String host) {
+        return matchHost(maxPerHost, host) != null;
+    }
+
+    /**
+     * Find the time to live to apply for a host.
+     *
+     * @param host
+     *      target host
+     * @return
+     *      specific time to live, default time to live or null
+     */
+    public Duration getTimeToLive(String host) {
+        Duration ttl = matchHost(timeToLivePerHost, host);
+        return (ttl == null) ? timeToLive : ttl;
+    }
+
+    /**
+     * Look for a value based on host patterns, exact names first.
+     *
+     * @param values
+     *      values per host pattern
+     * @param host
+     *      current host
+     * @param <T>
+     *      value type
+     * @return
+     *      matching value or null
+     */
+    private static <T> T matchHost(Map<String, T> values, String host) {
+        if (host == null || values.isEmpty()) {
+            return null;
+        }
+        String lowerHost = host.toLowerCase();
+        T exact = values.get(lowerHost);
+        if (exact != null) {
+            return exact;
+        }
+        for (Map.Entry<String, T> entry : values.entrySet()) {
+            String pattern = entry.getKey();
+            if (pattern.startsWith(WILDCARD) && lowerHost.endsWith(pattern.substring(1))) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builder.
+     */
+    public static class ConnectionPoolConfigBuilder {
+        /** */
+        private int maxTotal = DEFAULT_MAX_TOTAL;
+        /** */
+        private int defaultMaxPerRoute = DEFAULT_MAX_PER_ROUTE;
+        /** */
+        private final Map<String, Integer> maxPerHost = new LinkedHashMap<>();
+        /** */
+        private Duration timeToLive = null;
+        /** */
+        private final Map<String, Duration> timeToLivePerHost = new LinkedHashMap<>();
+        /** */
+        private Duration maxIdleTime = DEFAULT_MAX_IDLE_TIME;
+        /** */
+        private Duration validateAfterInactivity = DEFAULT_VALIDATE_AFTER_INACTIVITY;
+        /** */
+        private Duration evictionInterval = DEFAULT_EVICTION_INTERVAL;
+        /** */
+        private Duration keepAlive = DEFAULT_KEEP_ALIVE;
+
+        /**
+         * Default constructor.
+         */
+        public ConnectionPoolConfigBuilder() {}
+
+        /**
+         * Define the maximum number of connections.
+         *
+         * @param max
+         *      the value for max total
+         * @return
+         *      this instance.
+         */
+        public ConnectionPoolConfigBuilder maxTotal(int max) {
+            Assert.isTrue(max > 0, "Max total should be positive");
+            this.maxTotal = max;
+            return this;
+        }
+
+        /**
+         * Define the maximum number of connections for a route without specific limit.
+         *
+         * @param max
+         *      the value for max per route
+         * @return
+         *      this instance.
+         */
+        public ConnectionPoolConfigBuilder maxPerRoute(int max) {
+            Assert.isTrue(max > 0, "Max per route should be positive");
+            this.defaultMaxPerRoute = max;
+            return this;
+        }
+
+        /**
+         * Define the maximum number of connections for a host.
+         *
+         * @param hostPattern
+         *      host name or wildcard like <code>*.api.streaming.datastax.com</code>
+         * @param max
+         *      the value for max per route
+         * @return
+         *      this instance.
+         */
+        public ConnectionPoolConfigBuilder maxPerRoute(String hostPattern, int max) {
+            Assert.hasLength(hostPattern, "hostPattern");
+            Assert.isTrue(max > 0, "Max per route should be positive");
+            this.maxPerHost.put(hostPattern.toLowerCase(), max);
+            return this;
+        }
+
+        /**
+         * Define the time to live of the connections.
+         *
+         * @param ttl
+         *      the value for time to live
+         * @return
+         *      this instance.
+         */
+        public ConnectionPoolConfigBuilder timeToLive(Duration ttl) {
+            this.timeToLive = ttl;
+            return this;
+        }
+
+        /**
+         * Define the time to live of the connections for a host.
+         *
+         * @param hostPattern
+         *      host name or wildcard like <code>*.api.streaming.datastax.com</code>
+         * @param ttl
+         *      the value for time to live
+         * @return
+         *      this instance.
+         */
+        public ConnectionPoolConfigBuilder timeToLive(String hostPattern, Duration ttl) {
+            Assert.hasLength(hostPattern, "hostPattern");
+            Assert.notNull(ttl, "ttl");
+            this.timeToLivePerHost.put(hostPattern.toLowerCase(), ttl);
+            return this;
+        }
+
+        /**
+         * Define the idle time after which a connection is evicted, null disables the
+         * background evictor.
+         *
+         * @param maxIdle
+         *      the value for max idle time
+         * @return
+         *      this instance.
+         */
+        public ConnectionPoolConfigBuilder maxIdleTime(Duration maxIdle) {
+            this.maxIdleTime = maxIdle;
+            return this;
+        }
+
+        /**
+         * Define the inactivity period after which a connection is validated before reuse.
+         *
+         * @param delay
+         *      the value for validate after inactivity
+         * @return
+         *      this instance.
+         */
+        public ConnectionPoolConfigBuilder validateAfterInactivity(Duration delay) {
+            Assert.notNull(delay, "validateAfterInactivity");
+            this.validateAfterInactivity = delay;
+            return this;
+        }
+
+        /**
+         * Define the delay between two runs of the background evictor.
+         *
+         * @param interval
+         *      the value for eviction interval
+         * @return
+         *      this instance.
+         */
+        public ConnectionPoolConfigBuilder evictionInterval(Duration interval) {
+            Assert.notNull(interval, "evictionInterval");
+            Assert.isTrue(!interval.isNegative() && !interval.isZero(), "Eviction interval should be positive");
+            this.evictionInterval = interval;
+            return this;
+        }
+
+        /**
+         * Define how long a connection is kept alive when the server does not send a
+         * <code>Keep-Alive</code> header. A timeout advertised by the server is capped by
+         * this value.
+         *
+         * @param duration
+         *      the value for keep alive
+         * @return
+         *      this instance.
+         */
+        public ConnectionPoolConfigBuilder keepAlive(Duration duration) {
+            Assert.notNull(duration, "keepAlive");
+            this.keepAlive = duration;
+            return this;
+        }
+
+        /**
+         * Build the immutable instance.
+         *
+         * @return
+         *      an instance of pool configuration
+         */
+        public ConnectionPoolConfig build() {
+            return new ConnectionPoolConfig(this);
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'maxTotal'.
+     *
+     * @return
+     *       current value of 'maxTotal'
+     */
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * Getter accessor for attribute 'defaultMaxPerRoute'.
+     *
+     * @return
+     *       current value of 'defaultMaxPerRoute'
+     */
+    public int getDefaultMaxPerRoute() {
+        return defaultMaxPerRoute;
+    }
+
+    /**
+     * Getter accessor for attribute 'maxPerHost'.
+     *
+     * @return
+     *       current value of 'maxPerHost'
+     */
+    public Map<String, Integer> getMaxPerHost() {
+        return maxPerHost;
+    }
+
+    /**
+     * Getter accessor for attribute 'timeToLive'.
+     *
+     * @return
+     *       current value of 'timeToLive'
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Getter accessor for attribute 'timeToLivePerHost'.
+     *
+     * @return
+     *       current value of 'timeToLivePerHost'
+     */
+    public Map<String, Duration> getTimeToLivePerHost() {
+        return timeToLivePerHost;
+    }
+
+    /**
+     * Getter accessor for attribute 'maxIdleTime'.
+     *
+     * @return
+     *       current value of 'maxIdleTime'
+     */
+    public Duration getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    /**
+     * Getter accessor for attribute 'validateAfterInactivity'.
+     *
+     * @return
+     *       current value of 'validateAfterInactivity'
+     */
+    public Duration getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    /**
+     * Getter accessor for attribute 'evictionInterval'.
+     *
+     * @return
+     *       current value of 'evictionInterval'
+     */
+    public Duration getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    /**
+     * Getter accessor for attribute 'keepAlive'.
+     *
+     * @return
+     *       current value of 'keepAlive'
+     */
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+}
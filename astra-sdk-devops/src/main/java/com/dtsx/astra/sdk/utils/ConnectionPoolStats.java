@@ -0,0 +1,124 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Snapshot of a connection pool usage, globally and per route.
+ */
+public class ConnectionPoolStats {
+
+    /** Empty statistics, used when a pool has not been started. */
+    public static final ConnectionPoolStats EMPTY =
+            new ConnectionPoolStats(new PoolStats(0, 0, 0, 0), Collections.emptyMap());
+
+    /** Statistics for the whole pool. */
+    private final PoolStats total;
+
+    /** Statistics per route, keyed by target host. */
+    private final Map<String, PoolStats> routes;
+
+    /**
+     * Full constructor.
+     *
+     * @param total
+     *      statistics for the whole pool
+     * @param routes
+     *      statistics per route
+     */
+    public ConnectionPoolStats(PoolStats total, Map<String, PoolStats> routes) {
+        this.total  = total;
+        this.routes = Collections.unmodifiableMap(routes);
+    }
+
+    /**
+     * Take a snapshot of a pool.
+     *
+     * @param pool
+     *      connection pool
+     * @return
+     *      statistics
+     */
+    public static ConnectionPoolStats of(ConnPoolControl<HttpRoute> pool) {
+        if (pool == null) {
+            return EMPTY;
+        }
+        Map<String, PoolStats> routes = new TreeMap<>();
+        for (HttpRoute route : pool.getRoutes()) {
+            routes.put(route.getTargetHost().toURI(), pool.getStats(route));
+        }
+        return new ConnectionPoolStats(pool.getTotalStats(), routes);
+    }
+
+    /**
+     * Number of connections currently in use.
+     *
+     * @return
+     *      leased connections
+     */
+    public int getLeased() {
+        return total.getLeased();
+    }
+
+    /**
+     * Number of requests waiting for a connection.
+     *
+     * @return
+     *      pending requests
+     */
+    public int getPending() {
+        return total.getPending();
+    }
+
+    /**
+     * Number of idle connections ready to be reused.
+     *
+     * @return
+     *      available connections
+     */
+    public int getAvailable() {
+        return total.getAvailable();
+    }
+
+    /**
+     * Maximum number of connections.
+     *
+     * @return
+     *      maximum connections
+     */
+    public int getMax() {
+        return total.getMax();
+    }
+
+    /**
+     * Getter accessor for attribute 'total'.
+     *
+     * @return
+     *       current value of 'total'
+     */
+    public PoolStats getTotal() {
+        return total;
+    }
+
+    /**
+     * Getter accessor for attribute 'routes'.
+     *
+     * @return
+     *       current value of 'routes'
+     */
+    public Map<String, PoolStats> getRoutes() {
+        return routes;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "ConnectionPoolStats [total=" + total + ", routes=" + routes + "]";
+    }
+
+}
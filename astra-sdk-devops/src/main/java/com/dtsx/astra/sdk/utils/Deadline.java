@@ -0,0 +1,166 @@
+package com.dtsx.astra.sdk.utils;
+
+import com.dtsx.astra.sdk.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Point in time after which a call is abandoned.
+ *
+ * <p>A deadline is bound to the current thread with {@link #call(Supplier)} or
+ * {@link #run(Runnable)}, every request sent by {@link HttpClientWrapper} in that scope
+ * shares the same budget: a composite operation issuing several requests cannot exceed it.
+ * Nested scopes keep the earliest deadline. Requests are not sent once the deadline has
+ * expired and the response timeout of each attempt is capped by the time remaining.</p>
+ */
+public final class Deadline {
+
+    /** Deadline of the current thread. */
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    /** Expiration, as {@link System#nanoTime()}. */
+    private final long expirationNanos;
+
+    /**
+     * Constructor, use {@link #after(Duration)}.
+     *
+     * @param expirationNanos
+     *      expiration
+     */
+    private Deadline(long expirationNanos) {
+        this.expirationNanos = expirationNanos;
+    }
+
+    /**
+     * Create a deadline expiring after a timeout.
+     *
+     * @param timeout
+     *      time allowed for the call
+     * @return
+     *      deadline
+     */
+    public static Deadline after(Duration timeout) {
+        Assert.notNull(timeout, "timeout");
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Deadline bound to the current thread.
+     *
+     * @return
+     *      current deadline, or null if none is set
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Execute a call with this deadline bound to the current thread.
+     *
+     * @param call
+     *      operation to execute
+     * @param <T>
+     *      returned type
+     * @return
+     *      result of the call
+     */
+    public <T> T call(Supplier<T> call) {
+        Assert.notNull(call, "call");
+        Deadline previous = CURRENT.get();
+        CURRENT.set(earliest(previous, this));
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Execute an operation with this deadline bound to the current thread.
+     *
+     * @param operation
+     *      operation to execute
+     */
+    public void run(Runnable operation) {
+        Assert.notNull(operation, "operation");
+        call(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Tells if the deadline is passed.
+     *
+     * @return
+     *      if the deadline expired
+     */
+    public boolean isExpired() {
+        return System.nanoTime() - expirationNanos >= 0;
+    }
+
+    /**
+     * Time left before the deadline.
+     *
+     * @return
+     *      remaining time, zero when expired
+     */
+    public Duration timeRemaining() {
+        long remaining = expirationNanos - System.nanoTime();
+        return remaining > 0 ? Duration.ofNanos(remaining) : Duration.ZERO;
+    }
+
+    /**
+     * Fail fast when the deadline is passed.
+     *
+     * @param operation
+     *      operation about to start, used in the error message
+     */
+    public void check(String operation) {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Deadline exceeded before " + operation);
+        }
+    }
+
+    /**
+     * Cap a timeout with the remaining time.
+     *
+     * @param timeout
+     *      configured timeout
+     * @return
+     *      the smallest value between the timeout and the remaining time
+     */
+    public Duration cap(Duration timeout) {
+        Duration remaining = timeRemaining();
+        return (timeout == null || remaining.compareTo(timeout) < 0) ? remaining : timeout;
+    }
+
+    /**
+     * Earliest of two deadlines.
+     *
+     * @param d1
+     *      first deadline, can be null
+     * @param d2
+     *      second deadline, can be null
+     * @return
+     *      earliest deadline
+     */
+    private static Deadline earliest(Deadline d1, Deadline d2) {
+        if (d1 == null) return d2;
+        if (d2 == null) return d1;
+        return (d1.expirationNanos - d2.expirationNanos <= 0) ? d1 : d2;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "Deadline{remaining=" + TimeUnit.NANOSECONDS.toMillis(timeRemaining().toNanos()) + "ms}";
+    }
+
+}
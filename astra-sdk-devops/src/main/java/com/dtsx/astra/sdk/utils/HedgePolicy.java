@@ -0,0 +1,268 @@
+package com.dtsx.astra.sdk.utils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hedging settings of {@link HttpClientWrapper} for GET requests.
+ *
+ * <p>When a GET has not completed after the hedge delay, a second identical request is
+ * sent. The first response wins and the other exchange is cancelled. The delay is either
+ * fixed or follows a percentile of the latencies observed recently (p95 by default), so
+ * only the slowest requests are hedged. A {@link RetryBudget} caps the extra load: each
+ * GET deposits a fraction of a token and each hedge withdraws a full one.</p>
+ */
+public class HedgePolicy {
+
+    /** Default percentile of observed latencies used as delay. */
+    public static final double DEFAULT_PERCENTILE = 0.95;
+
+    /** Default delay used until enough latencies are observed. */
+    public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofSeconds(1);
+
+    /** Default lower bound of the delay. */
+    public static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(20);
+
+    /** Number of latencies kept to compute the percentile. */
+    private static final int WINDOW = 512;
+
+    /** Samples recorded between two computations of the percentile. */
+    private static final int REFRESH_INTERVAL = 64;
+
+    /** Fixed delay, null when the delay follows observed latencies. */
+    private final Duration fixedDelay;
+
+    /** Percentile of the observed latencies. */
+    private final double percentile;
+
+    /** Lower bound of the delay. */
+    private final long minDelayNanos;
+
+    /** Extra requests budget. */
+    private final RetryBudget budget;
+
+    /** Last latencies observed, ring buffer. */
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+
+    /** Number of latencies observed. */
+    private final AtomicLong sampleCount = new AtomicLong();
+
+    /** Current delay in nanoseconds. */
+    private volatile long delayNanos;
+
+    /** Hedge requests sent. */
+    private final LongAdder hedged = new LongAdder();
+
+    /** Hedge requests answering first. */
+    private final LongAdder hedgeWins = new LongAdder();
+
+    /**
+     * Full constructor, use the builder.
+     *
+     * @param builder
+     *      current builder
+     */
+    private HedgePolicy(HedgePolicyBuilder builder) {
+        this.fixedDelay    = builder.fixedDelay;
+        this.percentile    = builder.percentile;
+        this.minDelayNanos = builder.minDelay.toNanos();
+        this.budget        = builder.budget;
+        this.delayNanos    = (fixedDelay != null) ? fixedDelay.toNanos() : builder.initialDelay.toNanos();
+    }
+
+    /**
+     * Helper to create a builder.
+     *
+     * @return
+     *      an instance of the builder
+     */
+    public static HedgePolicyBuilder builder() {
+        return new HedgePolicyBuilder();
+    }
+
+    /**
+     * Delay before sending the hedge request.
+     *
+     * @return
+     *      current delay
+     */
+    public Duration getDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    /**
+     * Record the latency of a completed GET, the delay is recomputed periodically.
+     *
+     * @param latencyNanos
+     *      latency in nanoseconds
+     */
+    public void recordLatency(long latencyNanos) {
+        if (fixedDelay != null) {
+            return;
+        }
+        long count = sampleCount.getAndIncrement();
+        samples.set((int) (count % WINDOW), latencyNanos);
+        if ((count + 1) % REFRESH_INTERVAL == 0) {
+            int size = (int) Math.min(count + 1, WINDOW);
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            int rank = (int) Math.min(size - 1, Math.ceil(percentile * size) - 1);
+            delayNanos = Math.max(minDelayNanos, sorted[Math.max(0, rank)]);
+        }
+    }
+
+    /**
+     * Record a new GET request.
+     */
+    public void onRequest() {
+        budget.onRequest();
+    }
+
+    /**
+     * Try to obtain a token from the budget for a hedge request.
+     *
+     * @return
+     *      if the hedge request can be sent
+     */
+    public boolean tryHedge() {
+        if (!budget.tryAcquire()) {
+            return false;
+        }
+        hedged.increment();
+        return true;
+    }
+
+    /**
+     * Record that the hedge request answered first.
+     */
+    public void onHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    /**
+     * Builder.
+     */
+    public static class HedgePolicyBuilder {
+        /** */
+        private Duration fixedDelay;
+        /** */
+        private double percentile = DEFAULT_PERCENTILE;
+        /** */
+        private Duration initialDelay = DEFAULT_INITIAL_DELAY;
+        /** */
+        private Duration minDelay = DEFAULT_MIN_DELAY;
+        /** */
+        private RetryBudget budget = new RetryBudget(0.05, 2);
+
+        /**
+         * Default constructor.
+         */
+        public HedgePolicyBuilder() {}
+
+        /**
+         * Use a fixed hedge delay.
+         *
+         * @param delay
+         *      the value for delay
+         * @return
+         *      this instance.
+         */
+        public HedgePolicyBuilder delay(Duration delay) {
+            Assert.notNull(delay, "delay");
+            this.fixedDelay = delay;
+            return this;
+        }
+
+        /**
+         * Follow a percentile of the latencies observed.
+         *
+         * @param p
+         *      percentile between 0 and 1, like 0.95
+         * @param initial
+         *      delay used until enough latencies are observed
+         * @param min
+         *      lower bound of the delay
+         * @return
+         *      this instance.
+         */
+        public HedgePolicyBuilder percentile(double p, Duration initial, Duration min) {
+            Assert.isTrue(p > 0 && p < 1, "Percentile should be between 0 and 1");
+            Assert.notNull(initial, "initial");
+            Assert.notNull(min, "min");
+            this.fixedDelay   = null;
+            this.percentile   = p;
+            this.initialDelay = initial;
+            this.minDelay     = min;
+            return this;
+        }
+
+        /**
+         * Define the hedge budget.
+         *
+         * @param ratio
+         *      percentage of GET requests which can be hedged, between 0 and 1
+         * @param minHedgesPerSecond
+         *      hedges always allowed per second
+         * @return
+         *      this instance.
+         */
+        public HedgePolicyBuilder budget(double ratio, int minHedgesPerSecond) {
+            this.budget = new RetryBudget(ratio, minHedgesPerSecond);
+            return this;
+        }
+
+        /**
+         * Build the immutable instance.
+         *
+         * @return
+         *      an instance of hedge policy
+         */
+        public HedgePolicy build() {
+            return new HedgePolicy(this);
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'budget'.
+     *
+     * @return
+     *       current value of 'budget'
+     */
+    public RetryBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Number of hedge requests sent.
+     *
+     * @return
+     *      hedge requests
+     */
+    public long getHedgedCount() {
+        return hedged.sum();
+    }
+
+    /**
+     * Number of hedge requests answering before the original request.
+     *
+     * @return
+     *      hedge wins
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "HedgePolicy{delay=" + getDelay().toMillis() + "ms, hedged=" + getHedgedCount()
+                + ", wins=" + getHedgeWinCount() + ", budget=" + budget.getAvailableRetries() + "}";
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Transport multiplexing every request to a host over a single HTTP/2 connection.
+ *
+ * <p>With HTTP/1.1 each concurrent request needs its own connection (and TLS handshake),
+ * with HTTP/2 hundreds of requests share one connection as concurrent streams. The server
+ * must support HTTP/2: negotiated with ALPN over TLS, with prior knowledge for plain http.
+ * Blocking calls wait for the complete response, the body is buffered in memory.</p>
+ */
+public class Http2Transport implements HttpTransport {
+
+    /** Default maximum number of concurrent streams per connection. */
+    public static final int DEFAULT_MAX_CONCURRENT_STREAMS = 100;
+
+    /** HTTP/2 client, connections are shared between requests. */
+    private final CloseableHttpAsyncClient client;
+
+    /**
+     * Default constructor.
+     */
+    public Http2Transport() {
+        this(DEFAULT_MAX_CONCURRENT_STREAMS);
+    }
+
+    /**
+     * Constructor with the number of concurrent streams.
+     *
+     * @param maxConcurrentStreams
+     *      maximum number of concurrent streams per connection
+     */
+    public Http2Transport(int maxConcurrentStreams) {
+        Assert.isTrue(maxConcurrentStreams > 0, "Max concurrent streams should be positive");
+        this.client = HttpAsyncClients.customHttp2()
+                .setH2Config(H2Config.custom()
+                        .setMaxConcurrentStreams(maxConcurrentStreams)
+                        .setPushEnabled(false)
+                        .build())
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setTcpNoDelay(true)
+                        .build())
+                .disableAutomaticRetries()
+                .build();
+        this.client.start();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getName() {
+        return "http2";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ClassicHttpResponse execute(ClassicHttpRequest request) throws IOException {
+        SimpleHttpRequest simpleRequest;
+        try {
+            simpleRequest = SimpleHttpRequest.create(request.getMethod(), request.getUri());
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid request uri " + request.getRequestUri(), e);
+        }
+        for (Header header : request.getHeaders()) {
+            simpleRequest.addHeader(header);
+        }
+        if (request instanceof Configurable) {
+            RequestConfig config = ((Configurable) request).getConfig();
+            simpleRequest.setConfig(config);
+        }
+        HttpEntity entity = request.getEntity();
+        if (entity != null) {
+            ContentType contentType = (entity.getContentType() == null) ? null : ContentType.parse(entity.getContentType());
+            simpleRequest.setBody(EntityUtils.toByteArray(entity), contentType);
+        }
+        Future<SimpleHttpResponse> exchange = client.execute(simpleRequest, null);
+        SimpleHttpResponse simpleResponse;
+        try {
+            simpleResponse = exchange.get();
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        BasicClassicHttpResponse response = new BasicClassicHttpResponse(simpleResponse.getCode(), simpleResponse.getReasonPhrase());
+        response.setHeaders(simpleResponse.getHeaders());
+        if (simpleResponse.getBodyBytes() != null) {
+            response.setEntity(new ByteArrayEntity(simpleResponse.getBodyBytes(), simpleResponse.getContentType()));
+        }
+        return response;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Future<SimpleHttpResponse> execute(SimpleHttpRequest request, FutureCallback<SimpleHttpResponse> callback) {
+        return client.execute(request, callback);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        client.close(CloseMode.GRACEFUL);
+    }
+
+}
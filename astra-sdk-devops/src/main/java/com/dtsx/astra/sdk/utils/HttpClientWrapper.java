@@ -1,32 +1,100 @@
 package com.dtsx.astra.sdk.utils;
 
 import com.dtsx.astra.sdk.exception.AuthenticationException;
+import com.dtsx.astra.sdk.exception.CircuitBreakerOpenException;
+import com.dtsx.astra.sdk.exception.DeadlineExceededException;
+import com.dtsx.astra.sdk.exception.RateLimitExceededException;
+import com.dtsx.astra.sdk.utils.jfr.HttpExchangeEvent;
+import com.dtsx.astra.sdk.utils.jfr.JfrSupport;
+import com.dtsx.astra.sdk.utils.tracing.Span;
+import com.dtsx.astra.sdk.utils.tracing.SpanKind;
+import com.dtsx.astra.sdk.utils.tracing.Tracer;
+import com.dtsx.astra.sdk.utils.tracing.Tracing;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
 import org.apache.hc.client5.http.auth.StandardAuthScheme;
 import org.apache.hc.client5.http.classic.methods.*;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.cookie.StandardCookieSpec;
+import org.apache.hc.client5.http.impl.IdleConnectionEvictor;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.HttpsSupport;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
 import org.apache.hc.core5.http.Method;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
+import org.apache.hc.core5.http.protocol.HttpContext;
 import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.ssl.SSLContexts;
 import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
 
 /**
  * Helper to forge Http Requests to interact with Devops API.
  */
-public class HttpClientWrapper {
+public class HttpClientWrapper implements Closeable {
     
     /** Logger for our Client. */
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientWrapper.class);
@@ -40,12 +108,27 @@ public class HttpClientWrapper {
     /** Default settings in Request and Retry */
     private static final int DEFAULT_TIMEOUT_CONNECT   = 20;
 
+    /** Default timeout waiting for a response, in seconds. */
+    private static final int DEFAULT_TIMEOUT_RESPONSE  = 60;
+
+    /** Default number of TLS sessions kept for resumption. */
+    public static final int DEFAULT_TLS_SESSION_CACHE_SIZE = 128;
+
+    /** Default lifetime of a TLS session kept for resumption. */
+    public static final Duration DEFAULT_TLS_SESSION_TIMEOUT = Duration.ofHours(4);
+
     /** Headers, Api is using JSON */
     private static final String CONTENT_TYPE_JSON        = "application/json";
 
     /** Header param. */
     private static final String HEADER_ACCEPT            = "Accept";
 
+    /** Header advertising how long the server keeps a connection open. */
+    private static final String HEADER_KEEP_ALIVE        = "Keep-Alive";
+
+    /** Connections are released this long before the keep-alive advertised by the server. */
+    private static final long KEEP_ALIVE_MARGIN_MILLIS   = 500;
+
     /** Headers param to insert the conte type. */
     private static final String HEADER_CONTENT_TYPE      = "Content-Type";
 
@@ -66,315 +149,2718 @@ public class HttpClientWrapper {
 
     /** Singleton pattern. */
     private static HttpClientWrapper _instance = null;
-    
+
+    /** Scheduler for delayed tasks (retries of non-blocking calls), created on first use. */
+    private static volatile ScheduledExecutorService scheduler;
+
+    /** Settings of the connection pools. */
+    private ConnectionPoolConfig poolConfig;
+
+    /** Retry settings. */
+    private volatile RetryPolicy retryPolicy;
+
+    /** Client-side rate limiter, null when disabled. */
+    private volatile RateLimiter rateLimiter;
+
+    /** Cache of GET responses, null when disabled. */
+    private volatile ResponseCache responseCache;
+
+    /** Share in-flight exchanges between identical concurrent GET requests. */
+    private volatile boolean coalescing;
+
+    /** Hedging of GET requests, null when disabled. */
+    private volatile HedgePolicy hedgePolicy;
+
+    /** Circuit breaker per endpoint, null when disabled. */
+    private volatile CircuitBreaker circuitBreaker;
+
+    /** Metrics of the exchanges. */
+    private volatile HttpMetrics metrics;
+
+    /** Tracer of the requests. */
+    private volatile Tracer tracer;
+
+    /** Listener of the timings of blocking calls, null when disabled. */
+    private volatile RequestTimingsListener timingsListener;
+
+    /** Timings of the blocking call in progress on the thread. */
+    private static final ThreadLocal<RequestTimings> ACTIVE_TIMINGS = new ThreadLocal<>();
+
+    /** Proxy used for every request, null for direct connections. */
+    private HttpHost proxy;
+
+    /** Transport executing the exchanges. */
+    private final HttpTransport transport;
+
     /** HttpComponent5. */
     protected CloseableHttpClient httpClient = null;
 
-    /** Default request configuration. */
-    protected static RequestConfig requestConfig = RequestConfig.custom()
-            .setCookieSpec(StandardCookieSpec.STRICT)
-            .setExpectContinueEnabled(true)
-            .setConnectionRequestTimeout(Timeout.ofSeconds(DEFAULT_TIMEOUT_REQUEST))
-            .setConnectTimeout(Timeout.ofSeconds(DEFAULT_TIMEOUT_CONNECT))
-            .setTargetPreferredAuthSchemes(Arrays.asList(StandardAuthScheme.NTLM, StandardAuthScheme.DIGEST))
-            .build();
+    /** Connection pool of the blocking client. */
+    protected PoolingHttpClientConnectionManager connectionManager = null;
+
+    /** HttpComponent5 non-blocking client, started on first asynchronous call. */
+    protected volatile CloseableHttpAsyncClient httpAsyncClient = null;
+
+    /** Connection pool of the non-blocking client. */
+    protected volatile PoolingAsyncClientConnectionManager asyncConnectionManager = null;
+
+    /** Evict idle connections of the blocking pool when a max idle time is set. */
+    private IdleConnectionEvictor idleConnectionEvictor;
+
+    /** Evict idle connections of the non-blocking pool when a max idle time is set. */
+    private IdleConnectionEvictor asyncIdleConnectionEvictor;
+
+    /** Routes already evaluated against the pool settings. */
+    private final Set<HttpRoute> knownRoutes = ConcurrentHashMap.newKeySet();
+
+    /** GET requests in progress when coalescing is enabled. */
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    /** Connection settings resolved per target host. */
+    private final Map<String, ConnectionConfig> connectionConfigs = new ConcurrentHashMap<>();
+
+    /** Request configuration. */
+    protected RequestConfig requestConfig;
+
+    /** Timeout to open a connection, part of the connection settings of each route. */
+    private final Timeout connectTimeout;
+
+    /** TLS settings shared by the pools, its session cache lets new connections resume sessions. */
+    private final SSLContext sslContext;
+
+    /** Set when the transport has been closed. */
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     // -------------------------------------------
     // ----------------- Singleton ---------------
     // -------------------------------------------
     
     /**
-     * Hide default constructor
+     * Hide default constructor, use {@link #getInstance()} or {@link #builder()}.
+     *
+     * @param builder
+     *      current builder
      */
-    private HttpClientWrapper() {}
+    private HttpClientWrapper(HttpClientWrapperBuilder builder) {
+        this.poolConfig    = builder.poolConfig;
+        this.retryPolicy   = builder.retryPolicy;
+        this.rateLimiter   = builder.rateLimiter;
+        this.responseCache = builder.responseCache;
+        this.coalescing    = builder.coalescing;
+        this.hedgePolicy   = builder.hedgePolicy;
+        this.circuitBreaker = builder.circuitBreaker;
+        this.proxy         = builder.proxy;
+        this.connectTimeout = toTimeout(builder.connectTimeout);
+        this.transport     = (builder.transport == null) ? new PooledTransport() : builder.transport;
+        this.requestConfig = RequestConfig.custom()
+                .setCookieSpec(StandardCookieSpec.STRICT)
+                .setExpectContinueEnabled(true)
+                .setConnectionRequestTimeout(toTimeout(builder.connectionRequestTimeout))
+                .setResponseTimeout(toTimeout(builder.responseTimeout))
+                .setTargetPreferredAuthSchemes(Arrays.asList(StandardAuthScheme.NTLM, StandardAuthScheme.DIGEST))
+                .build();
+        this.timingsListener = builder.timingsListener;
+        this.tracer          = (builder.tracer == null) ? Tracer.discover() : builder.tracer;
+        if (builder.transport == null) {
+            // Pools, TLS context and evictor threads only serve the default transport
+            this.sslContext      = createSslContext(builder.tlsSessionCacheSize, builder.tlsSessionTimeout);
+            this.connectionManager = new TimedConnectionManager(sslContext);
+            this.connectionManager.setConnectionConfigResolver(this::resolveConnectionConfig);
+            applyPoolConfig(connectionManager);
+            this.idleConnectionEvictor = startIdleConnectionEvictor(connectionManager);
+            this.httpClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setProxy(proxy)
+                    .setKeepAliveStrategy(this::keepAliveDuration)
+                    .disableAutomaticRetries()
+                    .build();
+        } else {
+            this.sslContext = null;
+        }
+        bindMetrics(builder.metrics == null ? HttpMetrics.discover() : builder.metrics);
+    }
     
     /**
-     * Singleton Pattern.
+     * Singleton Pattern, default transport shared by the clients created without a
+     * specific {@link HttpClientWrapper}.
      * 
      * @return
      *      singleton for the class
      */
     public static synchronized HttpClientWrapper getInstance() {
         if (_instance == null) {
-            _instance = new HttpClientWrapper();
-            final PoolingHttpClientConnectionManager connManager = new PoolingHttpClientConnectionManager();
-            connManager.setValidateAfterInactivity(TimeValue.ofSeconds(10));
-            connManager.setMaxTotal(100);
-            connManager.setDefaultMaxPerRoute(10);
-            _instance.httpClient = HttpClients.custom().setConnectionManager(connManager).build();
+            _instance = builder().build();
         }
         return _instance;
     }
-    
-    // -------------------------------------------
-    // ---------- Working with HTTP --------------
-    // -------------------------------------------
-    
+
     /**
-     * Helper to build the HTTP request.
-     * 
-     * @param url
-     *      target url
-     * @param token
-     *      authentication token
-     * @return
-     *      http request
+     * Close the default transport and release its connections and threads. The next call
+     * to {@link #getInstance()} creates a new transport with the default settings, clients
+     * created before keep the closed one.
      */
-    public ApiResponseHttp GET(String url, String token) {
-        return executeHttp(Method.GET, url, token, null, CONTENT_TYPE_JSON, false);
+    public static synchronized void shutdown() {
+        if (_instance != null) {
+            _instance.close();
+            _instance = null;
+        }
     }
 
     /**
-     * Helper to build the HTTP request.
+     * Release the resources of this transport: evictors, connection pools and clients.
+     * Requests sent afterwards fail, closing twice has no effect.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        stopIdleConnectionEvictor(idleConnectionEvictor);
+        stopIdleConnectionEvictor(asyncIdleConnectionEvictor);
+        closeResource(transport);
+        closeResource(httpClient);
+        synchronized (this) {
+            closeResource(httpAsyncClient);
+        }
+        LOGGER.debug("Http client closed");
+    }
+
+    /**
+     * Tells if the transport has been closed.
      *
-     * @param url
-     *      target url
-     * @param token
-     *      authentication token
-     * @param pulsarCluster
-     *      pulsar cluster
-     * @param organizationId
-     *      organization identifier
      * @return
-     *      http request
+     *      if {@link #close()} has been called
      */
-    public ApiResponseHttp GET_PULSAR(String url, String token, String pulsarCluster, String organizationId) {
-        HttpUriRequestBase request = buildRequest(Method.GET, url, token, null, CONTENT_TYPE_JSON);
-        updatePulsarHttpRequest(request, token, pulsarCluster, organizationId);
-        return executeHttp(request, false);
+    public boolean isClosed() {
+        return closed.get();
     }
 
     /**
-     * Helper to build the HTTP request.
+     * Close a resource, errors are logged.
      *
-     * @param url
-     *      target url
-     * @param token
-     *      authentication token
-     * @param body
-     *      request body
-     * @param pulsarCluster
-     *      pulsar cluster
-     * @param organizationId
-     *      organization identifier
-     * @return
-     *      http request
+     * @param resource
+     *      resource to close, can be null
      */
-    public ApiResponseHttp POST_PULSAR(String url, String token, String body, String pulsarCluster, String organizationId) {
-        HttpUriRequestBase request = buildRequest(Method.POST, url, token, body, CONTENT_TYPE_JSON);
-        updatePulsarHttpRequest(request, token, pulsarCluster, organizationId);
-        return executeHttp(request, false);
+    private static void closeResource(Closeable resource) {
+        if (resource != null) {
+            try {
+                resource.close();
+            } catch (IOException e) {
+                LOGGER.debug("Cannot close {}", resource, e);
+            }
+        }
     }
 
     /**
-     * Helper to build the HTTP request.
+     * Create a dedicated transport, with its own pools, settings and metrics.
      *
-     * @param url
-     *      target url
-     * @param token
-     *      authentication token
-     * @param body
-     *      request body
-     * @param pulsarCluster
-     *      pulsar cluster
-     * @param organizationId
-     *      organization identifier
      * @return
-     *      http request
+     *      an instance of the builder
      */
-    public ApiResponseHttp DELETE_PULSAR(String url, String token, String body, String pulsarCluster, String organizationId) {
-        HttpUriRequestBase request = buildRequest(Method.DELETE, url, token, body, CONTENT_TYPE_JSON);
-        updatePulsarHttpRequest(request, token, pulsarCluster, organizationId);
-        return executeHttp(request, false);
+    public static HttpClientWrapperBuilder builder() {
+        return new HttpClientWrapperBuilder();
     }
 
     /**
-     * Add item for a pulsar request.
+     * Update the settings of the connection pools of the default transport. Limits and
+     * time to live are applied to the live pools, connections already opened are not
+     * interrupted.
      *
-     * @param request
-     *      current request
-     * @param pulsarToken
-     *      pulsar token
-     * @param pulsarCluster
-     *      pulsar cluster
-     * @param organizationId
-     *      organization
+     * @param config
+     *      new pool settings
      */
-    private void updatePulsarHttpRequest(HttpUriRequestBase request, String pulsarToken, String pulsarCluster, String organizationId) {
-        request.addHeader(HEADER_AUTHORIZATION, pulsarToken);
-        request.addHeader(HEADER_CURRENT_ORG, organizationId);
-        request.addHeader(HEADER_CURRENT_PULSAR_CLUSTER, pulsarCluster);
+    public static synchronized void configureConnectionPool(ConnectionPoolConfig config) {
+        Assert.notNull(config, "config");
+        HttpClientWrapper instance = getInstance();
+        instance.poolConfig = config;
+        instance.reconfigurePools();
     }
 
     /**
-     * Helper to build the HTTP request.
-     * 
-     * @param url
-     *      target url
-     * @param token
-     *      authentication token
+     * Access the current settings of the connection pools of the default transport.
+     *
      * @return
-     *      http request
+     *      pool settings
      */
-    public ApiResponseHttp HEAD(String url, String token) {
-        return executeHttp(Method.HEAD, url, token, null, CONTENT_TYPE_JSON, false);
+    public static ConnectionPoolConfig getConnectionPoolConfig() {
+        return getInstance().poolConfig;
     }
-    
+
     /**
-     * Helper to build the HTTP request.
-     * 
-     * @param url
-     *      target url
-     * @param token
-     *      authentication token
-     * @return
-     *      http request
+     * Update the retry settings of the default transport, applied to the next requests.
+     * Use {@link RetryPolicy#NONE} to disable retries.
+     *
+     * @param policy
+     *      new retry settings
      */
-    public ApiResponseHttp POST(String url, String token) {
-        return executeHttp(Method.POST, url, token, null, CONTENT_TYPE_JSON, true);
+    public static void configureRetryPolicy(RetryPolicy policy) {
+        Assert.notNull(policy, "policy");
+        getInstance().retryPolicy = policy;
     }
-    
+
     /**
-     * Helper to build the HTTP request.
-     * 
-     * @param url
-     *      target url
-     * @param token
-     *      authentication token
-     * @param body
-     *      request body     
+     * Access the current retry settings of the default transport.
+     *
      * @return
-     *      http request
+     *      retry settings
      */
-    public ApiResponseHttp POST(String url, String token, String body) {
-        return executeHttp(Method.POST, url, token, body, CONTENT_TYPE_JSON, true);
+    public static RetryPolicy getRetryPolicy() {
+        return getInstance().retryPolicy;
     }
-    
+
     /**
-     * Helper to build the HTTP request.
-     * 
-     * @param url
-     *      target url
-     * @param token
-     *      authentication token
+     * Limit the rate of requests sent by the default transport with the same token to
+     * the same host. Each attempt, retries included, consumes a permit.
+     *
+     * @param limiter
+     *      rate limiter, null to disable
      */
-    public void DELETE(String url, String token) {
-        executeHttp(Method.DELETE, url, token, null, CONTENT_TYPE_JSON, true);
+    public static void configureRateLimiter(RateLimiter limiter) {
+        getInstance().rateLimiter = limiter;
     }
-    
+
     /**
-     * Helper to build the HTTP request.
-     * 
-     * @param url
-     *      target url
-     * @param token
-     *      authentication token
-     * @param body
-     *      request body
+     * Access the current rate limiter of the default transport.
+     *
+     * @return
+     *      rate limiter or null when disabled
      */
-    public void PUT(String url, String token, String body) {
-        executeHttp(Method.PUT, url, token, body, CONTENT_TYPE_JSON, false);
+    public static RateLimiter getRateLimiter() {
+        return getInstance().rateLimiter;
     }
 
     /**
-     * Helper to build the HTTP request.
+     * Cache GET responses of the endpoints which rarely change in the default transport.
+     * Writes do not invalidate the cache, use {@link ResponseCache#invalidateAll()} when needed.
      *
-     * @param url
-     *      target url
-     * @param token
-     *      authentication token
-     * @param body
-     *      request body
+     * @param cache
+     *      response cache, null to disable
      */
-    public void PATCH(String url, String token, String body) {
-        executeHttp(Method.PATCH, url, token, body, CONTENT_TYPE_JSON, false);
+    public static void configureResponseCache(ResponseCache cache) {
+        getInstance().responseCache = cache;
     }
 
     /**
-     * Main Method executing HTTP Request.
-     * 
-     * @param method
-     *      http method
-     * @param url
-     *      url
-     * @param token
-     *      authentication token
-     * @param contentType
-     *      request content type
-     * @param reqBody
-     *      request body
-     * @param mandatory
-     *      allow 404 errors
+     * Access the current response cache of the default transport.
+     *
      * @return
-     *      basic request
+     *      response cache or null when disabled
      */
-    public ApiResponseHttp executeHttp(final Method method, final String url, final String token, String reqBody, String contentType, boolean mandatory) {
-        return executeHttp(buildRequest(method, url, token, reqBody, contentType), mandatory);
+    public static ResponseCache getResponseCache() {
+        return getInstance().responseCache;
     }
-    
+
     /**
-     * Execute a request coming from elsewhere.
-     * 
-     * @param req
-     *      current request
-     * @param mandatory
-     *      mandatory
+     * Enable single-flight execution of GET requests in the default transport: concurrent
+     * calls with the same url and token share one exchange and receive the same response.
+     *
+     * @param enabled
+     *      enable coalescing of identical GET requests
+     */
+    public static void configureRequestCoalescing(boolean enabled) {
+        getInstance().coalescing = enabled;
+    }
+
+    /**
+     * Tells if identical concurrent GET requests are coalesced by the default transport.
+     *
      * @return
-     *      api response
+     *      coalescing status
      */
-    public ApiResponseHttp executeHttp(HttpUriRequestBase req, boolean mandatory) {
-        try(CloseableHttpResponse response = httpClient.execute(req)) {
-            ApiResponseHttp res;
-            if (response == null) {
-                res = new ApiResponseHttp("Response is empty, please check url",
-                        HttpURLConnection.HTTP_UNAVAILABLE, null);
-            } else {
-                // Mapping response
-                String body = null;
-                if (null != response.getEntity()) {
-                    body = EntityUtils.toString(response.getEntity());
-                    EntityUtils.consume(response.getEntity());
-                }
-                Map<String, String > headers = new HashMap<>();
-                Arrays.stream(response.getHeaders()).forEach(h -> headers.put(h.getName(), h.getValue()));
-                res = new ApiResponseHttp(body, response.getCode(), headers);
-            }
+    public static boolean isRequestCoalescing() {
+        return getInstance().coalescing;
+    }
 
-            // Error management
-            if (HttpURLConnection.HTTP_NOT_FOUND == res.getCode() && !mandatory) {
-                return res;
-            }
-            if (res.getCode() >= 300) {
-              LOGGER.error("Error for request, url={}, method={}, code={}, body={}",
-                      req.getUri().toString(), req.getMethod(),
-                      res.getCode(), res.getBody());
-              processErrors(res, mandatory);
-              LOGGER.error("An HTTP Error occurred. The HTTP CODE Return is {}", res.getCode());
-            }
-            return res;
-        } catch (IllegalArgumentException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RuntimeException("Error in HTTP Request: " + e.getMessage(), e);
-        }
+    /**
+     * Hedge slow GET requests of the default transport: a second request is sent when the
+     * first one did not answer after the hedge delay, the first response wins.
+     *
+     * @param policy
+     *      hedge settings, null to disable
+     */
+    public static void configureHedgePolicy(HedgePolicy policy) {
+        getInstance().hedgePolicy = policy;
     }
 
     /**
-     * Initialize an HTTP request against Stargate.
-     * 
-     * @param method
-     *      http Method
-     * @param url
-     *      target URL
-     * @param token
-     *      current token
+     * Access the current hedge settings of the default transport.
+     *
      * @return
-     *      default http with header
+     *      hedge settings or null when disabled
      */
-    private HttpUriRequestBase buildRequest(final Method method, final String url, final String token, String body, String contentType) {
-        HttpUriRequestBase req;
-        switch(method) {
-            case GET:    req = new HttpGet(url);    break;
+    public static HedgePolicy getHedgePolicy() {
+        return getInstance().hedgePolicy;
+    }
+
+    /**
+     * Fail fast on degraded endpoints of the default transport, each host and path
+     * template has its own circuit.
+     *
+     * @param breaker
+     *      circuit breaker, null to disable
+     */
+    public static void configureCircuitBreaker(CircuitBreaker breaker) {
+        getInstance().circuitBreaker = breaker;
+    }
+
+    /**
+     * Access the current circuit breaker of the default transport.
+     *
+     * @return
+     *      circuit breaker or null when disabled
+     */
+    public static CircuitBreaker getCircuitBreaker() {
+        return getInstance().circuitBreaker;
+    }
+
+    /**
+     * Record the exchanges of the default transport.
+     *
+     * @param httpMetrics
+     *      metrics implementation, null to disable
+     */
+    public static void configureMetrics(HttpMetrics httpMetrics) {
+        getInstance().bindMetrics(httpMetrics == null ? HttpMetrics.NONE : httpMetrics);
+    }
+
+    /**
+     * Access the metrics of the default transport.
+     *
+     * @return
+     *      metrics implementation, {@link HttpMetrics#NONE} when disabled
+     */
+    public static HttpMetrics getMetrics() {
+        return getInstance().metrics;
+    }
+
+    /**
+     * Use a metrics implementation and expose the connection pools to it.
+     *
+     * @param httpMetrics
+     *      metrics implementation
+     */
+    private void bindMetrics(HttpMetrics httpMetrics) {
+        httpMetrics.bindConnectionPool("classic", this::getConnectionPoolStats);
+        httpMetrics.bindConnectionPool("async", this::getAsyncConnectionPoolStats);
+        this.metrics = httpMetrics;
+    }
+
+    /**
+     * Trace the requests of the default transport, a client span is started for each
+     * request and the W3C trace context is sent to the server.
+     *
+     * @param requestTracer
+     *      tracer, null to disable
+     */
+    public static void configureTracer(Tracer requestTracer) {
+        getInstance().tracer = (requestTracer == null) ? Tracer.NONE : requestTracer;
+    }
+
+    /**
+     * Access the tracer of this transport, also used by the clients for the spans of
+     * their logical operations.
+     *
+     * @return
+     *      tracer, {@link Tracer#NONE} when disabled
+     */
+    public Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Measure the phases of the blocking calls of the default transport, responses carry
+     * their {@link RequestTimings} and the listener is notified.
+     *
+     * @param listener
+     *      listener of the timings, null to disable
+     */
+    public static void configureRequestTimings(RequestTimingsListener listener) {
+        getInstance().timingsListener = listener;
+    }
+
+    /**
+     * Access the listener of the timings of the default transport.
+     *
+     * @return
+     *      listener or null when disabled
+     */
+    public static RequestTimingsListener getRequestTimingsListener() {
+        return getInstance().timingsListener;
+    }
+
+    /**
+     * Access the scheduler used for delayed tasks, a single daemon thread created on first use.
+     *
+     * @return
+     *      scheduler
+     */
+    protected static ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            synchronized (HttpClientWrapper.class) {
+                if (scheduler == null) {
+                    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                        Thread t = new Thread(r, "astra-sdk-scheduler");
+                        t.setDaemon(true);
+                        return t;
+                    });
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * Access the non-blocking client, it is created and started on first use to avoid
+     * spawning I/O threads when only the blocking verbs are used.
+     *
+     * @return
+     *      async client
+     */
+    protected CloseableHttpAsyncClient getAsyncClient() {
+        if (httpAsyncClient == null) {
+            synchronized (this) {
+                if (httpAsyncClient == null) {
+                    if (closed.get()) {
+                        throw new IllegalStateException("Http client has been closed");
+                    }
+                    final PoolingAsyncClientConnectionManager asyncConnManager = new PoolingAsyncClientConnectionManager(
+                            RegistryBuilder.<TlsStrategy>create()
+                                    .register(URIScheme.HTTPS.id, new DefaultClientTlsStrategy(sslContext))
+                                    .build());
+                    asyncConnManager.setConnectionConfigResolver(this::resolveConnectionConfig);
+                    applyPoolConfig(asyncConnManager);
+                    asyncIdleConnectionEvictor = startIdleConnectionEvictor(asyncConnManager);
+                    CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                            .setConnectionManager(asyncConnManager)
+                            .setProxy(proxy)
+                            .setKeepAliveStrategy(this::keepAliveDuration)
+                            .disableAutomaticRetries()
+                            .build();
+                    client.start();
+                    asyncConnectionManager = asyncConnManager;
+                    httpAsyncClient = client;
+                }
+            }
+        }
+        return httpAsyncClient;
+    }
+
+    // -------------------------------------------
+    // ----------------- Builder -----------------
+    // -------------------------------------------
+
+    /**
+     * Builder for dedicated transports.
+     */
+    public static class HttpClientWrapperBuilder {
+        /** */
+        private ConnectionPoolConfig poolConfig = ConnectionPoolConfig.builder().build();
+        /** */
+        private RetryPolicy retryPolicy = RetryPolicy.builder().build();
+        /** */
+        private RateLimiter rateLimiter;
+        /** */
+        private ResponseCache responseCache;
+        /** */
+        private boolean coalescing = false;
+        /** */
+        private HedgePolicy hedgePolicy;
+        /** */
+        private CircuitBreaker circuitBreaker;
+        /** */
+        private HttpMetrics metrics;
+        /** */
+        private RequestTimingsListener timingsListener;
+        /** */
+        private Tracer tracer;
+        /** */
+        private HttpHost proxy;
+        /** */
+        private HttpTransport transport;
+        /** */
+        private Duration connectTimeout = Duration.ofSeconds(DEFAULT_TIMEOUT_CONNECT);
+        /** */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(DEFAULT_TIMEOUT_REQUEST);
+        /** */
+        private Duration responseTimeout = Duration.ofSeconds(DEFAULT_TIMEOUT_RESPONSE);
+        /** */
+        private int tlsSessionCacheSize = DEFAULT_TLS_SESSION_CACHE_SIZE;
+        /** */
+        private Duration tlsSessionTimeout = DEFAULT_TLS_SESSION_TIMEOUT;
+
+        /**
+         * Default constructor.
+         */
+        public HttpClientWrapperBuilder() {}
+
+        /**
+         * Define the settings of the connection pools.
+         *
+         * @param config
+         *      the value for pool settings
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder connectionPool(ConnectionPoolConfig config) {
+            Assert.notNull(config, "config");
+            this.poolConfig = config;
+            return this;
+        }
+
+        /**
+         * Define the retry settings.
+         *
+         * @param policy
+         *      the value for retry policy
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder retryPolicy(RetryPolicy policy) {
+            Assert.notNull(policy, "policy");
+            this.retryPolicy = policy;
+            return this;
+        }
+
+        /**
+         * Define the client-side rate limiter.
+         *
+         * @param limiter
+         *      the value for rate limiter
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder rateLimiter(RateLimiter limiter) {
+            this.rateLimiter = limiter;
+            return this;
+        }
+
+        /**
+         * Define the hedging of GET requests.
+         *
+         * @param policy
+         *      the value for hedge policy
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder hedgePolicy(HedgePolicy policy) {
+            this.hedgePolicy = policy;
+            return this;
+        }
+
+        /**
+         * Define the circuit breaker.
+         *
+         * @param breaker
+         *      the value for circuit breaker
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder circuitBreaker(CircuitBreaker breaker) {
+            this.circuitBreaker = breaker;
+            return this;
+        }
+
+        /**
+         * Define the metrics implementation, discovered with the ServiceLoader by default.
+         *
+         * @param httpMetrics
+         *      the value for metrics
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder metrics(HttpMetrics httpMetrics) {
+            this.metrics = httpMetrics;
+            return this;
+        }
+
+        /**
+         * Trace the requests, a {@link Tracer} found with the service loader is used by default.
+         *
+         * @param requestTracer
+         *      the value for tracer
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder tracer(Tracer requestTracer) {
+            this.tracer = requestTracer;
+            return this;
+        }
+
+        /**
+         * Measure the phases of blocking calls and notify a listener.
+         *
+         * @param listener
+         *      the value for timings listener
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder requestTimings(RequestTimingsListener listener) {
+            this.timingsListener = listener;
+            return this;
+        }
+
+        /**
+         * Define the cache of GET responses.
+         *
+         * @param cache
+         *      the value for response cache
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder responseCache(ResponseCache cache) {
+            this.responseCache = cache;
+            return this;
+        }
+
+        /**
+         * Enable single-flight execution of identical GET requests.
+         *
+         * @param enabled
+         *      the value for coalescing
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder requestCoalescing(boolean enabled) {
+            this.coalescing = enabled;
+            return this;
+        }
+
+        /**
+         * Send requests through a proxy.
+         *
+         * @param hostname
+         *      proxy host
+         * @param port
+         *      proxy port
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder proxy(String hostname, int port) {
+            Assert.hasLength(hostname, "hostname");
+            this.proxy = new HttpHost(hostname, port);
+            return this;
+        }
+
+        /**
+         * Define the transport executing the exchanges, pooled HTTP/1.1 connections by
+         * default. Pool settings and proxy only apply to the default transport.
+         *
+         * @param t
+         *      the value for transport, like {@link Http2Transport}
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder transport(HttpTransport t) {
+            this.transport = t;
+            return this;
+        }
+
+        /**
+         * Define the timeout to establish a connection.
+         *
+         * @param timeout
+         *      the value for connect timeout
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder connectTimeout(Duration timeout) {
+            Assert.notNull(timeout, "timeout");
+            this.connectTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * Define the cache of TLS sessions, new connections to a host resume a cached
+         * session instead of a full handshake.
+         *
+         * @param cacheSize
+         *      number of sessions kept, 0 for no limit
+         * @param timeout
+         *      lifetime of a session in the cache
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder tlsSessionCache(int cacheSize, Duration timeout) {
+            Assert.isTrue(cacheSize >= 0, "Cache size should not be negative");
+            Assert.notNull(timeout, "timeout");
+            this.tlsSessionCacheSize = cacheSize;
+            this.tlsSessionTimeout   = timeout;
+            return this;
+        }
+
+        /**
+         * Define the timeout to obtain a connection from the pool.
+         *
+         * @param timeout
+         *      the value for connection request timeout
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder connectionRequestTimeout(Duration timeout) {
+            Assert.notNull(timeout, "timeout");
+            this.connectionRequestTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * Define the maximum time to wait for a response, capped by the {@link Deadline}
+         * of the call if any.
+         *
+         * @param timeout
+         *      the value for response timeout
+         * @return
+         *      this instance.
+         */
+        public HttpClientWrapperBuilder responseTimeout(Duration timeout) {
+            Assert.notNull(timeout, "timeout");
+            this.responseTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * Build the transport.
+         *
+         * @return
+         *      an instance of http client
+         */
+        public HttpClientWrapper build() {
+            return new HttpClientWrapper(this);
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'transport'.
+     *
+     * @return
+     *       current value of 'transport'
+     */
+    public HttpTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Getter accessor for attribute 'requestConfig'.
+     *
+     * @return
+     *       current value of 'requestConfig'
+     */
+    public RequestConfig getRequestConfig() {
+        return requestConfig;
+    }
+
+    /**
+     * Connection manager measuring the pool wait and the connect time of blocking calls.
+     */
+    private static final class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+
+        /**
+         * Default registry, TLS handshakes are measured.
+         *
+         * @param sslContext
+         *      TLS settings
+         */
+        private TimedConnectionManager(SSLContext sslContext) {
+            super(RegistryBuilder.<ConnectionSocketFactory>create()
+                    .register(URIScheme.HTTP.id, PlainConnectionSocketFactory.getSocketFactory())
+                    .register(URIScheme.HTTPS.id, new TimedSSLConnectionSocketFactory(sslContext))
+                    .build());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+            final LeaseRequest lease = super.lease(id, route, requestTimeout, state);
+            return new LeaseRequest() {
+
+                /** {@inheritDoc} */
+                @Override
+                public ConnectionEndpoint get(Timeout timeout)
+                throws InterruptedException, ExecutionException, TimeoutException {
+                    final long start = System.nanoTime();
+                    try {
+                        return lease.get(timeout);
+                    } finally {
+                        RequestTimings timings = ACTIVE_TIMINGS.get();
+                        if (timings != null) {
+                            timings.addPoolWait(System.nanoTime() - start);
+                        }
+                    }
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public boolean cancel() {
+                    return lease.cancel();
+                }
+            };
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void connect(ConnectionEndpoint endpoint, TimeValue timeout, HttpContext context) throws IOException {
+            final long start = System.nanoTime();
+            try {
+                super.connect(endpoint, timeout, context);
+            } finally {
+                RequestTimings timings = ACTIVE_TIMINGS.get();
+                if (timings != null) {
+                    timings.addConnect(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Socket factory measuring the TLS handshakes of blocking calls.
+     */
+    private static final class TimedSSLConnectionSocketFactory extends SSLConnectionSocketFactory {
+
+        /**
+         * Default host name verification.
+         *
+         * @param sslContext
+         *      TLS settings
+         */
+        private TimedSSLConnectionSocketFactory(SSLContext sslContext) {
+            super(sslContext, HttpsSupport.getDefaultHostnameVerifier());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, Object attachment, HttpContext context)
+        throws IOException {
+            final long start = System.nanoTime();
+            try {
+                return super.createLayeredSocket(socket, target, port, attachment, context);
+            } finally {
+                RequestTimings timings = ACTIVE_TIMINGS.get();
+                if (timings != null) {
+                    timings.addTlsHandshake(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Default transport, pooled HTTP/1.1 connections.
+     */
+    private class PooledTransport implements HttpTransport {
+
+        /** {@inheritDoc} */
+        @Override
+        public String getName() {
+            return "http1";
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ClassicHttpResponse execute(ClassicHttpRequest request) throws IOException {
+            return httpClient.executeOpen(null, request, null);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Future<SimpleHttpResponse> execute(SimpleHttpRequest request, FutureCallback<SimpleHttpResponse> callback) {
+            return getAsyncClient().execute(request, callback);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws IOException {
+            httpClient.close();
+            if (httpAsyncClient != null) {
+                httpAsyncClient.close();
+            }
+        }
+    }
+
+    // -------------------------------------------
+    // ----------- Connection Pools --------------
+    // -------------------------------------------
+
+    /**
+     * Statistics of the blocking connection pool.
+     *
+     * @return
+     *      leased, pending and available connections globally and per route
+     */
+    public ConnectionPoolStats getConnectionPoolStats() {
+        return ConnectionPoolStats.of(connectionManager);
+    }
+
+    /**
+     * Statistics of the non-blocking connection pool.
+     *
+     * @return
+     *      leased, pending and available connections globally and per route
+     */
+    public ConnectionPoolStats getAsyncConnectionPoolStats() {
+        return ConnectionPoolStats.of(asyncConnectionManager);
+    }
+
+    /**
+     * Open connections to the devops API and to the hosts already targeted, so the first
+     * calls do not pay DNS, TCP and TLS handshake costs.
+     *
+     * @param connectionsPerHost
+     *      connections to open per host, capped by the pool limits
+     * @return
+     *      connections opened and their timings
+     */
+    public WarmUpReport warmUp(int connectionsPerHost) {
+        List<String> urls = new ArrayList<>();
+        urls.add(ApiLocator.getApiDevopsEndpoint());
+        knownRoutes.forEach(route -> urls.add(route.getTargetHost().toURI()));
+        return warmUp(connectionsPerHost, urls.toArray(new String[0]));
+    }
+
+    /**
+     * Open connections in the blocking pool, so the first calls do not pay DNS, TCP and
+     * TLS handshake costs. The first connection to a host performs a full handshake and
+     * the next ones resume its TLS session. Connections already available in the pool are
+     * counted and kept. Nothing is opened when a proxy or a dedicated transport is used.
+     *
+     * @param connectionsPerHost
+     *      connections to open per host, capped by the pool limits
+     * @param urls
+     *      urls of the hosts, like the streaming clusters of the tenants
+     * @return
+     *      connections opened and their timings
+     */
+    public WarmUpReport warmUp(int connectionsPerHost, String... urls) {
+        Assert.isTrue(connectionsPerHost > 0, "Connections per host should be positive");
+        final long start = System.nanoTime();
+        final WarmUpReport report = new WarmUpReport();
+        if (proxy != null) {
+            LOGGER.warn("Warm up skipped, connections are opened through proxy {}", proxy);
+            report.complete(System.nanoTime() - start);
+            return report;
+        }
+        if (connectionManager == null) {
+            LOGGER.warn("Warm up skipped, connections are managed by transport {}", transport.getName());
+            report.complete(System.nanoTime() - start);
+            return report;
+        }
+        Set<HttpRoute> routes = new LinkedHashSet<>();
+        for (String url : urls) {
+            HttpRoute route = toRoute(URI.create(url));
+            if (route != null) {
+                routes.add(route);
+            }
+        }
+        routes.forEach(route -> report.addHost(warmUp(route, connectionsPerHost)));
+        report.complete(System.nanoTime() - start);
+        LOGGER.info("Warm up completed in {} millis: {}", report.getDuration().toMillis(), report);
+        return report;
+    }
+
+    /**
+     * Open connections to a route, every connection is leased before being released so
+     * the pool cannot hand out the same one twice.
+     *
+     * @param route
+     *      target route
+     * @param connectionsPerHost
+     *      connections to open
+     * @return
+     *      connections opened and their timings
+     */
+    private WarmUpReport.HostReport warmUp(HttpRoute route, int connectionsPerHost) {
+        if (knownRoutes.add(route)) {
+            applyRouteLimit(connectionManager, route);
+            applyRouteLimit(asyncConnectionManager, route);
+        }
+        final WarmUpReport.HostReport host = new WarmUpReport.HostReport(route.getTargetHost().getHostName());
+        final Timeout leaseTimeout = requestConfig.getConnectionRequestTimeout();
+        final int count = Math.min(connectionsPerHost, connectionManager.getMaxPerRoute(route));
+        final List<ConnectionEndpoint> endpoints = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                ConnectionEndpoint endpoint = connectionManager.lease("warm-up-" + i, route, leaseTimeout, null).get(leaseTimeout);
+                endpoints.add(endpoint);
+                if (endpoint.isConnected()) {
+                    host.addReusedConnection();
+                    continue;
+                }
+                RequestTimings timings = new RequestTimings("CONNECT", host.getHost(), "/", t -> {});
+                ACTIVE_TIMINGS.set(timings);
+                try {
+                    connectionManager.connect(endpoint, connectTimeout, HttpClientContext.create());
+                } finally {
+                    ACTIVE_TIMINGS.remove();
+                }
+                host.addConnection(timings.getConnect(), timings.getTlsHandshake());
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            host.setError("Interrupted");
+        } catch (Exception e) {
+            LOGGER.warn("Cannot warm up connections to {}: {}", host.getHost(), e.getMessage());
+            host.setError(e.getMessage());
+        } finally {
+            endpoints.forEach(endpoint -> connectionManager.release(endpoint, null,
+                    endpoint.isConnected() ? requestConfig.getConnectionKeepAlive() : null));
+        }
+        return host;
+    }
+
+    /**
+     * Number of GET requests served by an exchange started by another caller.
+     *
+     * @return
+     *      coalesced requests
+     */
+    public long getCoalescedRequestCount() {
+        return coalescer.getCoalescedCount();
+    }
+
+    /**
+     * Apply current settings to the live pools.
+     */
+    private synchronized void reconfigurePools() {
+        if (closed.get()) {
+            return;
+        }
+        connectionConfigs.clear();
+        if (connectionManager != null) {
+            applyPoolConfig(connectionManager);
+            stopIdleConnectionEvictor(idleConnectionEvictor);
+            idleConnectionEvictor = startIdleConnectionEvictor(connectionManager);
+        }
+        if (asyncConnectionManager != null) {
+            applyPoolConfig(asyncConnectionManager);
+            stopIdleConnectionEvictor(asyncIdleConnectionEvictor);
+            asyncIdleConnectionEvictor = startIdleConnectionEvictor(asyncConnectionManager);
+        }
+    }
+
+    /**
+     * Apply the limits of the current settings to a pool. Every known route is set again,
+     * to its specific limit or back to the default one when its specific limit is removed.
+     *
+     * @param pool
+     *      connection pool
+     */
+    private void applyPoolConfig(ConnPoolControl<HttpRoute> pool) {
+        pool.setMaxTotal(poolConfig.getMaxTotal());
+        pool.setDefaultMaxPerRoute(poolConfig.getDefaultMaxPerRoute());
+        knownRoutes.forEach(route -> pool.setMaxPerRoute(route, poolConfig.getMaxPerRoute(route.getTargetHost().getHostName())));
+    }
+
+    /**
+     * Apply a specific limit to a route if one has been defined for its host.
+     *
+     * @param pool
+     *      connection pool
+     * @param route
+     *      current route
+     */
+    private void applyRouteLimit(ConnPoolControl<HttpRoute> pool, HttpRoute route) {
+        String host = route.getTargetHost().getHostName();
+        if (pool != null && poolConfig.hasMaxPerRoute(host)) {
+            pool.setMaxPerRoute(route, poolConfig.getMaxPerRoute(host));
+        }
+    }
+
+    /**
+     * Routes are created on demand by the pools, specific limits are applied the first
+     * time a host is targeted.
+     *
+     * @param req
+     *      current request
+     */
+    private void registerRoute(HttpRequest req) {
+        try {
+            URI uri = req.getUri();
+            if (uri.getHost() == null) {
+                return;
+            }
+            HttpRoute route = toRoute(uri);
+            if (knownRoutes.add(route)) {
+                applyRouteLimit(connectionManager, route);
+                applyRouteLimit(asyncConnectionManager, route);
+            }
+        } catch (URISyntaxException e) {
+            // Invalid uri, the client will report the error
+        }
+    }
+
+    /**
+     * Route used by the pools for an uri, ports are explicit.
+     *
+     * @param uri
+     *      target uri
+     * @return
+     *      route, or null when the uri has no host
+     */
+    private static HttpRoute toRoute(URI uri) {
+        if (uri.getHost() == null) {
+            return null;
+        }
+        boolean secure = URIScheme.HTTPS.same(uri.getScheme());
+        int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+    }
+
+    /**
+     * TLS settings with an explicit session cache, connections opened to a host after the
+     * first one resume its session and skip the full handshake.
+     *
+     * @param cacheSize
+     *      number of sessions kept, 0 for no limit
+     * @param timeout
+     *      lifetime of a session
+     * @return
+     *      TLS context shared by the pools
+     */
+    private static SSLContext createSslContext(int cacheSize, Duration timeout) {
+        SSLContext context = SSLContexts.createDefault();
+        SSLSessionContext sessions = context.getClientSessionContext();
+        if (sessions != null) {
+            sessions.setSessionCacheSize(cacheSize);
+            sessions.setSessionTimeout((int) Math.min(Integer.MAX_VALUE, timeout.getSeconds()));
+        }
+        return context;
+    }
+
+    /**
+     * Connection settings for a route (connect timeout, time to live and validation).
+     *
+     * @param route
+     *      current route
+     * @return
+     *      connection settings
+     */
+    private ConnectionConfig resolveConnectionConfig(HttpRoute route) {
+        return connectionConfigs.computeIfAbsent(route.getTargetHost().getHostName(), host -> {
+            ConnectionConfig.Builder cfg = ConnectionConfig.custom()
+                    .setConnectTimeout(connectTimeout)
+                    .setValidateAfterInactivity(toTimeValue(poolConfig.getValidateAfterInactivity()));
+            Duration ttl = poolConfig.getTimeToLive(host);
+            if (ttl != null) {
+                cfg.setTimeToLive(toTimeValue(ttl));
+            }
+            return cfg.build();
+        });
+    }
+
+    /**
+     * Start a background thread closing expired connections (time to live or keep-alive)
+     * and connections idle for longer than max idle time.
+     *
+     * @param pool
+     *      connection pool
+     * @return
+     *      the evictor
+     */
+    private IdleConnectionEvictor startIdleConnectionEvictor(ConnPoolControl<HttpRoute> pool) {
+        Duration interval = poolConfig.getEvictionInterval();
+        Duration maxIdle  = poolConfig.getMaxIdleTime();
+        if (maxIdle != null && maxIdle.compareTo(interval) < 0) {
+            interval = maxIdle;
+        }
+        IdleConnectionEvictor evictor = new IdleConnectionEvictor(pool, toTimeValue(interval),
+                maxIdle == null ? null : toTimeValue(maxIdle));
+        evictor.start();
+        return evictor;
+    }
+
+    /**
+     * Keep-alive strategy of the pools: the timeout advertised by the server in the
+     * <code>Keep-Alive</code> header, shortened by a margin so a connection is never reused
+     * when the server is about to close it, and capped by the configured keep-alive.
+     *
+     * @param response
+     *      http response
+     * @param context
+     *      http context
+     * @return
+     *      how long the connection can stay in the pool
+     * @see ConnectionKeepAliveStrategy
+     */
+    private TimeValue keepAliveDuration(HttpResponse response, HttpContext context) {
+        long keepAliveMillis = poolConfig.getKeepAlive().toMillis();
+        Header header = response.getFirstHeader(HEADER_KEEP_ALIVE);
+        if (header != null && header.getValue() != null) {
+            for (String param : header.getValue().split(",")) {
+                String[] keyValue = param.trim().split("=", 2);
+                if (keyValue.length == 2 && "timeout".equalsIgnoreCase(keyValue[0].trim())) {
+                    try {
+                        long serverMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(keyValue[1].trim()));
+                        keepAliveMillis = Math.min(keepAliveMillis, serverMillis - KEEP_ALIVE_MARGIN_MILLIS);
+                    } catch (NumberFormatException e) {
+                        // Invalid value, the configured keep-alive applies
+                    }
+                }
+            }
+        }
+        // Zero would mean forever for the pool
+        return TimeValue.ofMilliseconds(Math.max(1, keepAliveMillis));
+    }
+
+    /**
+     * Stop an evictor if it exists.
+     *
+     * @param evictor
+     *      current evictor
+     */
+    private void stopIdleConnectionEvictor(IdleConnectionEvictor evictor) {
+        if (evictor != null) {
+            evictor.shutdown();
+        }
+    }
+
+    /**
+     * Convert a duration to the httpclient representation.
+     *
+     * @param duration
+     *      duration
+     * @return
+     *      time value
+     */
+    private static TimeValue toTimeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+
+    /**
+     * Convert a duration to an httpclient timeout.
+     *
+     * @param duration
+     *      duration
+     * @return
+     *      timeout
+     */
+    private static Timeout toTimeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+    
+    // -------------------------------------------
+    // ---------- Working with HTTP --------------
+    // -------------------------------------------
+    
+    /**
+     * Helper to build the HTTP request.
+     * 
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      http request
+     */
+    public ApiResponseHttp GET(String url, String token) {
+        if (coalescing) {
+            return coalescer.execute(RequestCoalescer.key(url, token), () -> executeGet(url, token));
+        }
+        return executeGet(url, token);
+    }
+
+    /**
+     * Execute a GET request, through the response cache when enabled.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      http response
+     */
+    private ApiResponseHttp executeGet(String url, String token) {
+        final ResponseCache cache = responseCache;
+        if (cache == null) {
+            return sendGet(url, token, Collections.emptyMap());
+        }
+        return cache.get(url, token, conditionalHeaders -> sendGet(url, token, conditionalHeaders));
+    }
+
+    /**
+     * Send a GET request, hedged when a policy is configured.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param headers
+     *      additional headers
+     * @return
+     *      http response
+     */
+    private ApiResponseHttp sendGet(String url, String token, Map<String, String> headers) {
+        final HedgePolicy policy = hedgePolicy;
+        if (policy != null) {
+            try {
+                return executeHedged(policy, () -> sendGetAsync(url, token, headers)).join();
+            } catch (CompletionException e) {
+                throw (e.getCause() instanceof RuntimeException) ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        HttpUriRequestBase req = buildRequest(Method.GET, url, token, null, CONTENT_TYPE_JSON);
+        headers.forEach(req::addHeader);
+        return executeHttp(req, false);
+    }
+
+    /**
+     * Helper to build the HTTP request.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param pulsarCluster
+     *      pulsar cluster
+     * @param organizationId
+     *      organization identifier
+     * @return
+     *      http request
+     */
+    public ApiResponseHttp GET_PULSAR(String url, String token, String pulsarCluster, String organizationId) {
+        HttpUriRequestBase request = buildRequest(Method.GET, url, token, null, CONTENT_TYPE_JSON);
+        updatePulsarHttpRequest(request, token, pulsarCluster, organizationId);
+        return executeHttp(request, false);
+    }
+
+    /**
+     * Helper to build the HTTP request.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @param pulsarCluster
+     *      pulsar cluster
+     * @param organizationId
+     *      organization identifier
+     * @return
+     *      http request
+     */
+    public ApiResponseHttp POST_PULSAR(String url, String token, String body, String pulsarCluster, String organizationId) {
+        HttpUriRequestBase request = buildRequest(Method.POST, url, token, body, CONTENT_TYPE_JSON);
+        updatePulsarHttpRequest(request, token, pulsarCluster, organizationId);
+        return executeHttp(request, false);
+    }
+
+    /**
+     * Helper to build the HTTP request.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @param pulsarCluster
+     *      pulsar cluster
+     * @param organizationId
+     *      organization identifier
+     * @return
+     *      http request
+     */
+    public ApiResponseHttp DELETE_PULSAR(String url, String token, String body, String pulsarCluster, String organizationId) {
+        HttpUriRequestBase request = buildRequest(Method.DELETE, url, token, body, CONTENT_TYPE_JSON);
+        updatePulsarHttpRequest(request, token, pulsarCluster, organizationId);
+        return executeHttp(request, false);
+    }
+
+    /**
+     * Helper to build the HTTP request, the body is streamed as UTF-8.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @param pulsarCluster
+     *      pulsar cluster
+     * @param organizationId
+     *      organization identifier
+     * @return
+     *      http request
+     */
+    public ApiResponseHttp POST_PULSAR(String url, String token, JsonBody body, String pulsarCluster, String organizationId) {
+        HttpUriRequestBase request = buildRequest(Method.POST, url, token, body);
+        updatePulsarHttpRequest(request, token, pulsarCluster, organizationId);
+        return executeHttp(request, false);
+    }
+
+    /**
+     * Helper to build the HTTP request, the body is streamed as UTF-8.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @param pulsarCluster
+     *      pulsar cluster
+     * @param organizationId
+     *      organization identifier
+     * @return
+     *      http request
+     */
+    public ApiResponseHttp DELETE_PULSAR(String url, String token, JsonBody body, String pulsarCluster, String organizationId) {
+        HttpUriRequestBase request = buildRequest(Method.DELETE, url, token, body);
+        updatePulsarHttpRequest(request, token, pulsarCluster, organizationId);
+        return executeHttp(request, false);
+    }
+
+    /**
+     * Add item for a pulsar request.
+     *
+     * @param request
+     *      current request
+     * @param pulsarToken
+     *      pulsar token
+     * @param pulsarCluster
+     *      pulsar cluster
+     * @param organizationId
+     *      organization
+     */
+    private void updatePulsarHttpRequest(HttpUriRequestBase request, String pulsarToken, String pulsarCluster, String organizationId) {
+        request.addHeader(HEADER_AUTHORIZATION, pulsarToken);
+        request.addHeader(HEADER_CURRENT_ORG, organizationId);
+        request.addHeader(HEADER_CURRENT_PULSAR_CLUSTER, pulsarCluster);
+    }
+
+    /**
+     * Helper to build the HTTP request.
+     * 
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      http request
+     */
+    public ApiResponseHttp HEAD(String url, String token) {
+        return executeHttp(Method.HEAD, url, token, null, CONTENT_TYPE_JSON, false);
+    }
+    
+    /**
+     * Helper to build the HTTP request.
+     * 
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      http request
+     */
+    public ApiResponseHttp POST(String url, String token) {
+        return executeHttp(Method.POST, url, token, null, CONTENT_TYPE_JSON, true);
+    }
+    
+    /**
+     * Helper to build the HTTP request.
+     * 
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body     
+     * @return
+     *      http request
+     */
+    public ApiResponseHttp POST(String url, String token, String body) {
+        return executeHttp(Method.POST, url, token, body, CONTENT_TYPE_JSON, true);
+    }
+    
+    /**
+     * Helper to build the HTTP request.
+     * 
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     */
+    public void DELETE(String url, String token) {
+        executeHttp(Method.DELETE, url, token, null, CONTENT_TYPE_JSON, true);
+    }
+    
+    /**
+     * Helper to build the HTTP request.
+     * 
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     */
+    public void PUT(String url, String token, String body) {
+        executeHttp(Method.PUT, url, token, body, CONTENT_TYPE_JSON, false);
+    }
+
+    /**
+     * Helper to build the HTTP request.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     */
+    public void PATCH(String url, String token, String body) {
+        executeHttp(Method.PATCH, url, token, body, CONTENT_TYPE_JSON, false);
+    }
+
+    /**
+     * Helper to build the HTTP request, the body is streamed as UTF-8.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @return
+     *      http request
+     */
+    public ApiResponseHttp POST(String url, String token, JsonBody body) {
+        return executeHttp(buildRequest(Method.POST, url, token, body), true);
+    }
+
+    /**
+     * Helper to build the HTTP request, the body is streamed as UTF-8.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     */
+    public void PUT(String url, String token, JsonBody body) {
+        executeHttp(buildRequest(Method.PUT, url, token, body), false);
+    }
+
+    /**
+     * Helper to build the HTTP request, the body is streamed as UTF-8.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     */
+    public void PATCH(String url, String token, JsonBody body) {
+        executeHttp(buildRequest(Method.PATCH, url, token, body), false);
+    }
+
+    // -------------------------------------------
+    // ------ Working with HTTP (streaming) ------
+    // -------------------------------------------
+
+    /**
+     * Execute a GET returning a JSON array and decode the elements straight from the
+     * response stream, no intermediate String is built. Elements are parsed lazily while
+     * the stream is consumed.
+     *
+     * <p>The connection is released when the last element has been read. The returned
+     * stream holds a pooled connection until then, when it may not be fully consumed
+     * (<code>findFirst()</code>, <code>limit()</code>...) it must be closed, ideally with
+     * a try-with-resources block.</p>
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param type
+     *      type of the array elements
+     * @param <T>
+     *      type of the array elements
+     * @return
+     *      lazy stream of elements, empty if the resource does not exist
+     */
+    public <T> Stream<T> GETStream(String url, String token, Class<T> type) {
+        return executeHttpStream(buildRequest(Method.GET, url, token, null, CONTENT_TYPE_JSON), false, type);
+    }
+
+    /**
+     * Execute a request and decode a JSON array response lazily from the response stream.
+     *
+     * @param req
+     *      current request
+     * @param mandatory
+     *      allow 404 errors
+     * @param type
+     *      type of the array elements
+     * @param <T>
+     *      type of the array elements
+     * @return
+     *      lazy stream of elements
+     */
+    public <T> Stream<T> executeHttpStream(HttpUriRequestBase req, boolean mandatory, Class<T> type) {
+        registerRoute(req);
+        ClassicHttpResponse response = null;
+        try {
+            response = executeWithRetries(req);
+            HttpEntity entity = response.getEntity();
+            if (response.getCode() >= 300 || entity == null) {
+                // Errors are small payloads, reuse the regular error management
+                String body = ResponseBodyReader.read(entity);
+                ApiResponseHttp res = new ApiResponseHttp(body, response.getCode(), response.getHeaders());
+                closeQuietly(response);
+                validateResponse(res, req, mandatory);
+                return Stream.empty();
+            }
+            final ClassicHttpResponse openResponse = response;
+            return JsonUtils.unmarshallStream(entity.getContent(), type).onClose(() -> closeQuietly(openResponse));
+        } catch (IllegalArgumentException | RateLimitExceededException
+                | DeadlineExceededException | CircuitBreakerOpenException e) {
+            closeQuietly(response);
+            throw e;
+        } catch (Exception e) {
+            closeQuietly(response);
+            throw new RuntimeException("Error in HTTP Request: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Close a response and release its connection, errors are ignored.
+     *
+     * @param response
+     *      http response
+     */
+    private void closeQuietly(ClassicHttpResponse response) {
+        if (response != null) {
+            try {
+                response.close();
+            } catch (IOException e) {
+                LOGGER.debug("Cannot close http response", e);
+            }
+        }
+    }
+
+    // -------------------------------------------
+    // ------ Working with HTTP (async) ----------
+    // -------------------------------------------
+
+    /**
+     * Helper to build the HTTP request, non-blocking.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> GETAsync(String url, String token) {
+        if (coalescing) {
+            return coalescer.executeAsync(RequestCoalescer.key(url, token), () -> executeGetAsync(url, token), getScheduler());
+        }
+        return executeGetAsync(url, token);
+    }
+
+    /**
+     * Execute a GET request without blocking, through the response cache when enabled.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      future http response
+     */
+    private CompletableFuture<ApiResponseHttp> executeGetAsync(String url, String token) {
+        final ResponseCache cache = responseCache;
+        final HedgePolicy policy = hedgePolicy;
+        if (cache == null) {
+            return (policy == null)
+                    ? sendGetAsync(url, token, Collections.emptyMap())
+                    : executeHedged(policy, () -> sendGetAsync(url, token, Collections.emptyMap()));
+        }
+        return cache.getAsync(url, token, conditionalHeaders -> (policy == null)
+                ? sendGetAsync(url, token, conditionalHeaders)
+                : executeHedged(policy, () -> sendGetAsync(url, token, conditionalHeaders)));
+    }
+
+    /**
+     * Send a GET request without blocking.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param headers
+     *      additional headers
+     * @return
+     *      future http response
+     */
+    private CompletableFuture<ApiResponseHttp> sendGetAsync(String url, String token, Map<String, String> headers) {
+        SimpleHttpRequest req = buildAsyncRequest(Method.GET, url, token, null, CONTENT_TYPE_JSON);
+        headers.forEach(req::addHeader);
+        return executeHttpAsync(req, false);
+    }
+
+    /**
+     * Execute a request and send a second one if it did not complete after the hedge
+     * delay. The first successful response wins and the other exchange is cancelled, an
+     * error is returned only when every request sent failed.
+     *
+     * @param policy
+     *      hedge settings
+     * @param send
+     *      send one request
+     * @return
+     *      future http response
+     */
+    private CompletableFuture<ApiResponseHttp> executeHedged(HedgePolicy policy, Supplier<CompletableFuture<ApiResponseHttp>> send) {
+        final CompletableFuture<ApiResponseHttp> result = new CompletableFuture<>();
+        final Deadline deadline = Deadline.current();
+        final Span parent = Tracing.current();
+        final long start = System.nanoTime();
+        // Requests which may still answer, the scheduled hedge counts as one
+        final AtomicInteger pending = new AtomicInteger(1);
+        // Set by the first successful response, counted before the caller sees it
+        final AtomicBoolean answered = new AtomicBoolean();
+        // First error received, returned once no request can answer anymore
+        final AtomicReference<Throwable> firstError = new AtomicReference<>();
+        final Consumer<Throwable> onFailure = error -> {
+            firstError.compareAndSet(null, error);
+            if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(firstError.get());
+            }
+        };
+        policy.onRequest();
+        final CompletableFuture<ApiResponseHttp> primary = send.get();
+        final AtomicReference<CompletableFuture<ApiResponseHttp>> hedge = new AtomicReference<>();
+        final Future<?> timer = getScheduler().schedule(() -> {
+            pending.incrementAndGet();
+            if (result.isDone() || !policy.tryHedge()) {
+                // No hedge sent, the primary may already have failed
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(firstError.get());
+                }
+                return;
+            }
+            CompletableFuture<ApiResponseHttp> second;
+            try {
+                Supplier<CompletableFuture<ApiResponseHttp>> sendHedge = () -> Tracing.withSpan(parent, send);
+                second = (deadline == null) ? sendHedge.get() : deadline.call(sendHedge);
+            } catch (RuntimeException e) {
+                onFailure.accept(e);
+                return;
+            }
+            hedge.set(second);
+            second.whenComplete((res, error) -> {
+                if (error == null && answered.compareAndSet(false, true)) {
+                    policy.onHedgeWin();
+                    result.complete(res);
+                } else if (error != null) {
+                    onFailure.accept(error);
+                }
+            });
+        }, policy.getDelay().toMillis(), TimeUnit.MILLISECONDS);
+        primary.whenComplete((res, error) -> {
+            if (error == null && answered.compareAndSet(false, true)) {
+                result.complete(res);
+            } else if (error != null) {
+                onFailure.accept(error);
+            }
+        });
+        result.whenComplete((res, error) -> {
+            if (error == null) {
+                policy.recordLatency(System.nanoTime() - start);
+            }
+            timer.cancel(false);
+            primary.cancel(true);
+            CompletableFuture<ApiResponseHttp> second = hedge.get();
+            if (second != null) {
+                second.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Helper to build the HTTP request, non-blocking.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> HEADAsync(String url, String token) {
+        return executeHttpAsync(Method.HEAD, url, token, null, CONTENT_TYPE_JSON, false);
+    }
+
+    /**
+     * Helper to build the HTTP request, non-blocking.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> POSTAsync(String url, String token) {
+        return executeHttpAsync(Method.POST, url, token, null, CONTENT_TYPE_JSON, true);
+    }
+
+    /**
+     * Helper to build the HTTP request, non-blocking.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> POSTAsync(String url, String token, String body) {
+        return executeHttpAsync(Method.POST, url, token, body, CONTENT_TYPE_JSON, true);
+    }
+
+    /**
+     * Helper to build the HTTP request, non-blocking.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> DELETEAsync(String url, String token) {
+        return executeHttpAsync(Method.DELETE, url, token, null, CONTENT_TYPE_JSON, true);
+    }
+
+    /**
+     * Helper to build the HTTP request, non-blocking.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> PUTAsync(String url, String token, String body) {
+        return executeHttpAsync(Method.PUT, url, token, body, CONTENT_TYPE_JSON, false);
+    }
+
+    /**
+     * Helper to build the HTTP request, non-blocking.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> PATCHAsync(String url, String token, String body) {
+        return executeHttpAsync(Method.PATCH, url, token, body, CONTENT_TYPE_JSON, false);
+    }
+
+    /**
+     * Helper to build the HTTP request, non-blocking. The body is written as UTF-8.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> POSTAsync(String url, String token, JsonBody body) {
+        return executeHttpAsync(buildAsyncRequest(Method.POST, url, token, body), true);
+    }
+
+    /**
+     * Helper to build the HTTP request, non-blocking. The body is written as UTF-8.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> PUTAsync(String url, String token, JsonBody body) {
+        return executeHttpAsync(buildAsyncRequest(Method.PUT, url, token, body), false);
+    }
+
+    /**
+     * Helper to build the HTTP request, non-blocking. The body is written as UTF-8.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> PATCHAsync(String url, String token, JsonBody body) {
+        return executeHttpAsync(buildAsyncRequest(Method.PATCH, url, token, body), false);
+    }
+
+    /**
+     * Main Method executing HTTP Request without blocking the caller thread.
+     *
+     * @param method
+     *      http method
+     * @param url
+     *      url
+     * @param token
+     *      authentication token
+     * @param reqBody
+     *      request body
+     * @param contentType
+     *      request content type
+     * @param mandatory
+     *      allow 404 errors
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> executeHttpAsync(final Method method, final String url, final String token, String reqBody, String contentType, boolean mandatory) {
+        return executeHttpAsync(buildAsyncRequest(method, url, token, reqBody, contentType), mandatory);
+    }
+
+    /**
+     * Execute a request coming from elsewhere without blocking the caller thread.
+     * Errors are reported by completing the future exceptionally with the same
+     * exceptions as the blocking {@link #executeHttp(HttpUriRequestBase, boolean)}.
+     * Cancelling the returned future aborts the underlying exchange.
+     *
+     * @param req
+     *      current request
+     * @param mandatory
+     *      mandatory
+     * @return
+     *      future http response
+     */
+    public CompletableFuture<ApiResponseHttp> executeHttpAsync(SimpleHttpRequest req, boolean mandatory) {
+        final CompletableFuture<ApiResponseHttp> result = new CompletableFuture<>();
+        if (closed.get()) {
+            result.completeExceptionally(new IllegalStateException("Http client has been closed"));
+            return result;
+        }
+        final AtomicReference<Future<?>> currentAttempt = new AtomicReference<>();
+        final RetryPolicy policy = retryPolicy;
+        final Deadline deadline = Deadline.current();
+        final Span parent = Tracing.current();
+        policy.getBudget().onRequest();
+        registerRoute(req);
+        final Future<?> timer = (deadline == null) ? null : getScheduler().schedule(() ->
+                result.completeExceptionally(new DeadlineExceededException("Deadline exceeded waiting for "
+                        + req.getMethod() + " " + requestUrl(req))),
+                deadline.timeRemaining().toMillis(), TimeUnit.MILLISECONDS);
+        executeAsyncAttempt(req, mandatory, policy, deadline, parent, 1, result, currentAttempt);
+        result.whenComplete((r, e) -> {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            if (result.isCompletedExceptionally()) {
+                Future<?> attempt = currentAttempt.get();
+                if (attempt != null) {
+                    attempt.cancel(true);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Execute one attempt of a non-blocking request, a new attempt is scheduled when the
+     * retry policy allows it.
+     *
+     * @param req
+     *      current request
+     * @param mandatory
+     *      allow 404 errors
+     * @param policy
+     *      retry settings captured when the call started
+     * @param deadline
+     *      deadline captured when the call started, can be null
+     * @param parent
+     *      span current when the call started, can be null
+     * @param attempt
+     *      current attempt, starting at 1
+     * @param result
+     *      future returned to the caller
+     * @param currentAttempt
+     *      exchange or scheduled retry in progress, cancelled with the result
+     */
+    private void executeAsyncAttempt(SimpleHttpRequest req, boolean mandatory, RetryPolicy policy, Deadline deadline, Span parent, int attempt,
+                                     CompletableFuture<ApiResponseHttp> result, AtomicReference<Future<?>> currentAttempt) {
+        if (result.isDone()) {
+            return;
+        }
+        if (deadline != null) {
+            try {
+                deadline.check("sending " + req.getMethod() + " " + requestUrl(req));
+            } catch (DeadlineExceededException dee) {
+                result.completeExceptionally(dee);
+                return;
+            }
+            req.setConfig(withDeadline(req.getConfig() != null ? req.getConfig() : requestConfig, deadline));
+        }
+        final RateLimiter limiter = rateLimiter;
+        if (limiter != null) {
+            final Duration remaining = permitTimeout(limiter, deadline);
+            final CompletableFuture<Void> permit = (remaining == null)
+                    ? limiter.acquireAsync(rateLimitKey(req), getScheduler())
+                    : limiter.acquireAsync(rateLimitKey(req), remaining, getScheduler());
+            permit.whenComplete((granted, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(remaining == null ? error : permitDeadlineExceeded(req));
+                } else {
+                    sendAsyncAttempt(req, mandatory, policy, deadline, parent, attempt, result, currentAttempt);
+                }
+            });
+        } else {
+            sendAsyncAttempt(req, mandatory, policy, deadline, parent, attempt, result, currentAttempt);
+        }
+    }
+
+    /**
+     * Send one attempt of a non-blocking request once a permit has been granted.
+     *
+     * @param req
+     *      current request
+     * @param mandatory
+     *      allow 404 errors
+     * @param policy
+     *      retry settings captured when the call started
+     * @param deadline
+     *      deadline captured when the call started, can be null
+     * @param parent
+     *      span current when the call started, can be null
+     * @param attempt
+     *      current attempt, starting at 1
+     * @param result
+     *      future returned to the caller
+     * @param currentAttempt
+     *      exchange or scheduled retry in progress, cancelled with the result
+     */
+    private void sendAsyncAttempt(SimpleHttpRequest req, boolean mandatory, RetryPolicy policy, Deadline deadline, Span parent, int attempt,
+                                  CompletableFuture<ApiResponseHttp> result, AtomicReference<Future<?>> currentAttempt) {
+        if (result.isDone()) {
+            return;
+        }
+        final AttemptContext ctx;
+        try {
+            ctx = startAttempt(req, parent, attempt);
+        } catch (CircuitBreakerOpenException open) {
+            result.completeExceptionally(open);
+            return;
+        }
+        final Future<SimpleHttpResponse> exchange;
+        try {
+            exchange = transport.execute(req, new FutureCallback<SimpleHttpResponse>() {
+
+                /** {@inheritDoc} */
+                @Override
+                public void completed(SimpleHttpResponse response) {
+                    if (response == null) {
+                        ctx.end(HttpMetrics.STATUS_ERROR, -1);
+                    } else {
+                        ctx.end(response.getCode(), response.getBodyBytes() == null ? 0 : response.getBodyBytes().length);
+                    }
+                    try {
+                        ApiResponseHttp res;
+                        if (response == null) {
+                            res = new ApiResponseHttp("Response is empty, please check url",
+                                    HttpURLConnection.HTTP_UNAVAILABLE);
+                        } else {
+                            Duration delay = retryDelay(policy, deadline, req, attempt, response.getCode(),
+                                    headerValue(response.getFirstHeader(RetryPolicy.HEADER_RETRY_AFTER)), null);
+                            if (delay != null) {
+                                scheduleAsyncAttempt(req, mandatory, policy, deadline, parent, attempt + 1, result, currentAttempt, delay);
+                                return;
+                            }
+                            res = new ApiResponseHttp(response.getBodyText(), response.getCode(), response.getHeaders());
+                        }
+                        result.complete(validateResponse(res, req, mandatory));
+                    } catch (RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public void failed(Exception e) {
+                    ctx.fail(e);
+                    Duration delay = retryDelay(policy, deadline, req, attempt, -1, null, e);
+                    if (delay != null) {
+                        scheduleAsyncAttempt(req, mandatory, policy, deadline, parent, attempt + 1, result, currentAttempt, delay);
+                    } else {
+                        result.completeExceptionally(new RuntimeException("Error in HTTP Request: " + e.getMessage(), e));
+                    }
+                }
+
+                /** {@inheritDoc} */
+                @Override
+                public void cancelled() {
+                    ctx.end(HttpMetrics.STATUS_CANCELLED, -1);
+                    result.cancel(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Closed or shut down client, the callback will never be invoked
+            ctx.fail(e);
+            result.completeExceptionally(e);
+            return;
+        }
+        currentAttempt.set(exchange);
+        if (result.isCancelled()) {
+            exchange.cancel(true);
+        }
+    }
+
+    /**
+     * Schedule a new attempt of a non-blocking request without holding any thread.
+     *
+     * @param req
+     *      current request
+     * @param mandatory
+     *      allow 404 errors
+     * @param policy
+     *      retry settings
+     * @param deadline
+     *      deadline of the call, can be null
+     * @param parent
+     *      span current when the call started, can be null
+     * @param attempt
+     *      next attempt
+     * @param result
+     *      future returned to the caller
+     * @param currentAttempt
+     *      exchange or scheduled retry in progress
+     * @param delay
+     *      delay before the attempt
+     */
+    private void scheduleAsyncAttempt(SimpleHttpRequest req, boolean mandatory, RetryPolicy policy, Deadline deadline, Span parent, int attempt,
+                                      CompletableFuture<ApiResponseHttp> result, AtomicReference<Future<?>> currentAttempt,
+                                      Duration delay) {
+        currentAttempt.set(getScheduler().schedule(
+                () -> executeAsyncAttempt(req, mandatory, policy, deadline, parent, attempt, result, currentAttempt),
+                delay.toMillis(), TimeUnit.MILLISECONDS));
+        if (result.isCancelled()) {
+            currentAttempt.get().cancel(false);
+        }
+    }
+
+    /**
+     * Main Method executing HTTP Request.
+     * 
+     * @param method
+     *      http method
+     * @param url
+     *      url
+     * @param token
+     *      authentication token
+     * @param contentType
+     *      request content type
+     * @param reqBody
+     *      request body
+     * @param mandatory
+     *      allow 404 errors
+     * @return
+     *      basic request
+     */
+    public ApiResponseHttp executeHttp(final Method method, final String url, final String token, String reqBody, String contentType, boolean mandatory) {
+        return executeHttp(buildRequest(method, url, token, reqBody, contentType), mandatory);
+    }
+    
+    /**
+     * Execute a request coming from elsewhere.
+     * 
+     * @param req
+     *      current request
+     * @param mandatory
+     *      mandatory
+     * @return
+     *      api response
+     */
+    public ApiResponseHttp executeHttp(HttpUriRequestBase req, boolean mandatory) {
+        registerRoute(req);
+        final RequestTimingsListener listener = timingsListener;
+        final RequestTimings timings = (listener == null) ? null :
+                new RequestTimings(req.getMethod(), requestHost(req), Utils.pathTemplate(req.getPath()), listener);
+        ACTIVE_TIMINGS.set(timings);
+        try(ClassicHttpResponse response = executeWithRetries(req)) {
+            ApiResponseHttp res;
+            if (response == null) {
+                res = new ApiResponseHttp("Response is empty, please check url",
+                        HttpURLConnection.HTTP_UNAVAILABLE);
+            } else {
+                // Mapping response, headers are only copied when requested
+                final long bodyStart = System.nanoTime();
+                String body = ResponseBodyReader.read(response.getEntity());
+                res = new ApiResponseHttp(body, response.getCode(), response.getHeaders());
+                if (timings != null) {
+                    res.setTimings(timings);
+                    timings.onBodyRead(System.nanoTime() - bodyStart, body);
+                }
+            }
+            return validateResponse(res, req, mandatory);
+        } catch (IllegalArgumentException | RateLimitExceededException
+                | DeadlineExceededException | CircuitBreakerOpenException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error in HTTP Request: " + e.getMessage(), e);
+        } finally {
+            ACTIVE_TIMINGS.remove();
+        }
+    }
+
+    /**
+     * Execute a blocking request, transient errors are retried based on the retry policy.
+     * When a {@link Deadline} is bound to the thread, no attempt is sent after it expires.
+     * The caller is responsible for closing the response.
+     *
+     * @param req
+     *      current request
+     * @return
+     *      http response of the last attempt
+     * @throws IOException
+     *      error of the last attempt
+     */
+    private ClassicHttpResponse executeWithRetries(HttpUriRequestBase req) throws IOException {
+        final RetryPolicy policy = retryPolicy;
+        final Deadline deadline = Deadline.current();
+        final RequestConfig config = (req.getConfig() != null) ? req.getConfig() : requestConfig;
+        policy.getBudget().onRequest();
+        int attempt = 1;
+        while (true) {
+            if (deadline != null) {
+                deadline.check("sending " + req.getMethod() + " " + requestUrl(req));
+                req.setConfig(withDeadline(config, deadline));
+            }
+            acquirePermit(req, deadline);
+            final AttemptContext ctx = startAttempt(req, Tracing.current(), attempt);
+            Duration delay;
+            try {
+                ClassicHttpResponse response = transport.execute(req);
+                ctx.end(response.getCode(), response.getEntity() == null ? 0 : response.getEntity().getContentLength());
+                delay = retryDelay(policy, deadline, req, attempt, response.getCode(),
+                        headerValue(response.getFirstHeader(RetryPolicy.HEADER_RETRY_AFTER)), null);
+                if (delay == null) {
+                    return response;
+                }
+                EntityUtils.consumeQuietly(response.getEntity());
+                closeQuietly(response);
+            } catch (RuntimeException re) {
+                ctx.fail(re);
+                throw re;
+            } catch (IOException ioe) {
+                ctx.fail(ioe);
+                delay = retryDelay(policy, deadline, req, attempt, -1, null, ioe);
+                if (delay == null) {
+                    throw ioe;
+                }
+            }
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a retry");
+            }
+            attempt++;
+        }
+    }
+
+    /**
+     * Cap the timeouts of a request with the time left before the deadline.
+     *
+     * @param config
+     *      configuration of the request
+     * @param deadline
+     *      deadline of the call
+     * @return
+     *      configuration for the next attempt
+     */
+    private static RequestConfig withDeadline(RequestConfig config, Deadline deadline) {
+        return RequestConfig.copy(config)
+                .setResponseTimeout(capTimeout(config.getResponseTimeout(), deadline))
+                .setConnectionRequestTimeout(capTimeout(config.getConnectionRequestTimeout(), deadline))
+                .build();
+    }
+
+    /**
+     * Cap a timeout with the time left before the deadline.
+     *
+     * @param timeout
+     *      configured timeout, null or disabled means infinite
+     * @param deadline
+     *      deadline of the call
+     * @return
+     *      timeout of at least one millisecond, zero would disable it
+     */
+    private static Timeout capTimeout(Timeout timeout, Deadline deadline) {
+        Duration configured = (timeout == null || timeout.isDisabled()) ? null : Duration.ofMillis(timeout.toMilliseconds());
+        return Timeout.ofMilliseconds(Math.max(1, deadline.cap(configured).toMillis()));
+    }
+
+    /**
+     * Wait for a permit of the rate limiter if one is configured, never past the deadline.
+     *
+     * @param req
+     *      current request
+     * @param deadline
+     *      deadline of the call, can be null
+     * @throws DeadlineExceededException
+     *      when no permit can be granted before the deadline
+     */
+    private void acquirePermit(HttpRequest req, Deadline deadline) {
+        final RateLimiter limiter = rateLimiter;
+        if (limiter == null) {
+            return;
+        }
+        final Duration remaining = permitTimeout(limiter, deadline);
+        if (remaining == null) {
+            limiter.acquire(rateLimitKey(req));
+        } else if (!limiter.tryAcquire(rateLimitKey(req), remaining)) {
+            throw permitDeadlineExceeded(req);
+        }
+    }
+
+    /**
+     * Time left to wait for a permit when the deadline is closer than the max wait of the
+     * rate limiter.
+     *
+     * @param limiter
+     *      rate limiter
+     * @param deadline
+     *      deadline of the call, can be null
+     * @return
+     *      remaining time, null when the max wait applies
+     */
+    private static Duration permitTimeout(RateLimiter limiter, Deadline deadline) {
+        if (deadline == null) {
+            return null;
+        }
+        Duration remaining = deadline.timeRemaining();
+        return (remaining.compareTo(limiter.getMaxWait()) < 0) ? remaining : null;
+    }
+
+    /**
+     * Error raised when a permit cannot be granted before the deadline.
+     *
+     * @param req
+     *      current request
+     * @return
+     *      deadline error
+     */
+    private DeadlineExceededException permitDeadlineExceeded(HttpRequest req) {
+        return new DeadlineExceededException("Deadline exceeded waiting for a permit to send "
+                + req.getMethod() + " " + requestUrl(req));
+    }
+
+    /**
+     * Start an attempt: the circuit breaker, if one is configured, has to let it through
+     * and a client span is started.
+     *
+     * @param req
+     *      current request
+     * @param parent
+     *      parent span, can be null
+     * @param attempt
+     *      current attempt, starting at 1
+     * @return
+     *      attempt to notify with the outcome
+     */
+    private AttemptContext startAttempt(HttpRequest req, Span parent, int attempt) {
+        final AttemptContext ctx = new AttemptContext(req, circuitBreaker, metrics);
+        if (ctx.breaker != null) {
+            ctx.breaker.acquire(ctx.host + ctx.pathTemplate);
+        }
+        ctx.metrics.onRequestStarted(req.getMethod(), ctx.host, ctx.pathTemplate);
+        final Tracer requestTracer = tracer;
+        if (requestTracer != Tracer.NONE) {
+            ctx.span = requestTracer.startSpan(req.getMethod() + " " + ctx.pathTemplate, SpanKind.CLIENT, parent);
+            ctx.span.setAttribute("http.request.method", req.getMethod());
+            ctx.span.setAttribute("server.address", ctx.host);
+            ctx.span.setAttribute("url.template", ctx.pathTemplate);
+            if (attempt > 1) {
+                ctx.span.setAttribute("http.request.resend_count", attempt - 1);
+            }
+            injectTraceContext(req, ctx.span);
+        }
+        ctx.event = JfrSupport.beginHttpExchange();
+        ctx.start = System.nanoTime();
+        return ctx;
+    }
+
+    /**
+     * Attempt in progress, its outcome is sent to the circuit breaker, the metrics, the
+     * flight recorder and the tracer.
+     */
+    private static final class AttemptContext {
+
+        /** Current request. */
+        private final HttpRequest req;
+
+        /** Circuit breaker, can be null. */
+        private final CircuitBreaker breaker;
+
+        /** Metrics. */
+        private final HttpMetrics metrics;
+
+        /** Target host. */
+        private final String host;
+
+        /** Path with identifiers replaced. */
+        private final String pathTemplate;
+
+        /** Start of the attempt in nanoseconds. */
+        private long start;
+
+        /** Flight recorder event, null when not available. */
+        private HttpExchangeEvent event;
+
+        /** Client span of the attempt. */
+        private Span span = Span.NOOP;
+
+        /**
+         * Constructor.
+         *
+         * @param req
+         *      current request
+         * @param breaker
+         *      circuit breaker, can be null
+         * @param metrics
+         *      metrics
+         */
+        private AttemptContext(HttpRequest req, CircuitBreaker breaker, HttpMetrics metrics) {
+            this.req          = req;
+            this.breaker      = breaker;
+            this.metrics      = metrics;
+            this.host         = requestHost(req);
+            this.pathTemplate = Utils.pathTemplate(req.getPath());
+        }
+
+        /**
+         * Notify the outcome of the attempt.
+         *
+         * @param status
+         *      http code, {@link HttpMetrics#STATUS_ERROR} or {@link HttpMetrics#STATUS_CANCELLED}
+         * @param responseBytes
+         *      size of the response body, -1 when unknown
+         */
+        private void end(int status, long responseBytes) {
+            final long duration = System.nanoTime() - start;
+            if (breaker != null) {
+                if (status == HttpMetrics.STATUS_CANCELLED) {
+                    breaker.release(host + pathTemplate);
+                } else {
+                    breaker.onResult(host + pathTemplate, duration, status == HttpMetrics.STATUS_ERROR || status >= 500);
+                }
+            }
+            metrics.onRequestCompleted(req.getMethod(), host, pathTemplate, status, duration);
+            RequestTimings timings = ACTIVE_TIMINGS.get();
+            if (timings != null) {
+                timings.addAttempt(duration, status);
+            }
+            if (event != null) {
+                event.complete(req.getMethod(), host, pathTemplate, status, responseBytes);
+            }
+            if (status > 0) {
+                span.setAttribute("http.response.status_code", status);
+            }
+            if (status >= 500 || status == HttpMetrics.STATUS_ERROR) {
+                span.setAttribute("error.type", status > 0 ? String.valueOf(status) : "IO_ERROR");
+            }
+            span.end();
+        }
+
+        /**
+         * Notify the failure of the attempt.
+         *
+         * @param error
+         *      cause of the failure
+         */
+        private void fail(Throwable error) {
+            span.recordError(error);
+            end(HttpMetrics.STATUS_ERROR, -1);
+        }
+    }
+
+    /**
+     * Send the W3C trace context of a span with the request, retries replace the headers.
+     *
+     * @param req
+     *      current request
+     * @param span
+     *      client span of the attempt
+     */
+    private static void injectTraceContext(HttpRequest req, Span span) {
+        String traceParent = span.getTraceParent();
+        if (traceParent != null) {
+            req.setHeader(Tracing.HEADER_TRACEPARENT, traceParent);
+            String traceState = span.getTraceState();
+            if (traceState != null) {
+                req.setHeader(Tracing.HEADER_TRACESTATE, traceState);
+            }
+        }
+    }
+
+    /**
+     * Host of a request.
+     *
+     * @param req
+     *      current request
+     * @return
+     *      host name
+     */
+    private static String requestHost(HttpRequest req) {
+        return (req.getAuthority() == null) ? "" : req.getAuthority().getHostName();
+    }
+
+    /**
+     * Requests are limited per token and per host.
+     *
+     * @param req
+     *      current request
+     * @return
+     *      rate limiter key
+     */
+    private String rateLimitKey(HttpRequest req) {
+        Header auth = req.getFirstHeader(HEADER_AUTHORIZATION);
+        String token = (auth == null) ? "" : auth.getValue().replaceFirst("^Bearer ", "");
+        return RateLimiter.key(token, requestHost(req));
+    }
+
+    /**
+     * Evaluate if an attempt should be retried.
+     *
+     * @param policy
+     *      retry settings
+     * @param deadline
+     *      deadline of the call, can be null
+     * @param req
+     *      current request
+     * @param attempt
+     *      attempt that just completed
+     * @param code
+     *      http code, -1 when the attempt failed with an error
+     * @param retryAfter
+     *      value of the Retry-After header if any
+     * @param error
+     *      error raised by the attempt if any
+     * @return
+     *      delay before the next attempt, or null if no retry should happen
+     */
+    private Duration retryDelay(RetryPolicy policy, Deadline deadline, HttpRequest req, int attempt, int code, String retryAfter, Exception error) {
+        if (!policy.isRetryable(req.getMethod(), req.getPath())) {
+            return null;
+        }
+        if (error != null ? !policy.isRetryableException(error) : !policy.isRetryableStatus(code)) {
+            return null;
+        }
+        Duration delay = policy.nextDelay(attempt, retryAfter);
+        if (delay == null || (deadline != null && delay.compareTo(deadline.timeRemaining()) >= 0)) {
+            return null;
+        }
+        if (!policy.getBudget().tryAcquire()) {
+            return null;
+        }
+        LOGGER.info("Retrying request, url={}, method={}, attempt={}, delay={}ms, cause={}",
+                requestUrl(req), req.getMethod(), attempt + 1, delay.toMillis(),
+                error != null ? error.getMessage() : "http:" + code);
+        return delay;
+    }
+
+    /**
+     * Value of an optional header.
+     *
+     * @param header
+     *      header
+     * @return
+     *      header value or null
+     */
+    private static String headerValue(Header header) {
+        return (header == null) ? null : header.getValue();
+    }
+
+    /**
+     * Full url of a request for logging purpose.
+     *
+     * @param req
+     *      current request
+     * @return
+     *      request url
+     */
+    private String requestUrl(HttpRequest req) {
+        try {
+            return req.getUri().toString();
+        } catch (URISyntaxException e) {
+            return req.getRequestUri();
+        }
+    }
+
+    /**
+     * Error management shared by blocking and non-blocking executions.
+     *
+     * The request url is only computed to log an error.
+     *
+     * @param res
+     *      http response
+     * @param req
+     *      http request
+     * @param mandatory
+     *      allow 404 errors
+     * @return
+     *      the response when no error has been detected
+     */
+    private ApiResponseHttp validateResponse(ApiResponseHttp res, HttpRequest req, boolean mandatory) {
+        if (HttpURLConnection.HTTP_NOT_FOUND == res.getCode() && !mandatory) {
+            return res;
+        }
+        if (HttpURLConnection.HTTP_NOT_MODIFIED == res.getCode()) {
+            // Answer to a conditional request sent by the response cache
+            return res;
+        }
+        if (res.getCode() >= 300) {
+          LOGGER.error("Error for request, url={}, method={}, code={}, body={}",
+                  requestUrl(req), req.getMethod(), res.getCode(), res.getBody());
+          processErrors(res, mandatory);
+          LOGGER.error("An HTTP Error occurred. The HTTP CODE Return is {}", res.getCode());
+        }
+        return res;
+    }
+
+    /**
+     * Initialize an HTTP request against Stargate.
+     * 
+     * @param method
+     *      http Method
+     * @param url
+     *      target URL
+     * @param token
+     *      current token
+     * @return
+     *      default http with header
+     */
+    private HttpUriRequestBase buildRequest(final Method method, final String url, final String token, String body, String contentType) {
+        HttpUriRequestBase req;
+        switch(method) {
+            case GET:    req = new HttpGet(url);    break;
             case POST:   req = new HttpPost(url);   break;
             case PUT:    req = new HttpPut(url);    break;
             case DELETE: req = new HttpDelete(url); break;
@@ -385,16 +2871,110 @@ public class HttpClientWrapper {
             case CONNECT:
             default:throw new IllegalArgumentException("Invalid HTTP Method");
         }
+        addDefaultHeaders(req, token, contentType);
+        req.setConfig(requestConfig);
+        if (null != body) {
+            req.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        }
+        return req;
+    }
+
+    /**
+     * Initialize an HTTP request with a JSON body streamed when the request is sent.
+     *
+     * @param method
+     *      http Method
+     * @param url
+     *      target URL
+     * @param token
+     *      current token
+     * @param body
+     *      request body
+     * @return
+     *      default http with header
+     */
+    private HttpUriRequestBase buildRequest(final Method method, final String url, final String token, JsonBody body) {
+        HttpUriRequestBase req = buildRequest(method, url, token, null, CONTENT_TYPE_JSON);
+        req.setEntity(body.toEntity());
+        return req;
+    }
+
+    /**
+     * Initialize a non-blocking HTTP request.
+     *
+     * @param method
+     *      http Method
+     * @param url
+     *      target URL
+     * @param token
+     *      current token
+     * @param body
+     *      request body
+     * @param contentType
+     *      request content type
+     * @return
+     *      default http with header
+     */
+    private SimpleHttpRequest buildAsyncRequest(final Method method, final String url, final String token, String body, String contentType) {
+        switch(method) {
+            case GET:
+            case POST:
+            case PUT:
+            case DELETE:
+            case PATCH:
+            case HEAD:
+            case TRACE:
+                break;
+            case OPTIONS:
+            case CONNECT:
+            default:throw new IllegalArgumentException("Invalid HTTP Method");
+        }
+        SimpleHttpRequest req = SimpleHttpRequest.create(method, URI.create(url));
+        addDefaultHeaders(req, token, contentType);
+        req.setConfig(requestConfig);
+        if (null != body) {
+            req.setBody(body, ContentType.APPLICATION_JSON);
+        }
+        return req;
+    }
+
+    /**
+     * Initialize a non-blocking HTTP request with a JSON body, the client expects the body
+     * as bytes.
+     *
+     * @param method
+     *      http Method
+     * @param url
+     *      target URL
+     * @param token
+     *      current token
+     * @param body
+     *      request body
+     * @return
+     *      default http with header
+     */
+    private SimpleHttpRequest buildAsyncRequest(final Method method, final String url, final String token, JsonBody body) {
+        SimpleHttpRequest req = buildAsyncRequest(method, url, token, null, CONTENT_TYPE_JSON);
+        req.setBody(body.toByteArray(), ContentType.APPLICATION_JSON);
+        return req;
+    }
+
+    /**
+     * Headers expected by the Devops API.
+     *
+     * @param req
+     *      current request
+     * @param token
+     *      current token
+     * @param contentType
+     *      request content type
+     */
+    private void addDefaultHeaders(HttpRequest req, String token, String contentType) {
         req.addHeader(HEADER_CONTENT_TYPE, contentType);
         req.addHeader(HEADER_ACCEPT, CONTENT_TYPE_JSON);
         req.addHeader(HEADER_USER_AGENT, REQUEST_WITH);
         req.addHeader(HEADER_REQUESTED_WITH, REQUEST_WITH);
         req.addHeader(HEADER_AUTHORIZATION, "Bearer " + token);
-        req.setConfig(requestConfig);
-        if (null != body) {
-            req.setEntity(new StringEntity(body, ContentType.TEXT_PLAIN));
-        }
-        return req;
     }
 
     /**
@@ -0,0 +1,95 @@
+package com.dtsx.astra.sdk.utils;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/**
+ * Metrics SPI of {@link HttpClientWrapper}, notified for each exchange sent to the server.
+ *
+ * <p>Paths are reported as templates, identifiers being replaced by <code>{id}</code>
+ * (see {@link Utils#pathTemplate(String)}), to keep the cardinality of tags bounded.
+ * Implementations bridge the events to a metrics library, like a Micrometer
+ * <code>MeterRegistry</code>, and are discovered with the {@link ServiceLoader} when present
+ * on the classpath. {@link HttpMetricsRegistry} keeps them in memory. Without
+ * implementation nothing is recorded.</p>
+ */
+public interface HttpMetrics {
+
+    /** Status reported when the exchange failed with an error. */
+    int STATUS_ERROR = -1;
+
+    /** Status reported when the exchange was cancelled. */
+    int STATUS_CANCELLED = 0;
+
+    /** No-op implementation. */
+    HttpMetrics NONE = new HttpMetrics() {};
+
+    /**
+     * An exchange is sent, increments the in-flight requests.
+     *
+     * @param method
+     *      http method
+     * @param host
+     *      target host
+     * @param pathTemplate
+     *      path with identifiers replaced
+     */
+    default void onRequestStarted(String method, String host, String pathTemplate) {}
+
+    /**
+     * An exchange completed, decrements the in-flight requests.
+     *
+     * @param method
+     *      http method
+     * @param host
+     *      target host
+     * @param pathTemplate
+     *      path with identifiers replaced
+     * @param status
+     *      http code, {@link #STATUS_ERROR} or {@link #STATUS_CANCELLED}
+     * @param durationNanos
+     *      duration of the exchange
+     */
+    default void onRequestCompleted(String method, String host, String pathTemplate, int status, long durationNanos) {}
+
+    /**
+     * Register a connection pool to be exposed as gauges.
+     *
+     * @param name
+     *      name of the pool
+     * @param stats
+     *      current statistics of the pool
+     */
+    default void bindConnectionPool(String name, Supplier<ConnectionPoolStats> stats) {}
+
+    /**
+     * Class of an http status used as tag: <code>2xx</code>, <code>4xx</code>...
+     *
+     * @param status
+     *      http code, {@link #STATUS_ERROR} or {@link #STATUS_CANCELLED}
+     * @return
+     *      status class
+     */
+    static String statusClass(int status) {
+        if (status == STATUS_ERROR) {
+            return "IO_ERROR";
+        }
+        if (status == STATUS_CANCELLED) {
+            return "CANCELLED";
+        }
+        return (status / 100) + "xx";
+    }
+
+    /**
+     * First implementation available with the {@link ServiceLoader}.
+     *
+     * @return
+     *      implementation found or {@link #NONE}
+     */
+    static HttpMetrics discover() {
+        Iterator<HttpMetrics> it = ServiceLoader.load(HttpMetrics.class).iterator();
+        return it.hasNext() ? it.next() : NONE;
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.dtsx.astra.sdk.utils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-memory implementation of {@link HttpMetrics}.
+ *
+ * <p>A timer is kept per method, host, path template and status class with a count, a
+ * total, a maximum and a histogram to estimate percentiles. Histogram buckets double from
+ * one millisecond to about one minute: a percentile is the upper bound of its bucket.
+ * In-flight requests are counted per host and connection pools are read when asked.</p>
+ */
+public class HttpMetricsRegistry implements HttpMetrics {
+
+    /** Upper bounds of the histogram buckets, in nanoseconds. */
+    private static final long[] BUCKETS = new long[17];
+
+    static {
+        for (int i = 0; i < BUCKETS.length; i++) {
+            BUCKETS[i] = TimeUnit.MILLISECONDS.toNanos(1L << i);
+        }
+    }
+
+    /** Timers per tags. */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /** Requests in progress per host. */
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    /** Connection pools. */
+    private final Map<String, Supplier<ConnectionPoolStats>> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor.
+     */
+    public HttpMetricsRegistry() {}
+
+    /**
+     * Key of a timer.
+     *
+     * @param method
+     *      http method
+     * @param host
+     *      target host
+     * @param pathTemplate
+     *      path template
+     * @param statusClass
+     *      status class
+     * @return
+     *      key of the timer
+     */
+    public static String key(String method, String host, String pathTemplate, String statusClass) {
+        return method + " " + host + pathTemplate + " " + statusClass;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onRequestStarted(String method, String host, String pathTemplate) {
+        inFlight.computeIfAbsent(host, h -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onRequestCompleted(String method, String host, String pathTemplate, int status, long durationNanos) {
+        AtomicInteger counter = inFlight.get(host);
+        if (counter != null) {
+            counter.decrementAndGet();
+        }
+        timers.computeIfAbsent(key(method, host, pathTemplate, HttpMetrics.statusClass(status)), k -> new Timer())
+              .record(durationNanos);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bindConnectionPool(String name, Supplier<ConnectionPoolStats> stats) {
+        pools.put(name, stats);
+    }
+
+    /**
+     * Access a timer.
+     *
+     * @param method
+     *      http method
+     * @param host
+     *      target host
+     * @param pathTemplate
+     *      path template
+     * @param statusClass
+     *      status class like <code>2xx</code>
+     * @return
+     *      timer or null if no exchange has been recorded
+     */
+    public Timer getTimer(String method, String host, String pathTemplate, String statusClass) {
+        return timers.get(key(method, host, pathTemplate, statusClass));
+    }
+
+    /**
+     * Every timer, sorted by key.
+     *
+     * @return
+     *      timers per key
+     */
+    public Map<String, Timer> getTimers() {
+        return new TreeMap<>(timers);
+    }
+
+    /**
+     * Requests in progress to a host.
+     *
+     * @param host
+     *      target host
+     * @return
+     *      in-flight requests
+     */
+    public int getInFlight(String host) {
+        AtomicInteger counter = inFlight.get(host);
+        return (counter == null) ? 0 : counter.get();
+    }
+
+    /**
+     * Current statistics of the connection pools.
+     *
+     * @return
+     *      statistics per pool name
+     */
+    public Map<String, ConnectionPoolStats> getConnectionPools() {
+        Map<String, ConnectionPoolStats> stats = new TreeMap<>();
+        pools.forEach((name, supplier) -> stats.put(name, supplier.get()));
+        return stats;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "HttpMetricsRegistry{timers=" + getTimers() + ", inFlight=" + inFlight + "}";
+    }
+
+    /**
+     * Latencies of the exchanges with the same tags.
+     */
+    public static final class Timer {
+
+        /** Exchanges recorded. */
+        private final LongAdder count = new LongAdder();
+
+        /** Sum of durations. */
+        private final LongAdder totalNanos = new LongAdder();
+
+        /** Maximum duration. */
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        /** Exchanges per bucket, the last one holds the overflow. */
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS.length + 1);
+
+        /**
+         * Record a duration.
+         *
+         * @param durationNanos
+         *      duration
+         */
+        void record(long durationNanos) {
+            count.increment();
+            totalNanos.add(durationNanos);
+            maxNanos.accumulateAndGet(durationNanos, Math::max);
+            int bucket = 0;
+            while (bucket < BUCKETS.length && durationNanos > BUCKETS[bucket]) {
+                bucket++;
+            }
+            histogram.incrementAndGet(bucket);
+        }
+
+        /**
+         * Number of exchanges.
+         *
+         * @return
+         *      count
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Sum of durations.
+         *
+         * @return
+         *      total time
+         */
+        public Duration getTotalTime() {
+            return Duration.ofNanos(totalNanos.sum());
+        }
+
+        /**
+         * Longest exchange.
+         *
+         * @return
+         *      maximum duration
+         */
+        public Duration getMax() {
+            return Duration.ofNanos(maxNanos.get());
+        }
+
+        /**
+         * Estimate a percentile with the histogram.
+         *
+         * @param p
+         *      percentile between 0 and 1
+         * @return
+         *      upper bound of the bucket holding the percentile
+         */
+        public Duration getPercentile(double p) {
+            Assert.isTrue(p >= 0 && p <= 1, "Percentile should be between 0 and 1");
+            long total = 0;
+            long[] counts = new long[histogram.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = histogram.get(i);
+                total    += counts[i];
+            }
+            long rank = (long) Math.ceil(p * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return Duration.ofNanos(Math.min(BUCKETS[i], maxNanos.get()));
+                }
+            }
+            return getMax();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return "{count=" + getCount() + ", max=" + getMax().toMillis() + "ms, p50="
+                    + getPercentile(0.5).toMillis() + "ms, p99=" + getPercentile(0.99).toMillis() + "ms}";
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Future;
+
+/**
+ * Transport executing the http exchanges of {@link HttpClientWrapper}.
+ *
+ * <p>The wrapper builds the requests and handles errors, retries, rate limiting and caching,
+ * the transport only moves bytes. The default transport relies on pooled HTTP/1.1
+ * connections, {@link Http2Transport} multiplexes the requests over HTTP/2. Another
+ * implementation can be provided with {@link HttpClientWrapper.HttpClientWrapperBuilder#transport(HttpTransport)}.</p>
+ */
+public interface HttpTransport extends Closeable {
+
+    /**
+     * Name of the transport for logging purpose.
+     *
+     * @return
+     *      transport name
+     */
+    String getName();
+
+    /**
+     * Execute a request and block until the response headers are received.
+     *
+     * @param request
+     *      http request
+     * @return
+     *      http response, the caller is responsible for closing it
+     * @throws IOException
+     *      communication error
+     */
+    ClassicHttpResponse execute(ClassicHttpRequest request) throws IOException;
+
+    /**
+     * Execute a request without blocking the caller thread.
+     *
+     * @param request
+     *      http request
+     * @param callback
+     *      notified when the exchange completes, fails or is cancelled
+     * @return
+     *      future response, cancelling it aborts the exchange
+     */
+    Future<SimpleHttpResponse> execute(SimpleHttpRequest request, FutureCallback<SimpleHttpResponse> callback);
+
+}
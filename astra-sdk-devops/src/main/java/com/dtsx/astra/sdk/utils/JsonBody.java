@@ -0,0 +1,180 @@
+package com.dtsx.astra.sdk.utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * JSON body of a request, written with a {@link JsonGenerator} straight to the connection as
+ * UTF-8 bytes: no intermediate String or char array is built.
+ *
+ * <p>The body is written again for each attempt, retries and hedged requests resend it.
+ * Beans are written with the cached writers of {@link JsonUtils}, small payloads can be
+ * written field by field with {@link #of(Writer)}.</p>
+ */
+public final class JsonBody {
+
+    /** Content type of the bodies. */
+    private static final ContentType CONTENT_TYPE = ContentType.APPLICATION_JSON;
+
+    /** Writes the JSON document. */
+    private final Writer writer;
+
+    /**
+     * Constructor.
+     *
+     * @param writer
+     *      writes the JSON document
+     */
+    private JsonBody(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Body serializing a bean, a collection or a map.
+     *
+     * @param value
+     *      value to serialize
+     * @return
+     *      request body
+     */
+    public static JsonBody of(Object value) {
+        Assert.notNull(value, "value");
+        return new JsonBody(generator -> JsonUtils.writerFor(value.getClass()).writeValue(generator, value));
+    }
+
+    /**
+     * Body written field by field.
+     *
+     * @param writer
+     *      writes the JSON document
+     * @return
+     *      request body
+     */
+    public static JsonBody of(Writer writer) {
+        Assert.notNull(writer, "writer");
+        return new JsonBody(writer);
+    }
+
+    /**
+     * Write the body as UTF-8.
+     *
+     * @param out
+     *      target stream, not closed
+     * @throws IOException
+     *      error writing the body
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        try (JsonGenerator generator = JsonUtils.getObjectMapper().getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writer.write(generator);
+        }
+    }
+
+    /**
+     * Body as UTF-8 bytes, for clients expecting a buffered body.
+     *
+     * @return
+     *      bytes of the body
+     */
+    public byte[] toByteArray() {
+        try (ByteArrayBuilder bytes = new ByteArrayBuilder()) {
+            writeTo(bytes);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write request body", e);
+        }
+    }
+
+    /**
+     * Entity streaming the body, repeatable.
+     *
+     * @return
+     *      http entity
+     */
+    public HttpEntity toEntity() {
+        return new Entity(this);
+    }
+
+    /**
+     * Writes a JSON document.
+     */
+    @FunctionalInterface
+    public interface Writer {
+
+        /**
+         * Write the document.
+         *
+         * @param generator
+         *      target generator, closed by the caller
+         * @throws IOException
+         *      error writing the document
+         */
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * Entity writing the body when the request is sent, with chunked transfer encoding.
+     */
+    private static final class Entity extends AbstractHttpEntity {
+
+        /** Body. */
+        private final JsonBody body;
+
+        /**
+         * Constructor.
+         *
+         * @param body
+         *      body
+         */
+        private Entity(JsonBody body) {
+            super(CONTENT_TYPE, null, true);
+            this.body = body;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            body.writeTo(out);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public InputStream getContent() {
+            return new ByteArrayInputStream(body.toByteArray());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {
+            // Nothing to release
+        }
+    }
+}
@@ -16,26 +16,62 @@
 
 package com.dtsx.astra.sdk.utils;
 
+import com.dtsx.astra.sdk.utils.jfr.JfrSupport;
+import com.dtsx.astra.sdk.utils.jfr.JsonDecodeEvent;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Custom implementation of serialization : faster + no jackson dependency
+ *
+ * <p>Readers and writers are resolved once per type and reused, see {@link #readerFor(TypeReference)}.
+ * A bytecode generating accessor backend of Jackson can be enabled with the system property
+ * {@value #PROPERTY_ACCESSOR_BACKEND}: <code>blackbird</code>, <code>afterburner</code> or
+ * <code>auto</code> (first available), the module must be on the classpath.</p>
  * 
  * @author Cedrick Lunven (@clunven)
  */
 @SuppressWarnings("deprecation")
 public class JsonUtils {
+
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonUtils.class);
+
+    /** System property selecting the accessor backend. */
+    public static final String PROPERTY_ACCESSOR_BACKEND = "astra.sdk.json.accessors";
+
+    /** No accessor backend, Jackson uses reflection. */
+    public static final String ACCESSOR_BACKEND_NONE = "none";
+
+    /** Blackbird module, method handles (Java 11+). */
+    private static final String MODULE_BLACKBIRD = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    /** Afterburner module, generated classes. */
+    private static final String MODULE_AFTERBURNER = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
     
     /** Object to Json marshaller as a Jackson Mapper. */
     private static final ObjectMapper objectMapper = new ObjectMapper()
@@ -49,6 +85,19 @@ public class JsonUtils {
                 .setDateFormat(new SimpleDateFormat("dd/MM/yyyy"))
                 .setSerializationInclusion(Include.NON_NULL)
                 .setAnnotationIntrospector(new JacksonAnnotationIntrospector());
+
+    /** Accessor backend registered on the mapper. */
+    private static final String accessorBackend =
+            registerAccessorBackend(System.getProperty(PROPERTY_ACCESSOR_BACKEND, ACCESSOR_BACKEND_NONE));
+
+    /** Readers per target type. */
+    private static final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /** Readers of lists per element class. */
+    private static final Map<Class<?>, ObjectReader> listReaders = new ConcurrentHashMap<>();
+
+    /** Writers per value class. */
+    private static final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
     
     /**
      * Default constructor
@@ -191,6 +240,131 @@ public class JsonUtils {
     public static ObjectMapper getObjectMapper() {
         return objectMapper;
     }
+
+    /**
+     * Reader for a type, created on first use. Readers keep the configuration of the mapper
+     * at creation time.
+     *
+     * @param ref
+     *      type reference
+     * @return
+     *      reader for the type
+     */
+    public static ObjectReader readerFor(TypeReference<?> ref) {
+        ObjectReader reader = readers.get(ref.getType());
+        if (reader == null) {
+            reader = readers.computeIfAbsent(ref.getType(),
+                    type -> objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type)));
+        }
+        return reader;
+    }
+
+    /**
+     * Reader for a class, created on first use.
+     *
+     * @param type
+     *      target class
+     * @return
+     *      reader for the class
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = readers.computeIfAbsent(type, t -> objectMapper.readerFor((Class<?>) t));
+        }
+        return reader;
+    }
+
+    /**
+     * Reader for a list of elements, created on first use.
+     *
+     * @param type
+     *      class of the elements
+     * @return
+     *      reader for lists of this class
+     */
+    public static ObjectReader readerForListOf(Class<?> type) {
+        ObjectReader reader = listReaders.get(type);
+        if (reader == null) {
+            reader = listReaders.computeIfAbsent(type, t -> objectMapper.readerFor(
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, t)));
+        }
+        return reader;
+    }
+
+    /**
+     * Writer for a class, created on first use.
+     *
+     * @param type
+     *      class of the values
+     * @return
+     *      writer for the class
+     */
+    public static ObjectWriter writerFor(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        if (writer == null) {
+            writer = writers.computeIfAbsent(type, objectMapper::writerFor);
+        }
+        return writer;
+    }
+
+    /**
+     * Accessor backend in use.
+     *
+     * @return
+     *      <code>blackbird</code>, <code>afterburner</code> or <code>none</code>
+     */
+    public static String getAccessorBackend() {
+        return accessorBackend;
+    }
+
+    /**
+     * Register the accessor backend on the mapper, before any reader is created.
+     *
+     * @param backend
+     *      requested backend
+     * @return
+     *      backend registered
+     */
+    private static String registerAccessorBackend(String backend) {
+        switch (backend.trim().toLowerCase(Locale.ROOT)) {
+            case ACCESSOR_BACKEND_NONE:
+                return ACCESSOR_BACKEND_NONE;
+            case "blackbird":
+                return registerModule("blackbird", MODULE_BLACKBIRD) ? "blackbird" : ACCESSOR_BACKEND_NONE;
+            case "afterburner":
+                return registerModule("afterburner", MODULE_AFTERBURNER) ? "afterburner" : ACCESSOR_BACKEND_NONE;
+            case "auto":
+                if (registerModule("blackbird", MODULE_BLACKBIRD)) {
+                    return "blackbird";
+                }
+                return registerModule("afterburner", MODULE_AFTERBURNER) ? "afterburner" : ACCESSOR_BACKEND_NONE;
+            default:
+                LOGGER.warn("Unknown json accessor backend '{}', expected blackbird, afterburner, auto or none", backend);
+                return ACCESSOR_BACKEND_NONE;
+        }
+    }
+
+    /**
+     * Register a Jackson module when available on the classpath.
+     *
+     * @param name
+     *      backend name
+     * @param moduleClass
+     *      module class name
+     * @return
+     *      if the module has been registered
+     */
+    private static boolean registerModule(String name, String moduleClass) {
+        try {
+            objectMapper.registerModule((com.fasterxml.jackson.databind.Module) Class.forName(moduleClass).getDeclaredConstructor().newInstance());
+            LOGGER.info("Json accessor backend: {}", name);
+            return true;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.warn("Json accessor backend {} is not available ({}), reflection is used", name, e.toString());
+            return false;
+        }
+    }
     
     /**
      * Transform object as a String.
@@ -206,7 +380,7 @@ public class JsonUtils {
             if (o instanceof String) {
                return (String) o;
             }
-            return getObjectMapper().writeValueAsString(o);
+            return writerFor(o.getClass()).writeValueAsString(o);
         } catch (Exception e) {
             throw new RuntimeException("Cannot marshall object " + o, e);
         } 
@@ -225,12 +399,22 @@ public class JsonUtils {
      *      expected object
      */
     public static <T> T unmarshallType(String body, TypeReference<T> ref) {
+        JsonDecodeEvent event = JfrSupport.beginJsonDecode();
+        RequestTimings timings = RequestTimings.takePendingParse(body);
+        long start = System.nanoTime();
         try {
-            return getObjectMapper().readValue(body, ref);
+            return readerFor(ref).readValue(body);
         } catch (JsonMappingException e) {
             throw new RuntimeException("Cannot unmarshall object " + body, e);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Cannot unmarshall object " + body, e);
+        } finally {
+            if (event != null) {
+                event.complete(ref.getType().getTypeName(), body == null ? 0 : body.length());
+            }
+            if (timings != null) {
+                timings.onParsed(System.nanoTime() - start);
+            }
         }
     }
     
@@ -247,12 +431,129 @@ public class JsonUtils {
      *       expected objects
      */
     public static <T> T unmarshallBean(String body, Class<T> ref) {
+        JsonDecodeEvent event = JfrSupport.beginJsonDecode();
+        RequestTimings timings = RequestTimings.takePendingParse(body);
+        long start = System.nanoTime();
+        try {
+            return readerFor(ref).readValue(body);
+        } catch (JsonMappingException e) {
+            throw new RuntimeException("Cannot unmarshall object " + body, e);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Cannot unmarshall object " + body, e);
+        } finally {
+            if (event != null) {
+                event.complete(ref.getName(), body == null ? 0 : body.length());
+            }
+            if (timings != null) {
+                timings.onParsed(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Load body as a list of objects.
+     *
+     * @param <T>
+     *      parameter
+     * @param body
+     *      response body as String
+     * @param type
+     *      class of the elements
+     * @return
+     *       expected objects
+     */
+    public static <T> List<T> unmarshallList(String body, Class<T> type) {
+        JsonDecodeEvent event = JfrSupport.beginJsonDecode();
+        RequestTimings timings = RequestTimings.takePendingParse(body);
+        long start = System.nanoTime();
         try {
-            return getObjectMapper().readValue(body, ref);
+            return readerForListOf(type).readValue(body);
         } catch (JsonMappingException e) {
             throw new RuntimeException("Cannot unmarshall object " + body, e);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Cannot unmarshall object " + body, e);
+        } finally {
+            if (event != null) {
+                event.complete("java.util.List<" + type.getName() + ">", body == null ? 0 : body.length());
+            }
+            if (timings != null) {
+                timings.onParsed(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Decode a JSON array from a stream, elements are bound one at a time while the
+     * returned stream is consumed. The input is closed when the end of the array is
+     * reached, on error or when the returned stream is closed.
+     *
+     * @param <T>
+     *      parameter
+     * @param in
+     *      input stream containing a JSON array
+     * @param ref
+     *      type of the array elements
+     * @return
+     *      lazy stream of elements
+     */
+    public static <T> Stream<T> unmarshallStream(InputStream in, Class<T> ref) {
+        final JsonParser parser;
+        try {
+            parser = getObjectMapper().getFactory().createParser(in);
+            JsonToken first = parser.nextToken();
+            if (first == null) {
+                parser.close();
+                return Stream.empty();
+            }
+            if (first != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new RuntimeException("Cannot unmarshall stream of " + ref.getSimpleName()
+                        + ", expecting a JSON array but got " + first);
+            }
+        } catch (IOException e) {
+            closeQuietly(in);
+            throw new RuntimeException("Cannot unmarshall stream of " + ref.getSimpleName(), e);
+        }
+        final ObjectReader reader = readerFor(ref);
+        Spliterator<T> elements = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            /** {@inheritDoc} */
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    while (!parser.isClosed()) {
+                        JsonToken token = parser.nextToken();
+                        if (token == null || token == JsonToken.END_ARRAY) {
+                            parser.close();
+                            return false;
+                        }
+                        T element = reader.readValue(parser);
+                        if (element != null) {
+                            action.accept(element);
+                            return true;
+                        }
+                    }
+                    return false;
+                } catch (IOException e) {
+                    closeQuietly(parser);
+                    throw new RuntimeException("Cannot unmarshall stream of " + ref.getSimpleName(), e);
+                }
+            }
+        };
+        return StreamSupport.stream(elements, false).onClose(() -> closeQuietly(parser));
+    }
+
+    /**
+     * Close a resource, errors are ignored.
+     *
+     * @param closeable
+     *      resource to close
+     */
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Already closed or broken, nothing to do
         }
     }
-}
\ No newline at end of file
+}
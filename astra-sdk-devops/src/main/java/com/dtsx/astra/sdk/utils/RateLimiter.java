@@ -0,0 +1,442 @@
+package com.dtsx.astra.sdk.utils;
+
+import com.dtsx.astra.sdk.exception.RateLimitExceededException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side token bucket limiting the number of requests sent with the same token to the
+ * same host, to stay below the limits of the server when many workers share a token.
+ *
+ * <p>Each key (token and host) has its own bucket, refilled at <code>permitsPerSecond</code>
+ * and holding at most <code>burst</code> permits. Buckets are lock-free: the next free slot
+ * is kept in an atomic and moved forward with compare-and-set (generic cell rate
+ * algorithm). Permits can be acquired in blocking mode, try-acquire mode or asynchronously
+ * without holding a thread. A bucket full again is the same as a new one, such buckets are
+ * dropped periodically so rotated tokens do not stay in memory.</p>
+ */
+public class RateLimiter {
+
+    /** Default maximum time spent waiting for a permit. */
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(30);
+
+    /** Marks a bucket removed from the map, a new one is created for its key. */
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    /** Minimum interval between two removals of full buckets. */
+    private static final long MIN_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** Interval between two permits in nanoseconds. */
+    private final long intervalNanos;
+
+    /** Permits which can be consumed without waiting, expressed as a delay. */
+    private final long burstNanos;
+
+    /** Maximum time spent waiting for a permit. */
+    private final Duration maxWait;
+
+    /** Buckets per key. */
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /** Interval between two removals of full buckets, at least the time to refill a bucket. */
+    private final long sweepIntervalNanos;
+
+    /** Time of the next removal of full buckets. */
+    private final AtomicLong nextSweepNanos;
+
+    /** Permits granted. */
+    private final LongAdder acquired = new LongAdder();
+
+    /** Permits granted after a wait. */
+    private final LongAdder throttled = new LongAdder();
+
+    /** Permits refused. */
+    private final LongAdder rejected = new LongAdder();
+
+    /** Total time spent waiting for permits. */
+    private final LongAdder throttledWaitNanos = new LongAdder();
+
+    /**
+     * Full constructor, use the builder.
+     *
+     * @param builder
+     *      current builder
+     */
+    private RateLimiter(RateLimiterBuilder builder) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / builder.permitsPerSecond);
+        this.burstNanos    = (builder.burst - 1) * intervalNanos;
+        this.maxWait       = builder.maxWait;
+        this.sweepIntervalNanos = Math.max(MIN_SWEEP_INTERVAL_NANOS, burstNanos + intervalNanos);
+        this.nextSweepNanos     = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+    }
+
+    /**
+     * Helper to create a builder.
+     *
+     * @return
+     *      an instance of the builder
+     */
+    public static RateLimiterBuilder builder() {
+        return new RateLimiterBuilder();
+    }
+
+    /**
+     * Build the key of a bucket.
+     *
+     * @param token
+     *      authentication token
+     * @param host
+     *      target host
+     * @return
+     *      bucket key
+     */
+    public static String key(String token, String host) {
+        return host + "|" + token;
+    }
+
+    /**
+     * Acquire a permit, waiting if needed up to the max wait.
+     *
+     * @param key
+     *      bucket key
+     * @throws RateLimitExceededException
+     *      if no permit is available within max wait
+     */
+    public void acquire(String key) {
+        if (!tryAcquire(key, maxWait)) {
+            throw new RateLimitExceededException("No permit available for host "
+                    + host(key) + " within " + maxWait.toMillis() + "ms");
+        }
+    }
+
+    /**
+     * Acquire a permit only if it is available immediately.
+     *
+     * @param key
+     *      bucket key
+     * @return
+     *      if the permit has been granted
+     */
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, Duration.ZERO);
+    }
+
+    /**
+     * Acquire a permit, waiting if needed up to a timeout.
+     *
+     * @param key
+     *      bucket key
+     * @param timeout
+     *      maximum time to wait
+     * @return
+     *      if the permit has been granted, false if it cannot be granted within the timeout
+     */
+    public boolean tryAcquire(String key, Duration timeout) {
+        long waitNanos = reserve(key, timeout);
+        if (waitNanos < 0) {
+            return false;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RateLimitExceededException("Interrupted while waiting for a permit");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Acquire a permit without blocking the caller thread, the future completes when the
+     * permit is granted or completes exceptionally if it cannot be granted within max wait.
+     *
+     * @param key
+     *      bucket key
+     * @param scheduler
+     *      scheduler used to complete the future after the wait
+     * @return
+     *      future completed when the permit is granted
+     */
+    public CompletableFuture<Void> acquireAsync(String key, ScheduledExecutorService scheduler) {
+        return acquireAsync(key, maxWait, scheduler);
+    }
+
+    /**
+     * Acquire a permit without blocking the caller thread, the future completes when the
+     * permit is granted or completes exceptionally if it cannot be granted within the timeout.
+     * A permit is reserved only when it can be granted in time.
+     *
+     * @param key
+     *      bucket key
+     * @param timeout
+     *      maximum time to wait
+     * @param scheduler
+     *      scheduler used to complete the future after the wait
+     * @return
+     *      future completed when the permit is granted
+     */
+    public CompletableFuture<Void> acquireAsync(String key, Duration timeout, ScheduledExecutorService scheduler) {
+        long waitNanos = reserve(key, timeout);
+        if (waitNanos < 0) {
+            CompletableFuture<Void> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new RateLimitExceededException("No permit available for host "
+                    + host(key) + " within " + timeout.toMillis() + "ms"));
+            return failed;
+        }
+        if (waitNanos == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        scheduler.schedule(() -> permit.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+        return permit;
+    }
+
+    /**
+     * Reserve a permit in the bucket.
+     *
+     * @param key
+     *      bucket key
+     * @param timeout
+     *      maximum time to wait
+     * @return
+     *      time to wait in nanoseconds before using the permit, -1 if refused
+     */
+    private long reserve(String key, Duration timeout) {
+        sweepIfDue();
+        long waitNanos;
+        do {
+            waitNanos = buckets.computeIfAbsent(key, k -> new Bucket()).reserve(timeout.toNanos());
+        } while (waitNanos == RETIRED);
+        if (waitNanos < 0) {
+            rejected.increment();
+        } else {
+            acquired.increment();
+            if (waitNanos > 0) {
+                throttled.increment();
+                throttledWaitNanos.add(waitNanos);
+            }
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Remove the full buckets when the sweep interval has elapsed, a single caller sweeps.
+     */
+    private void sweepIfDue() {
+        long now  = System.nanoTime();
+        long next = nextSweepNanos.get();
+        if (now - next >= 0 && nextSweepNanos.compareAndSet(next, now + sweepIntervalNanos)) {
+            buckets.forEach((key, bucket) -> {
+                if (bucket.retireIfFull(now)) {
+                    buckets.remove(key, bucket);
+                }
+            });
+        }
+    }
+
+    /**
+     * Extract host from a key for error messages, tokens are never logged.
+     *
+     * @param key
+     *      bucket key
+     * @return
+     *      host
+     */
+    private static String host(String key) {
+        return key.substring(0, key.indexOf('|'));
+    }
+
+    /**
+     * Lock-free bucket for a key.
+     */
+    private class Bucket {
+
+        /** Theoretical time at which the next permit is free. */
+        private final AtomicLong nextFreeNanos = new AtomicLong(System.nanoTime());
+
+        /**
+         * Reserve a permit.
+         *
+         * @param timeoutNanos
+         *      maximum time to wait
+         * @return
+         *      time to wait in nanoseconds, -1 if refused, {@link #RETIRED} if removed
+         */
+        long reserve(long timeoutNanos) {
+            while (true) {
+                long now     = System.nanoTime();
+                long next    = nextFreeNanos.get();
+                if (next == RETIRED) {
+                    return RETIRED;
+                }
+                long start   = Math.max(next, now);
+                long wait    = Math.max(0, start - now - burstNanos);
+                if (wait > timeoutNanos) {
+                    return -1;
+                }
+                if (nextFreeNanos.compareAndSet(next, start + intervalNanos)) {
+                    return wait;
+                }
+            }
+        }
+
+        /**
+         * Retire the bucket if every permit is available again, it is then equivalent to a
+         * new bucket. Reservations racing with the removal see it retired and use a new one.
+         *
+         * @param now
+         *      current time
+         * @return
+         *      if the bucket has been retired
+         */
+        boolean retireIfFull(long now) {
+            long next = nextFreeNanos.get();
+            return next != RETIRED && next - now <= 0 && nextFreeNanos.compareAndSet(next, RETIRED);
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static class RateLimiterBuilder {
+        /** */
+        private double permitsPerSecond = 10;
+        /** */
+        private int burst = 10;
+        /** */
+        private Duration maxWait = DEFAULT_MAX_WAIT;
+
+        /**
+         * Default constructor.
+         */
+        public RateLimiterBuilder() {}
+
+        /**
+         * Define the sustained rate.
+         *
+         * @param permits
+         *      the value for permits per second
+         * @return
+         *      this instance.
+         */
+        public RateLimiterBuilder permitsPerSecond(double permits) {
+            Assert.isTrue(permits > 0, "Permits per second should be positive");
+            this.permitsPerSecond = permits;
+            return this;
+        }
+
+        /**
+         * Define the number of permits which can be consumed at once.
+         *
+         * @param b
+         *      the value for burst
+         * @return
+         *      this instance.
+         */
+        public RateLimiterBuilder burst(int b) {
+            Assert.isTrue(b > 0, "Burst should be positive");
+            this.burst = b;
+            return this;
+        }
+
+        /**
+         * Define the maximum time spent waiting for a permit, zero means fail fast.
+         *
+         * @param wait
+         *      the value for max wait
+         * @return
+         *      this instance.
+         */
+        public RateLimiterBuilder maxWait(Duration wait) {
+            Assert.notNull(wait, "maxWait");
+            this.maxWait = wait;
+            return this;
+        }
+
+        /**
+         * Build the immutable instance.
+         *
+         * @return
+         *      an instance of rate limiter
+         */
+        public RateLimiter build() {
+            return new RateLimiter(this);
+        }
+    }
+
+    /**
+     * Number of permits granted.
+     *
+     * @return
+     *      permits granted
+     */
+    public long getAcquiredCount() {
+        return acquired.sum();
+    }
+
+    /**
+     * Number of permits granted after a wait.
+     *
+     * @return
+     *      throttled permits
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * Number of permits refused.
+     *
+     * @return
+     *      refused permits
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Total time callers have been throttled.
+     *
+     * @return
+     *      cumulated wait
+     */
+    public Duration getThrottledWaitTime() {
+        return Duration.ofNanos(throttledWaitNanos.sum());
+    }
+
+    /**
+     * Number of buckets in memory, full buckets are removed periodically.
+     *
+     * @return
+     *      buckets count
+     */
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Getter accessor for attribute 'maxWait'.
+     *
+     * @return
+     *       current value of 'maxWait'
+     */
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "RateLimiter [acquired=" + getAcquiredCount() + ", throttled=" + getThrottledCount()
+                + ", rejected=" + getRejectedCount() + ", throttledWaitMs=" + getThrottledWaitTime().toMillis() + "]";
+    }
+
+}
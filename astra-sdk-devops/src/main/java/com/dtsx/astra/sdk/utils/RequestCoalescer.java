@@ -0,0 +1,233 @@
+package com.dtsx.astra.sdk.utils;
+
+import com.dtsx.astra.sdk.exception.DeadlineExceededException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical requests: while a request is in progress, callers
+ * asking for the same key wait for its response instead of sending their own.
+ *
+ * <p>Only the exchange is shared, a request starting after the previous one completed
+ * goes to the server. Waiters receive the same {@link ApiResponseHttp} or the same
+ * error, except a {@link DeadlineExceededException} raised by the deadline of another
+ * caller.</p>
+ */
+public class RequestCoalescer {
+
+    /** Operation reported when the deadline of a caller joining a request expires. */
+    private static final String WAITING = "waiting for a coalesced request";
+
+    /** Requests in progress per key. */
+    private final Map<String, CompletableFuture<ApiResponseHttp>> inFlight = new ConcurrentHashMap<>();
+
+    /** Requests served by an exchange started by another caller. */
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Default constructor.
+     */
+    public RequestCoalescer() {}
+
+    /**
+     * Build the key of a request.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      request key
+     */
+    public static String key(String url, String token) {
+        return token + "|" + url;
+    }
+
+    /**
+     * Execute a blocking request or join the identical request in progress. A caller
+     * joining a request waits no longer than its own {@link Deadline}, and a request which
+     * failed on the deadline of the caller who sent it is sent or joined again.
+     *
+     * @param key
+     *      request key
+     * @param call
+     *      request execution
+     * @return
+     *      shared response
+     */
+    public ApiResponseHttp execute(String key, Supplier<ApiResponseHttp> call) {
+        final Deadline deadline = Deadline.current();
+        while (true) {
+            if (deadline != null) {
+                deadline.check(WAITING);
+            }
+            CompletableFuture<ApiResponseHttp> leader = new CompletableFuture<>();
+            CompletableFuture<ApiResponseHttp> existing = inFlight.putIfAbsent(key, leader);
+            if (existing == null) {
+                return lead(key, leader, call);
+            }
+            try {
+                ApiResponseHttp res = (deadline == null)
+                        ? existing.get()
+                        : existing.get(deadline.timeRemaining().toNanos(), TimeUnit.NANOSECONDS);
+                coalesced.increment();
+                return res;
+            } catch (TimeoutException e) {
+                throw new DeadlineExceededException("Deadline exceeded " + WAITING);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted " + WAITING, e);
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof DeadlineExceededException)) {
+                    throw (e.getCause() instanceof RuntimeException) ? (RuntimeException) e.getCause() : new CompletionException(e.getCause());
+                }
+                // Deadline of the leader, not of this caller: send or join again
+            }
+        }
+    }
+
+    /**
+     * Send a blocking request and share its outcome.
+     *
+     * @param key
+     *      request key
+     * @param leader
+     *      future joined by the other callers
+     * @param call
+     *      request execution
+     * @return
+     *      response
+     */
+    private ApiResponseHttp lead(String key, CompletableFuture<ApiResponseHttp> leader, Supplier<ApiResponseHttp> call) {
+        try {
+            ApiResponseHttp res = call.get();
+            leader.complete(res);
+            return res;
+        } catch (RuntimeException e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    /**
+     * Execute a non-blocking request or join the identical request in progress. Each
+     * caller receives its own future, cancelling it does not abort the shared exchange.
+     * A caller joining a request is bounded by its own {@link Deadline}, and a request which
+     * failed on the deadline of the caller who sent it is sent or joined again.
+     *
+     * @param key
+     *      request key
+     * @param call
+     *      request execution
+     * @param scheduler
+     *      scheduler expiring the deadlines of the callers joining a request
+     * @return
+     *      future shared response
+     */
+    public CompletableFuture<ApiResponseHttp> executeAsync(String key, Supplier<CompletableFuture<ApiResponseHttp>> call,
+                                                           ScheduledExecutorService scheduler) {
+        final Deadline deadline = Deadline.current();
+        final CompletableFuture<ApiResponseHttp> follower = new CompletableFuture<>();
+        if (deadline != null && deadline.isExpired()) {
+            follower.completeExceptionally(new DeadlineExceededException("Deadline exceeded before " + WAITING));
+            return follower;
+        }
+        CompletableFuture<ApiResponseHttp> leader = new CompletableFuture<>();
+        CompletableFuture<ApiResponseHttp> existing = inFlight.putIfAbsent(key, leader);
+        if (existing == null) {
+            return leadAsync(key, leader, call);
+        }
+        existing.whenComplete((res, error) -> {
+            Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+            if (error == null) {
+                if (follower.complete(res)) {
+                    coalesced.increment();
+                }
+            } else if (cause instanceof DeadlineExceededException && !follower.isDone()) {
+                // Deadline of the leader, not of this caller: send or join again
+                Supplier<CompletableFuture<ApiResponseHttp>> retry = () -> executeAsync(key, call, scheduler);
+                ((deadline == null) ? retry.get() : deadline.call(retry)).whenComplete((r, e) -> {
+                    if (e == null) {
+                        follower.complete(r);
+                    } else {
+                        follower.completeExceptionally((e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e);
+                    }
+                });
+            } else {
+                follower.completeExceptionally(cause);
+            }
+        });
+        if (deadline != null && !follower.isDone()) {
+            Future<?> timer = scheduler.schedule(() ->
+                    follower.completeExceptionally(new DeadlineExceededException("Deadline exceeded " + WAITING)),
+                    deadline.timeRemaining().toNanos(), TimeUnit.NANOSECONDS);
+            follower.whenComplete((res, error) -> timer.cancel(false));
+        }
+        return follower;
+    }
+
+    /**
+     * Send a non-blocking request and share its outcome.
+     *
+     * @param key
+     *      request key
+     * @param leader
+     *      future joined by the other callers
+     * @param call
+     *      request execution
+     * @return
+     *      future response of the caller
+     */
+    private CompletableFuture<ApiResponseHttp> leadAsync(String key, CompletableFuture<ApiResponseHttp> leader,
+                                                         Supplier<CompletableFuture<ApiResponseHttp>> call) {
+        CompletableFuture<ApiResponseHttp> exchange;
+        try {
+            exchange = call.get();
+        } catch (RuntimeException e) {
+            exchange = new CompletableFuture<>();
+            exchange.completeExceptionally(e);
+        }
+        exchange.whenComplete((res, error) -> {
+            inFlight.remove(key, leader);
+            if (error != null) {
+                leader.completeExceptionally(error);
+            } else {
+                leader.complete(res);
+            }
+        });
+        return leader.thenApply(res -> res);
+    }
+
+    /**
+     * Number of requests which joined an exchange in progress.
+     *
+     * @return
+     *      coalesced requests
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Number of distinct requests in progress.
+     *
+     * @return
+     *      requests in progress
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+}
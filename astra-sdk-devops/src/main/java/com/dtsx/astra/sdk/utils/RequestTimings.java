@@ -0,0 +1,302 @@
+package com.dtsx.astra.sdk.utils;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+
+/**
+ * Breakdown of the time spent in a blocking call of {@link HttpClientWrapper}.
+ *
+ * <p>Phases of every attempt are summed: waiting for a pooled connection, opening the TCP
+ * connection, TLS handshake, waiting for the response headers (time to first byte, mostly
+ * server time) and reading the body. The JSON parsing is added when the body is decoded
+ * with {@link JsonUtils} on the thread which received the response. Connection phases are
+ * only measured by the default pooled transport, other transports report them within the
+ * time to first byte.</p>
+ */
+public class RequestTimings {
+
+    /** Pending parsing per thread, the body identifies the response. */
+    private static final ThreadLocal<RequestTimings> PENDING_PARSE = new ThreadLocal<>();
+
+    /** Http method. */
+    private final String method;
+
+    /** Target host. */
+    private final String host;
+
+    /** Path with identifiers replaced. */
+    private final String pathTemplate;
+
+    /** Listener notified. */
+    private final RequestTimingsListener listener;
+
+    /** Http code of the last attempt. */
+    private int status;
+
+    /** Attempts sent. */
+    private int attempts;
+
+    /** Time waiting for a pooled connection. */
+    private long poolWaitNanos;
+
+    /** Time opening connections, TLS included. */
+    private long connectNanos;
+
+    /** Time in TLS handshakes. */
+    private long tlsNanos;
+
+    /** Time of the attempts, from the lease to the response headers. */
+    private long exchangeNanos;
+
+    /** Time reading the body. */
+    private long bodyReadNanos;
+
+    /** Time parsing the body. */
+    private volatile long parseNanos;
+
+    /** Body waiting to be parsed, weakly held: a body never parsed is not retained by the thread. */
+    private WeakReference<String> body;
+
+    /**
+     * Constructor.
+     *
+     * @param method
+     *      http method
+     * @param host
+     *      target host
+     * @param pathTemplate
+     *      path with identifiers replaced
+     * @param listener
+     *      listener notified
+     */
+    RequestTimings(String method, String host, String pathTemplate, RequestTimingsListener listener) {
+        this.method       = method;
+        this.host         = host;
+        this.pathTemplate = pathTemplate;
+        this.listener     = listener;
+    }
+
+    /**
+     * Time spent waiting for a pooled connection.
+     *
+     * @param nanos
+     *      duration
+     */
+    void addPoolWait(long nanos) {
+        poolWaitNanos += nanos;
+    }
+
+    /**
+     * Time spent opening a connection, TLS included.
+     *
+     * @param nanos
+     *      duration
+     */
+    void addConnect(long nanos) {
+        connectNanos += nanos;
+    }
+
+    /**
+     * Time spent in a TLS handshake.
+     *
+     * @param nanos
+     *      duration
+     */
+    void addTlsHandshake(long nanos) {
+        tlsNanos += nanos;
+    }
+
+    /**
+     * An attempt received its response headers or failed.
+     *
+     * @param nanos
+     *      duration of the attempt
+     * @param code
+     *      http code of the attempt
+     */
+    void addAttempt(long nanos, int code) {
+        exchangeNanos += nanos;
+        status         = code;
+        attempts++;
+    }
+
+    /**
+     * The body has been read, listener is notified and the parsing is expected.
+     *
+     * @param nanos
+     *      time reading the body
+     * @param responseBody
+     *      body of the response
+     */
+    void onBodyRead(long nanos, String responseBody) {
+        this.bodyReadNanos = nanos;
+        listener.onResponse(this);
+        if (responseBody != null) {
+            this.body = new WeakReference<>(responseBody);
+            PENDING_PARSE.set(this);
+        }
+    }
+
+    /**
+     * Take the timings waiting for the parsing of a body on the current thread.
+     *
+     * @param responseBody
+     *      body about to be parsed
+     * @return
+     *      timings of the response with this body, or null
+     */
+    static RequestTimings takePendingParse(String responseBody) {
+        RequestTimings pending = PENDING_PARSE.get();
+        if (pending == null || responseBody == null || pending.body == null || pending.body.get() != responseBody) {
+            return null;
+        }
+        PENDING_PARSE.remove();
+        pending.body = null;
+        return pending;
+    }
+
+    /**
+     * The body has been parsed, listener is notified.
+     *
+     * @param nanos
+     *      time parsing the body
+     */
+    void onParsed(long nanos) {
+        this.parseNanos = nanos;
+        listener.onParsed(this);
+    }
+
+    /**
+     * Getter accessor for attribute 'method'.
+     *
+     * @return
+     *       current value of 'method'
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Getter accessor for attribute 'host'.
+     *
+     * @return
+     *       current value of 'host'
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Getter accessor for attribute 'pathTemplate'.
+     *
+     * @return
+     *       current value of 'pathTemplate'
+     */
+    public String getPathTemplate() {
+        return pathTemplate;
+    }
+
+    /**
+     * Getter accessor for attribute 'status'.
+     *
+     * @return
+     *       current value of 'status'
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Getter accessor for attribute 'attempts'.
+     *
+     * @return
+     *       current value of 'attempts'
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Time waiting for a pooled connection, high values mean pool starvation.
+     *
+     * @return
+     *      pool wait
+     */
+    public Duration getPoolWait() {
+        return Duration.ofNanos(poolWaitNanos);
+    }
+
+    /**
+     * Time opening TCP connections, TLS excluded.
+     *
+     * @return
+     *      connect time
+     */
+    public Duration getConnect() {
+        return Duration.ofNanos(Math.max(0, connectNanos - tlsNanos));
+    }
+
+    /**
+     * Time in TLS handshakes.
+     *
+     * @return
+     *      handshake time
+     */
+    public Duration getTlsHandshake() {
+        return Duration.ofNanos(tlsNanos);
+    }
+
+    /**
+     * Time between sending the request and receiving the response headers.
+     *
+     * @return
+     *      time to first byte
+     */
+    public Duration getTimeToFirstByte() {
+        return Duration.ofNanos(Math.max(0, exchangeNanos - poolWaitNanos - connectNanos));
+    }
+
+    /**
+     * Time reading the response body.
+     *
+     * @return
+     *      body read time
+     */
+    public Duration getBodyRead() {
+        return Duration.ofNanos(bodyReadNanos);
+    }
+
+    /**
+     * Time parsing the body, zero until the body is decoded.
+     *
+     * @return
+     *      parse time
+     */
+    public Duration getParse() {
+        return Duration.ofNanos(parseNanos);
+    }
+
+    /**
+     * Total of the phases, delays between retries are excluded.
+     *
+     * @return
+     *      total time
+     */
+    public Duration getTotal() {
+        return Duration.ofNanos(exchangeNanos + bodyReadNanos + parseNanos);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "RequestTimings{" + method + " " + host + pathTemplate + ", status=" + status
+                + ", attempts=" + attempts
+                + ", poolWait=" + getPoolWait().toMillis() + "ms"
+                + ", connect=" + getConnect().toMillis() + "ms"
+                + ", tls=" + getTlsHandshake().toMillis() + "ms"
+                + ", ttfb=" + getTimeToFirstByte().toMillis() + "ms"
+                + ", bodyRead=" + getBodyRead().toMillis() + "ms"
+                + ", parse=" + getParse().toMillis() + "ms}";
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.dtsx.astra.sdk.utils;
+
+/**
+ * Listener of the {@link RequestTimings} of blocking calls, configured on
+ * {@link HttpClientWrapper}. Implementations are invoked on the calling thread and
+ * should be fast, like recording the phases in histograms.
+ */
+public interface RequestTimingsListener {
+
+    /**
+     * The response body has been read, every phase but the parsing is known.
+     *
+     * @param timings
+     *      timings of the call
+     */
+    void onResponse(RequestTimings timings);
+
+    /**
+     * The response body has been decoded with {@link JsonUtils}, the parse phase is known.
+     *
+     * @param timings
+     *      timings of the call, same instance as in {@link #onResponse(RequestTimings)}
+     */
+    default void onParsed(RequestTimings timings) {}
+
+}
@@ -0,0 +1,116 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read response bodies in a buffer reused by the thread.
+ *
+ * <p>Only the resulting String is allocated per response, where reading with
+ * {@link org.apache.hc.core5.http.io.entity.EntityUtils#toString(HttpEntity)} grows a new
+ * char buffer every time. The charset is resolved the same way. Buffers growing above
+ * {@link #MAX_RETAINED_SIZE} for a large body are released after use.</p>
+ */
+final class ResponseBodyReader {
+
+    /** Initial size of a buffer. */
+    static final int INITIAL_SIZE = 8 * 1024;
+
+    /** Largest buffer kept by a thread. */
+    static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+    /** Mime types with a default charset other than ISO-8859-1, as registered by the http client. */
+    private static final List<ContentType> DEFAULT_CHARSETS = Arrays.asList(
+            ContentType.APPLICATION_JSON, ContentType.APPLICATION_NDJSON, ContentType.APPLICATION_PROBLEM_JSON);
+
+    /** Buffer per thread. */
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[INITIAL_SIZE]);
+
+    /**
+     * Hide default constructor.
+     */
+    private ResponseBodyReader() {}
+
+    /**
+     * Read the body of a response, the entity is fully consumed.
+     *
+     * @param entity
+     *      response entity
+     * @return
+     *      body as a String, null without entity
+     * @throws IOException
+     *      error reading the body
+     */
+    static String read(HttpEntity entity) throws IOException {
+        if (entity == null) {
+            return null;
+        }
+        final Charset charset = charset(entity.getContentType());
+        try (InputStream in = entity.getContent()) {
+            if (in == null) {
+                return null;
+            }
+            byte[] buffer = BUFFER.get();
+            final long contentLength = entity.getContentLength();
+            if (contentLength > buffer.length && contentLength <= Integer.MAX_VALUE - 8) {
+                buffer = new byte[(int) contentLength];
+            }
+            int length = 0;
+            while (true) {
+                if (length == buffer.length) {
+                    // Grow only when the body does not end with the buffer
+                    int next = in.read();
+                    if (next == -1) {
+                        break;
+                    }
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    buffer[length++] = (byte) next;
+                }
+                int read = in.read(buffer, length, buffer.length - length);
+                if (read == -1) {
+                    break;
+                }
+                length += read;
+            }
+            if (buffer.length <= MAX_RETAINED_SIZE) {
+                BUFFER.set(buffer);
+            }
+            return new String(buffer, 0, length, charset);
+        }
+    }
+
+    /**
+     * Charset of the body, defaults of the mime type then ISO-8859-1 as the http client.
+     *
+     * @param contentType
+     *      value of the content type header
+     * @return
+     *      charset to decode the body
+     */
+    static Charset charset(String contentType) {
+        if (contentType == null) {
+            return StandardCharsets.ISO_8859_1;
+        }
+        try {
+            ContentType type = ContentType.parse(contentType);
+            if (type.getCharset() != null) {
+                return type.getCharset();
+            }
+            for (ContentType defaults : DEFAULT_CHARSETS) {
+                if (defaults.isSameMimeType(type)) {
+                    return defaults.getCharset();
+                }
+            }
+            return StandardCharsets.ISO_8859_1;
+        } catch (RuntimeException e) {
+            return StandardCharsets.ISO_8859_1;
+        }
+    }
+}
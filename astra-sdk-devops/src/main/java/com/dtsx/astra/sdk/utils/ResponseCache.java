@@ -0,0 +1,455 @@
+package com.dtsx.astra.sdk.utils;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache of GET responses for endpoints which rarely change (regions, providers, roles...).
+ *
+ * <p>Only the endpoints with a time to live are cached, matched on the suffix of the url
+ * path. Entries are kept per token as responses are scoped to an organization. When an entry
+ * expires and the server sent a validator (<code>ETag</code> or <code>Last-Modified</code>),
+ * the next request is conditional and a <code>304</code> extends the entry without
+ * transferring the body again. The cache is bounded and evicts the least recently used
+ * entries.</p>
+ */
+public class ResponseCache {
+
+    /** Default maximum number of entries. */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    /** Validator header. */
+    private static final String HEADER_ETAG = "ETag";
+
+    /** Validator header. */
+    private static final String HEADER_LAST_MODIFIED = "Last-Modified";
+
+    /** Conditional header. */
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+
+    /** Conditional header. */
+    private static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    /** Time to live per path suffix. */
+    private final Map<String, Duration> timeToLivePerPath;
+
+    /** Time to live for other GET requests, null means not cached. */
+    private final Duration defaultTimeToLive;
+
+    /** Maximum number of entries. */
+    private final int maxEntries;
+
+    /** Entries in access order. */
+    private final LinkedHashMap<String, Entry> entries;
+
+    /** Responses served from cache. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Responses served from cache after a successful revalidation. */
+    private final LongAdder revalidations = new LongAdder();
+
+    /** Responses fetched from the server. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Entries evicted to respect the size. */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Full constructor, use the builder.
+     *
+     * @param builder
+     *      current builder
+     */
+    private ResponseCache(ResponseCacheBuilder builder) {
+        this.timeToLivePerPath = Collections.unmodifiableMap(new LinkedHashMap<>(builder.timeToLivePerPath));
+        this.defaultTimeToLive = builder.defaultTimeToLive;
+        this.maxEntries        = builder.maxEntries;
+        this.entries           = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            /** Serial. */
+            private static final long serialVersionUID = 1L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Helper to create a builder.
+     *
+     * @return
+     *      an instance of the builder
+     */
+    public static ResponseCacheBuilder builder() {
+        return new ResponseCacheBuilder();
+    }
+
+    /**
+     * Find the time to live for an url.
+     *
+     * @param url
+     *      target url
+     * @return
+     *      time to live or null if the url is not cached
+     */
+    public Duration getTimeToLive(String url) {
+        String path;
+        try {
+            path = URI.create(url).getPath();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (path == null) {
+            return defaultTimeToLive;
+        }
+        for (Map.Entry<String, Duration> rule : timeToLivePerPath.entrySet()) {
+            if (path.endsWith(rule.getKey())) {
+                return rule.getValue();
+            }
+        }
+        return defaultTimeToLive;
+    }
+
+    /**
+     * Serve a blocking GET from the cache or from the server.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param call
+     *      request execution, receives the conditional headers to add
+     * @return
+     *      cached or fresh response
+     */
+    public ApiResponseHttp get(String url, String token, Function<Map<String, String>, ApiResponseHttp> call) {
+        Duration ttl = getTimeToLive(url);
+        if (ttl == null) {
+            return call.apply(Collections.emptyMap());
+        }
+        String key = token + "|" + url;
+        Entry entry = lookup(key);
+        if (entry != null && entry.isFresh()) {
+            hits.increment();
+            return entry.response;
+        }
+        return onResponse(key, ttl, entry, call.apply(conditionalHeaders(entry)));
+    }
+
+    /**
+     * Serve a non-blocking GET from the cache or from the server.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param call
+     *      request execution, receives the conditional headers to add
+     * @return
+     *      cached or fresh response
+     */
+    public CompletableFuture<ApiResponseHttp> getAsync(String url, String token,
+                                                       Function<Map<String, String>, CompletableFuture<ApiResponseHttp>> call) {
+        Duration ttl = getTimeToLive(url);
+        if (ttl == null) {
+            return call.apply(Collections.emptyMap());
+        }
+        String key = token + "|" + url;
+        Entry entry = lookup(key);
+        if (entry != null && entry.isFresh()) {
+            hits.increment();
+            return CompletableFuture.completedFuture(entry.response);
+        }
+        return call.apply(conditionalHeaders(entry)).thenApply(res -> onResponse(key, ttl, entry, res));
+    }
+
+    /**
+     * Remove every entry.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Read an entry.
+     *
+     * @param key
+     *      cache key
+     * @return
+     *      entry or null
+     */
+    private synchronized Entry lookup(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Update the cache with a server response.
+     *
+     * @param key
+     *      cache key
+     * @param ttl
+     *      time to live
+     * @param previous
+     *      stale entry if any
+     * @param res
+     *      server response
+     * @return
+     *      response to return to the caller
+     */
+    private ApiResponseHttp onResponse(String key, Duration ttl, Entry previous, ApiResponseHttp res) {
+        if (res.getCode() == HttpURLConnection.HTTP_NOT_MODIFIED && previous != null) {
+            revalidations.increment();
+            store(key, new Entry(previous.response, ttl));
+            return previous.response;
+        }
+        misses.increment();
+        if (res.getCode() == HttpURLConnection.HTTP_OK) {
+            store(key, new Entry(res, ttl));
+        }
+        return res;
+    }
+
+    /**
+     * Write an entry.
+     *
+     * @param key
+     *      cache key
+     * @param entry
+     *      cache entry
+     */
+    private synchronized void store(String key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    /**
+     * Conditional headers for a stale entry.
+     *
+     * @param entry
+     *      stale entry
+     * @return
+     *      headers to add to the request
+     */
+    private static Map<String, String> conditionalHeaders(Entry entry) {
+        if (entry == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> headers = new HashMap<>();
+        String etag = header(entry.response, HEADER_ETAG);
+        if (etag != null) {
+            headers.put(HEADER_IF_NONE_MATCH, etag);
+        }
+        String lastModified = header(entry.response, HEADER_LAST_MODIFIED);
+        if (lastModified != null) {
+            headers.put(HEADER_IF_MODIFIED_SINCE, lastModified);
+        }
+        return headers;
+    }
+
+    /**
+     * Header lookup ignoring case.
+     *
+     * @param res
+     *      response
+     * @param name
+     *      header name
+     * @return
+     *      header value or null
+     */
+    private static String header(ApiResponseHttp res, String name) {
+        return res.getHeader(name);
+    }
+
+    /**
+     * Cached response.
+     */
+    private static final class Entry {
+
+        /** Cached response. */
+        private final ApiResponseHttp response;
+
+        /** Expiration time. */
+        private final long expiresAtNanos;
+
+        /**
+         * Full constructor.
+         *
+         * @param response
+         *      cached response
+         * @param ttl
+         *      time to live
+         */
+        private Entry(ApiResponseHttp response, Duration ttl) {
+            this.response       = response;
+            this.expiresAtNanos = System.nanoTime() + ttl.toNanos();
+        }
+
+        /**
+         * Tells if the entry can be served without contacting the server.
+         *
+         * @return
+         *      if the entry is fresh
+         */
+        private boolean isFresh() {
+            return System.nanoTime() - expiresAtNanos < 0;
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static class ResponseCacheBuilder {
+        /** */
+        private final Map<String, Duration> timeToLivePerPath = new LinkedHashMap<>();
+        /** */
+        private Duration defaultTimeToLive = null;
+        /** */
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+        /**
+         * Default constructor.
+         */
+        public ResponseCacheBuilder() {}
+
+        /**
+         * Cache the endpoints which rarely change: regions, streaming providers and clusters, roles.
+         *
+         * @param ttl
+         *      time to live of those endpoints
+         * @return
+         *      this instance.
+         */
+        public ResponseCacheBuilder referenceData(Duration ttl) {
+            return timeToLive("/availableRegions", ttl)
+                    .timeToLive("/regions/serverless", ttl)
+                    .timeToLive("/streaming/providers", ttl)
+                    .timeToLive("/streaming/clusters", ttl)
+                    .timeToLive("/organizations/roles", ttl);
+        }
+
+        /**
+         * Define the time to live for urls ending with a path.
+         *
+         * @param pathSuffix
+         *      end of the url path like <code>/availableRegions</code>
+         * @param ttl
+         *      the value for time to live
+         * @return
+         *      this instance.
+         */
+        public ResponseCacheBuilder timeToLive(String pathSuffix, Duration ttl) {
+            Assert.hasLength(pathSuffix, "pathSuffix");
+            Assert.notNull(ttl, "ttl");
+            this.timeToLivePerPath.put(pathSuffix, ttl);
+            return this;
+        }
+
+        /**
+         * Define the time to live of the other GET requests, none are cached by default.
+         *
+         * @param ttl
+         *      the value for default time to live
+         * @return
+         *      this instance.
+         */
+        public ResponseCacheBuilder defaultTimeToLive(Duration ttl) {
+            this.defaultTimeToLive = ttl;
+            return this;
+        }
+
+        /**
+         * Define the maximum number of entries.
+         *
+         * @param max
+         *      the value for max entries
+         * @return
+         *      this instance.
+         */
+        public ResponseCacheBuilder maxEntries(int max) {
+            Assert.isTrue(max > 0, "Max entries should be positive");
+            this.maxEntries = max;
+            return this;
+        }
+
+        /**
+         * Build the immutable instance.
+         *
+         * @return
+         *      an instance of response cache
+         */
+        public ResponseCache build() {
+            return new ResponseCache(this);
+        }
+    }
+
+    /**
+     * Number of responses served from cache.
+     *
+     * @return
+     *      cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of responses served from cache after a 304.
+     *
+     * @return
+     *      revalidated hits
+     */
+    public long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    /**
+     * Number of responses fetched from the server.
+     *
+     * @return
+     *      cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of entries evicted to respect the size.
+     *
+     * @return
+     *      evictions
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Number of entries.
+     *
+     * @return
+     *      cache size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "ResponseCache [size=" + size() + ", hits=" + getHitCount() + ", revalidations=" + getRevalidationCount()
+                + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.dtsx.astra.sdk.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of retries relative to the number of requests.
+ *
+ * <p>Each request deposits a fraction of a token (the ratio), each retry withdraws a full
+ * token. A minimum number of retries per second is always granted so that a low traffic
+ * client can still retry. When the service degrades every request fails, the budget
+ * drains and retries stop, which prevents a brownout from turning into a retry storm.</p>
+ */
+public class RetryBudget {
+
+    /** Tokens are stored as thousandths to keep integer arithmetic. */
+    private static final long SCALE = 1000;
+
+    /** Unlimited budget. */
+    public static final RetryBudget UNLIMITED = new RetryBudget(0, 0) {
+        /** {@inheritDoc} */
+        @Override
+        public boolean tryAcquire() {
+            return true;
+        }
+    };
+
+    /** Tokens deposited per request. */
+    private final long depositPerRequest;
+
+    /** Tokens granted per second. */
+    private final long refillPerSecond;
+
+    /** Maximum number of tokens. */
+    private final long capacity;
+
+    /** Time needed to refill an empty budget, longer idle periods grant no more tokens. */
+    private final long fullRefillNanos;
+
+    /** Current balance. */
+    private final AtomicLong balance;
+
+    /** Last time tokens were granted. */
+    private final AtomicLong lastRefillNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * Full constructor.
+     *
+     * @param ratio
+     *      percentage of requests that can be retried, between 0 and 1
+     * @param minRetriesPerSecond
+     *      retries always allowed per second
+     */
+    public RetryBudget(double ratio, int minRetriesPerSecond) {
+        Assert.isTrue(ratio >= 0 && ratio <= 1, "Ratio should be between 0 and 1");
+        Assert.isTrue(minRetriesPerSecond >= 0, "Min retries per second should be positive");
+        this.depositPerRequest = (long) (ratio * SCALE);
+        this.refillPerSecond   = minRetriesPerSecond * SCALE;
+        // Up to 10 seconds worth of retries can be accumulated
+        this.capacity          = Math.max(1, minRetriesPerSecond) * 10 * SCALE;
+        this.balance           = new AtomicLong(capacity);
+        this.fullRefillNanos   = (refillPerSecond == 0) ? 0 : (long) Math.ceil((double) capacity * TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+    }
+
+    /**
+     * Record a new request (first attempt).
+     */
+    public void onRequest() {
+        deposit(depositPerRequest);
+    }
+
+    /**
+     * Try to withdraw a token for a retry.
+     *
+     * @return
+     *      if the retry is allowed
+     */
+    public boolean tryAcquire() {
+        refill();
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /**
+     * Retries currently available.
+     *
+     * @return
+     *      number of retries available
+     */
+    public long getAvailableRetries() {
+        refill();
+        return balance.get() / SCALE;
+    }
+
+    /**
+     * Grant tokens for the time elapsed since last refill.
+     */
+    private void refill() {
+        if (refillPerSecond == 0) {
+            return;
+        }
+        long now  = System.nanoTime();
+        long last = lastRefillNanos.get();
+        // Clamped before the multiplication, which would overflow after a long idle period
+        long elapsed = Math.min(now - last, fullRefillNanos);
+        long tokens  = elapsed * refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        if (tokens > 0 && lastRefillNanos.compareAndSet(last, now)) {
+            deposit(tokens);
+        }
+    }
+
+    /**
+     * Add tokens up to capacity.
+     *
+     * @param tokens
+     *      tokens to add
+     */
+    private void deposit(long tokens) {
+        long current;
+        do {
+            current = balance.get();
+        } while (current < capacity && !balance.compareAndSet(current, Math.min(capacity, current + tokens)));
+    }
+
+}
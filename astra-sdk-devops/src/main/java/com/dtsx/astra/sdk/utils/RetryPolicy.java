@@ -0,0 +1,410 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.apache.hc.client5.http.utils.DateUtils;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+
+import javax.net.ssl.SSLException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry settings of {@link HttpClientWrapper}.
+ *
+ * <p>Idempotent verbs (GET, HEAD, PUT, DELETE) are retried on transient errors (429, 502,
+ * 503, 504 and I/O errors) with an exponential backoff and jitter. The <code>Retry-After</code>
+ * header sent by the server is honoured. POST requests are only retried for the paths
+ * explicitly listed with {@link RetryPolicyBuilder#retryOnPost(String...)}, like
+ * <code>/park</code> or <code>/resize</code>. A {@link RetryBudget} caps the global number
+ * of retries.</p>
+ */
+public class RetryPolicy {
+
+    /** Header sent by the server with the delay to wait. */
+    public static final String HEADER_RETRY_AFTER = "Retry-After";
+
+    /** Default number of attempts including the first one. */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    /** Default delay before the first retry. */
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(200);
+
+    /** Default maximum delay between two attempts. */
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(10);
+
+    /** Default maximum delay accepted from a Retry-After header. */
+    public static final Duration DEFAULT_MAX_RETRY_AFTER = Duration.ofSeconds(60);
+
+    /** Verbs retried by default. */
+    private static final Set<String> IDEMPOTENT_METHODS =
+            new HashSet<>(Arrays.asList("GET", "HEAD", "PUT", "DELETE", "OPTIONS"));
+
+    /** Policy with retries disabled. */
+    public static final RetryPolicy NONE = RetryPolicy.builder().maxAttempts(1).build();
+
+    /** Number of attempts including the first one. */
+    private final int maxAttempts;
+
+    /** Delay before the first retry. */
+    private final Duration initialBackoff;
+
+    /** Maximum delay between two attempts. */
+    private final Duration maxBackoff;
+
+    /** Backoff growth between two attempts. */
+    private final double multiplier;
+
+    /** Part of the delay randomized, 0 means no jitter and 1 full jitter. */
+    private final double jitter;
+
+    /** Http codes triggering a retry. */
+    private final Set<Integer> retryableStatusCodes;
+
+    /** POST requests on those path suffixes are retried. */
+    private final Set<String> retryablePostPaths;
+
+    /** Use the Retry-After header when present. */
+    private final boolean respectRetryAfter;
+
+    /** Above this Retry-After value the request is not retried. */
+    private final Duration maxRetryAfter;
+
+    /** Global budget of retries. */
+    private final RetryBudget budget;
+
+    /**
+     * Full constructor, use the builder.
+     *
+     * @param builder
+     *      current builder
+     */
+    private RetryPolicy(RetryPolicyBuilder builder) {
+        this.maxAttempts          = builder.maxAttempts;
+        this.initialBackoff       = builder.initialBackoff;
+        this.maxBackoff           = builder.maxBackoff;
+        this.multiplier           = builder.multiplier;
+        this.jitter               = builder.jitter;
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(builder.retryableStatusCodes));
+        this.retryablePostPaths   = Collections.unmodifiableSet(new HashSet<>(builder.retryablePostPaths));
+        this.respectRetryAfter    = builder.respectRetryAfter;
+        this.maxRetryAfter        = builder.maxRetryAfter;
+        this.budget               = builder.budget;
+    }
+
+    /**
+     * Helper to create a builder.
+     *
+     * @return
+     *      an instance of the builder
+     */
+    public static RetryPolicyBuilder builder() {
+        return new RetryPolicyBuilder();
+    }
+
+    /**
+     * Tells if a request can be retried at all.
+     *
+     * @param method
+     *      http method
+     * @param path
+     *      request path
+     * @return
+     *      if the request can be retried
+     */
+    public boolean isRetryable(String method, String path) {
+        if (maxAttempts <= 1) {
+            return false;
+        }
+        if (IDEMPOTENT_METHODS.contains(method)) {
+            return true;
+        }
+        if ("POST".equals(method) && path != null) {
+            String cleanPath = path.contains("?") ? path.substring(0, path.indexOf('?')) : path;
+            return retryablePostPaths.stream().anyMatch(cleanPath::endsWith);
+        }
+        return false;
+    }
+
+    /**
+     * Tells if an http code is transient.
+     *
+     * @param code
+     *      http code
+     * @return
+     *      if the code should be retried
+     */
+    public boolean isRetryableStatus(int code) {
+        return retryableStatusCodes.contains(code);
+    }
+
+    /**
+     * Tells if an I/O error is transient, unresolved hosts, TLS errors and pool
+     * exhaustion are not retried.
+     *
+     * @param error
+     *      error raised by the client
+     * @return
+     *      if the error should be retried
+     */
+    public boolean isRetryableException(Exception error) {
+        return !(error instanceof UnknownHostException)
+            && !(error instanceof SSLException)
+            && !(error instanceof ConnectionRequestTimeoutException);
+    }
+
+    /**
+     * Compute the delay before the next attempt.
+     *
+     * @param attempt
+     *      attempt that just failed, starting at 1
+     * @param retryAfter
+     *      value of the Retry-After header if any
+     * @return
+     *      delay before next attempt, or null if the request should not be retried
+     */
+    public Duration nextDelay(int attempt, String retryAfter) {
+        if (attempt >= maxAttempts) {
+            return null;
+        }
+        if (respectRetryAfter && retryAfter != null) {
+            Duration serverDelay = parseRetryAfter(retryAfter);
+            if (serverDelay != null) {
+                return serverDelay.compareTo(maxRetryAfter) > 0 ? null : serverDelay;
+            }
+        }
+        double backoff = initialBackoff.toMillis() * Math.pow(multiplier, attempt - 1);
+        double capped  = Math.min(backoff, maxBackoff.toMillis());
+        double delay   = capped * (1 - jitter * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis((long) delay);
+    }
+
+    /**
+     * Parse the Retry-After header, as a number of seconds or as an http date.
+     *
+     * @param retryAfter
+     *      header value
+     * @return
+     *      delay or null if invalid
+     */
+    public static Duration parseRetryAfter(String retryAfter) {
+        String value = retryAfter.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException nfe) {
+            Instant date = DateUtils.parseStandardDate(value);
+            if (date == null) {
+                return null;
+            }
+            Duration delay = Duration.between(Instant.now(), date);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        }
+    }
+
+    /**
+     * Builder.
+     */
+    public static class RetryPolicyBuilder {
+        /** */
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        /** */
+        private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+        /** */
+        private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+        /** */
+        private double multiplier = 2;
+        /** */
+        private double jitter = 0.5;
+        /** */
+        private Set<Integer> retryableStatusCodes = new HashSet<>(Arrays.asList(429, 502, 503, 504));
+        /** */
+        private final Set<String> retryablePostPaths = new HashSet<>();
+        /** */
+        private boolean respectRetryAfter = true;
+        /** */
+        private Duration maxRetryAfter = DEFAULT_MAX_RETRY_AFTER;
+        /** */
+        private RetryBudget budget = new RetryBudget(0.2, 10);
+
+        /**
+         * Default constructor.
+         */
+        public RetryPolicyBuilder() {}
+
+        /**
+         * Define the number of attempts, including the first one.
+         *
+         * @param attempts
+         *      the value for max attempts, 1 disables retries
+         * @return
+         *      this instance.
+         */
+        public RetryPolicyBuilder maxAttempts(int attempts) {
+            Assert.isTrue(attempts > 0, "Max attempts should be positive");
+            this.maxAttempts = attempts;
+            return this;
+        }
+
+        /**
+         * Define the exponential backoff.
+         *
+         * @param initial
+         *      delay before the first retry
+         * @param max
+         *      maximum delay between two attempts
+         * @return
+         *      this instance.
+         */
+        public RetryPolicyBuilder backoff(Duration initial, Duration max) {
+            Assert.notNull(initial, "initial");
+            Assert.notNull(max, "max");
+            this.initialBackoff = initial;
+            this.maxBackoff     = max;
+            return this;
+        }
+
+        /**
+         * Define the backoff growth between two attempts.
+         *
+         * @param m
+         *      the value for multiplier
+         * @return
+         *      this instance.
+         */
+        public RetryPolicyBuilder multiplier(double m) {
+            Assert.isTrue(m >= 1, "Multiplier should be greater than 1");
+            this.multiplier = m;
+            return this;
+        }
+
+        /**
+         * Define the part of the delay which is randomized.
+         *
+         * @param j
+         *      0 for no jitter, 1 for full jitter
+         * @return
+         *      this instance.
+         */
+        public RetryPolicyBuilder jitter(double j) {
+            Assert.isTrue(j >= 0 && j <= 1, "Jitter should be between 0 and 1");
+            this.jitter = j;
+            return this;
+        }
+
+        /**
+         * Define the http codes triggering a retry.
+         *
+         * @param codes
+         *      the value for retryable codes
+         * @return
+         *      this instance.
+         */
+        public RetryPolicyBuilder retryOnStatus(Integer... codes) {
+            Assert.notNull(codes, "codes");
+            this.retryableStatusCodes = new HashSet<>(Arrays.asList(codes));
+            return this;
+        }
+
+        /**
+         * Opt-in retries for POST requests on some path suffixes.
+         *
+         * @param pathSuffixes
+         *      path suffixes like <code>/park</code>, <code>/resize</code>
+         * @return
+         *      this instance.
+         */
+        public RetryPolicyBuilder retryOnPost(String... pathSuffixes) {
+            Assert.notNull(pathSuffixes, "pathSuffixes");
+            this.retryablePostPaths.addAll(Arrays.asList(pathSuffixes));
+            return this;
+        }
+
+        /**
+         * Define if the Retry-After header is honoured.
+         *
+         * @param respect
+         *      the value for respect retry after
+         * @param max
+         *      above this value requests are not retried
+         * @return
+         *      this instance.
+         */
+        public RetryPolicyBuilder retryAfter(boolean respect, Duration max) {
+            Assert.notNull(max, "max");
+            this.respectRetryAfter = respect;
+            this.maxRetryAfter     = max;
+            return this;
+        }
+
+        /**
+         * Define the retry budget.
+         *
+         * @param ratio
+         *      percentage of requests that can be retried, between 0 and 1
+         * @param minRetriesPerSecond
+         *      retries always allowed per second
+         * @return
+         *      this instance.
+         */
+        public RetryPolicyBuilder budget(double ratio, int minRetriesPerSecond) {
+            this.budget = new RetryBudget(ratio, minRetriesPerSecond);
+            return this;
+        }
+
+        /**
+         * Disable the retry budget.
+         *
+         * @return
+         *      this instance.
+         */
+        public RetryPolicyBuilder unlimitedBudget() {
+            this.budget = RetryBudget.UNLIMITED;
+            return this;
+        }
+
+        /**
+         * Build the immutable instance.
+         *
+         * @return
+         *      an instance of retry policy
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+
+    /**
+     * Getter accessor for attribute 'maxAttempts'.
+     *
+     * @return
+     *       current value of 'maxAttempts'
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Getter accessor for attribute 'budget'.
+     *
+     * @return
+     *       current value of 'budget'
+     */
+    public RetryBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Getter accessor for attribute 'retryablePostPaths'.
+     *
+     * @return
+     *       current value of 'retryablePostPaths'
+     */
+    public Set<String> getRetryablePostPaths() {
+        return retryablePostPaths;
+    }
+
+}
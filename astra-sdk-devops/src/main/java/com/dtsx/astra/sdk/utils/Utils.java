@@ -16,6 +16,9 @@
 
 package com.dtsx.astra.sdk.utils;
 
+import com.dtsx.astra.sdk.utils.jfr.FileDownloadEvent;
+import com.dtsx.astra.sdk.utils.jfr.JfrSupport;
+
 import java.io.BufferedInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -23,7 +26,10 @@ import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 /**
  * Utilities
@@ -31,11 +37,69 @@ import java.util.Optional;
  * @author Cedrick LUNVEN (@clunven)
  */
 public class Utils {
+
+    /** Identifiers in paths outside of the known routes: uuids, optionally suffixed by a number, and numbers. */
+    private static final Pattern PATH_IDENTIFIER =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}(-[0-9]+)?|[0-9]+");
+
+    /** Variable segments following a path segment in the routes of the devops and streaming APIs. */
+    private static final Map<String, String[]> PATH_VARIABLES = new HashMap<>();
+
+    static {
+        PATH_VARIABLES.put("databases",       new String[] {"{id}"});
+        PATH_VARIABLES.put("keyspaces",       new String[] {"{keyspace}"});
+        PATH_VARIABLES.put("datacenters",     new String[] {"{id}"});
+        PATH_VARIABLES.put("tenants",         new String[] {"{tenant}"});
+        PATH_VARIABLES.put("clusters",        new String[] {"{cluster}"});
+        PATH_VARIABLES.put("namespaces",      new String[] {"{tenant}", "{namespace}"});
+        PATH_VARIABLES.put("topics",          new String[] {"{tenant}", "{namespace}"});
+        PATH_VARIABLES.put("clientIdSecrets", new String[] {"{id}"});
+        PATH_VARIABLES.put("users",           new String[] {"{id}"});
+        PATH_VARIABLES.put("roles",           new String[] {"{id}"});
+        PATH_VARIABLES.put("graphql",         new String[] {"{keyspace}"});
+    }
     
     /**
      * Private constructor
      */
     private Utils() {}
+
+    /**
+     * Template of a path, the query string is removed and the variable segments of the known
+     * routes are replaced by placeholders, like <code>/v2/databases/{id}/keyspaces/{keyspace}</code>
+     * or <code>/v2/streaming/tenants/{tenant}/limits</code>. In other paths uuids and numbers are
+     * replaced by <code>{id}</code>. Templates are used as metrics tags and circuit keys, their
+     * number is bounded by the number of routes.
+     *
+     * @param path
+     *      request path
+     * @return
+     *      path template
+     */
+    public static String pathTemplate(String path) {
+        if (path == null) {
+            return "";
+        }
+        int query = path.indexOf('?');
+        String[] segments = (query < 0 ? path : path.substring(0, query)).split("/", -1);
+        StringBuilder template = new StringBuilder(path.length());
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                template.append('/');
+            }
+            String[] variables = PATH_VARIABLES.get(segments[i]);
+            if (variables != null) {
+                template.append(segments[i]);
+                for (int v = 0; v < variables.length && i + 1 < segments.length && !segments[i + 1].isEmpty(); v++) {
+                    template.append('/').append(variables[v]);
+                    i++;
+                }
+            } else {
+                template.append(PATH_IDENTIFIER.matcher(segments[i]).matches() ? "{id}" : segments[i]);
+            }
+        }
+        return template.toString();
+    }
     
     /**
      * hasLength
@@ -68,6 +132,8 @@ public class Utils {
         URL url;
         FileOutputStream    fis = null;
         BufferedInputStream bis = null;
+        FileDownloadEvent event = JfrSupport.beginFileDownload();
+        long bytes = 0;
         try {
             url = new URL(urlStr);
             HttpURLConnection urlConnection = (HttpURLConnection) url.openConnection();
@@ -78,6 +144,7 @@ public class Utils {
             int count=0;
             while((count = bis.read(buffer,0,1024)) != -1) {
                 fis.write(buffer, 0, count);
+                bytes += count;
             }
         } catch (MalformedURLException e) {
             throw new IllegalArgumentException("Cannot read URL, invalid syntax",e);
@@ -88,6 +155,9 @@ public class Utils {
                 if (null != fis) fis.close();
                 if (null!= bis)  bis.close();
             } catch (IOException e) {}
+            if (event != null) {
+                event.complete(urlStr, file, bytes);
+            }
         }
     }
     
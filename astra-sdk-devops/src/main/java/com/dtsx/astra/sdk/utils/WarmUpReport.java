@@ -0,0 +1,232 @@
+package com.dtsx.astra.sdk.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of {@link HttpClientWrapper#warmUp(int, String...)}, connections opened per host
+ * with the time spent connecting (DNS and TCP) and in the TLS handshake.
+ *
+ * <p>The first connection to a host pays a full handshake, the next ones resume the TLS
+ * session: comparing their handshake times shows the gain of the session cache.</p>
+ */
+public class WarmUpReport {
+
+    /** Hosts warmed up. */
+    private final List<HostReport> hosts = new ArrayList<>();
+
+    /** Duration of the warm up. */
+    private Duration duration = Duration.ZERO;
+
+    /**
+     * Default constructor.
+     */
+    WarmUpReport() {}
+
+    /**
+     * Add a host.
+     *
+     * @param host
+     *      host report
+     */
+    void addHost(HostReport host) {
+        hosts.add(host);
+    }
+
+    /**
+     * Complete the report.
+     *
+     * @param nanos
+     *      duration of the warm up
+     */
+    void complete(long nanos) {
+        this.duration = Duration.ofNanos(nanos);
+    }
+
+    /**
+     * Getter accessor for attribute 'hosts'.
+     *
+     * @return
+     *       current value of 'hosts'
+     */
+    public List<HostReport> getHosts() {
+        return Collections.unmodifiableList(hosts);
+    }
+
+    /**
+     * Getter accessor for attribute 'duration'.
+     *
+     * @return
+     *       current value of 'duration'
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Number of connections opened for every host.
+     *
+     * @return
+     *      connections opened
+     */
+    public int getOpenedConnections() {
+        return hosts.stream().mapToInt(HostReport::getOpenedConnections).sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "WarmUpReport{duration=" + duration.toMillis() + "ms, hosts=" + hosts + "}";
+    }
+
+    /**
+     * Connections opened to one host.
+     */
+    public static class HostReport {
+
+        /** Target host. */
+        private final String host;
+
+        /** Time connecting, per connection. */
+        private final List<Duration> connectTimes = new ArrayList<>();
+
+        /** Time in the TLS handshake, per connection. */
+        private final List<Duration> tlsHandshakeTimes = new ArrayList<>();
+
+        /** Connections already opened in the pool. */
+        private int reusedConnections;
+
+        /** Error which stopped the warm up of the host. */
+        private String error;
+
+        /**
+         * Constructor.
+         *
+         * @param host
+         *      target host
+         */
+        HostReport(String host) {
+            this.host = host;
+        }
+
+        /**
+         * A connection has been opened.
+         *
+         * @param connect
+         *      time connecting
+         * @param tlsHandshake
+         *      time in the TLS handshake
+         */
+        void addConnection(Duration connect, Duration tlsHandshake) {
+            connectTimes.add(connect);
+            tlsHandshakeTimes.add(tlsHandshake);
+        }
+
+        /**
+         * A connection was already opened in the pool.
+         */
+        void addReusedConnection() {
+            reusedConnections++;
+        }
+
+        /**
+         * The warm up of the host failed.
+         *
+         * @param message
+         *      error message
+         */
+        void setError(String message) {
+            this.error = message;
+        }
+
+        /**
+         * Getter accessor for attribute 'host'.
+         *
+         * @return
+         *       current value of 'host'
+         */
+        public String getHost() {
+            return host;
+        }
+
+        /**
+         * Number of connections opened.
+         *
+         * @return
+         *      connections opened
+         */
+        public int getOpenedConnections() {
+            return connectTimes.size();
+        }
+
+        /**
+         * Getter accessor for attribute 'reusedConnections'.
+         *
+         * @return
+         *       current value of 'reusedConnections'
+         */
+        public int getReusedConnections() {
+            return reusedConnections;
+        }
+
+        /**
+         * Getter accessor for attribute 'connectTimes'.
+         *
+         * @return
+         *       current value of 'connectTimes'
+         */
+        public List<Duration> getConnectTimes() {
+            return Collections.unmodifiableList(connectTimes);
+        }
+
+        /**
+         * Getter accessor for attribute 'tlsHandshakeTimes'.
+         *
+         * @return
+         *       current value of 'tlsHandshakeTimes'
+         */
+        public List<Duration> getTlsHandshakeTimes() {
+            return Collections.unmodifiableList(tlsHandshakeTimes);
+        }
+
+        /**
+         * Getter accessor for attribute 'error'.
+         *
+         * @return
+         *       current value of 'error', null when every connection was opened
+         */
+        public String getError() {
+            return error;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(host).append("{opened=").append(getOpenedConnections())
+                    .append(", reused=").append(reusedConnections)
+                    .append(", connect=").append(millis(connectTimes))
+                    .append(", tls=").append(millis(tlsHandshakeTimes));
+            if (error != null) {
+                sb.append(", error=").append(error);
+            }
+            return sb.append("}").toString();
+        }
+
+        /**
+         * Durations in milliseconds for display.
+         *
+         * @param durations
+         *      durations
+         * @return
+         *      list of milliseconds
+         */
+        private static List<Long> millis(List<Duration> durations) {
+            List<Long> values = new ArrayList<>(durations.size());
+            durations.forEach(d -> values.add(d.toMillis()));
+            return values;
+        }
+    }
+
+}
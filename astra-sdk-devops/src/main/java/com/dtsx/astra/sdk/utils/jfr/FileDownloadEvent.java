@@ -0,0 +1,51 @@
+package com.dtsx.astra.sdk.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Download of a file, like a secure connect bundle, by <code>Utils.downloadFile</code>.
+ */
+@Name("com.dtsx.astra.sdk.FileDownload")
+@Label("Astra File Download")
+@Category({"Astra SDK", "HTTP"})
+@Description("Download of a file such as a secure connect bundle")
+public class FileDownloadEvent extends jdk.jfr.Event {
+
+    /** Source url, without query string. */
+    @Label("Url")
+    String url;
+
+    /** Target file. */
+    @Label("File")
+    String file;
+
+    /** Bytes written. */
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    /**
+     * Commit the event when a recording is in progress.
+     *
+     * @param url
+     *      source url, the query string (signature) is removed
+     * @param file
+     *      target file
+     * @param bytes
+     *      bytes written
+     */
+    public void complete(String url, String file, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.url   = (url != null && url.contains("?")) ? url.substring(0, url.indexOf('?')) : url;
+            this.file  = file;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.dtsx.astra.sdk.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One exchange (attempt) sent by the <code>HttpClientWrapper</code>, from the permit to the
+ * response headers.
+ */
+@Name("com.dtsx.astra.sdk.HttpExchange")
+@Label("Astra HTTP Exchange")
+@Category({"Astra SDK", "HTTP"})
+@Description("Exchange with an Astra endpoint, retries are separate events")
+@StackTrace(false)
+public class HttpExchangeEvent extends jdk.jfr.Event {
+
+    /** Http method. */
+    @Label("Method")
+    String method;
+
+    /** Target host. */
+    @Label("Host")
+    String host;
+
+    /** Path with identifiers replaced. */
+    @Label("Path Template")
+    String pathTemplate;
+
+    /** Http code, -1 on error and 0 when cancelled. */
+    @Label("Status")
+    int status;
+
+    /** Size of the response body, -1 when unknown. */
+    @Label("Response Size")
+    @DataAmount
+    long responseBytes;
+
+    /**
+     * Commit the event when a recording is in progress.
+     *
+     * @param method
+     *      http method
+     * @param host
+     *      target host
+     * @param pathTemplate
+     *      path with identifiers replaced
+     * @param status
+     *      http code, -1 on error and 0 when cancelled
+     * @param responseBytes
+     *      size of the response body, -1 when unknown
+     */
+    public void complete(String method, String host, String pathTemplate, int status, long responseBytes) {
+        end();
+        if (shouldCommit()) {
+            this.method        = method;
+            this.host          = host;
+            this.pathTemplate  = pathTemplate;
+            this.status        = status;
+            this.responseBytes = responseBytes;
+            commit();
+        }
+    }
+
+}
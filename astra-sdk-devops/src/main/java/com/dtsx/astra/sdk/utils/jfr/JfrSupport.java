@@ -0,0 +1,90 @@
+package com.dtsx.astra.sdk.utils.jfr;
+
+/**
+ * Entry point to the Java Flight Recorder events of the SDK.
+ *
+ * <p>Events are only instantiated when the <code>jdk.jfr</code> module is present (Java 11+
+ * or Java 8u262+), callers receive <code>null</code> otherwise. When no recording is in
+ * progress an event is never committed and its allocation is removed by the JIT.</p>
+ */
+public final class JfrSupport {
+
+    /** Tells if the flight recorder classes can be loaded. */
+    private static final boolean AVAILABLE = detect();
+
+    /**
+     * Hide default constructor.
+     */
+    private JfrSupport() {}
+
+    /**
+     * Look for the flight recorder API.
+     *
+     * @return
+     *      if events can be emitted
+     */
+    private static boolean detect() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrSupport.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Tells if events can be emitted in this runtime.
+     *
+     * @return
+     *      if the flight recorder is available
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Start an http exchange event.
+     *
+     * @return
+     *      started event or null if the flight recorder is not available
+     */
+    public static HttpExchangeEvent beginHttpExchange() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        HttpExchangeEvent event = new HttpExchangeEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Start a JSON decoding event.
+     *
+     * @return
+     *      started event or null if the flight recorder is not available
+     */
+    public static JsonDecodeEvent beginJsonDecode() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        JsonDecodeEvent event = new JsonDecodeEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Start a file download event.
+     *
+     * @return
+     *      started event or null if the flight recorder is not available
+     */
+    public static FileDownloadEvent beginFileDownload() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        FileDownloadEvent event = new FileDownloadEvent();
+        event.begin();
+        return event;
+    }
+
+}
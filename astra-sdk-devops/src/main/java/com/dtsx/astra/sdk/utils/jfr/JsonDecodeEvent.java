@@ -0,0 +1,44 @@
+package com.dtsx.astra.sdk.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Decoding of a JSON payload by <code>JsonUtils</code>, the duration is the parse time.
+ */
+@Name("com.dtsx.astra.sdk.JsonDecode")
+@Label("Astra JSON Decode")
+@Category({"Astra SDK", "JSON"})
+@Description("Binding of a JSON payload to a Java type")
+public class JsonDecodeEvent extends jdk.jfr.Event {
+
+    /** Target type. */
+    @Label("Target Type")
+    String targetType;
+
+    /** Size of the input in characters. */
+    @Label("Input Size")
+    @DataAmount
+    long inputSize;
+
+    /**
+     * Commit the event when a recording is in progress.
+     *
+     * @param targetType
+     *      target type
+     * @param inputSize
+     *      size of the input in characters
+     */
+    public void complete(String targetType, long inputSize) {
+        end();
+        if (shouldCommit()) {
+            this.targetType = targetType;
+            this.inputSize  = inputSize;
+            commit();
+        }
+    }
+
+}
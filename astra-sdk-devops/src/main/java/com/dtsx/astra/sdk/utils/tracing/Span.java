@@ -0,0 +1,68 @@
+package com.dtsx.astra.sdk.utils.tracing;
+
+/**
+ * Unit of work of a trace, created by a {@link Tracer}.
+ *
+ * <p>Every method has a no-op default so implementations only bridge what their tracing
+ * library supports. A span exposing a W3C <code>traceparent</code> value has it sent with
+ * the requests, the server joins the trace of the caller.</p>
+ */
+public interface Span {
+
+    /** No-op implementation. */
+    Span NOOP = new Span() {};
+
+    /**
+     * Add an attribute.
+     *
+     * @param key
+     *      attribute name
+     * @param value
+     *      attribute value
+     */
+    default void setAttribute(String key, String value) {}
+
+    /**
+     * Add a numeric attribute.
+     *
+     * @param key
+     *      attribute name
+     * @param value
+     *      attribute value
+     */
+    default void setAttribute(String key, long value) {}
+
+    /**
+     * Mark the span as failed.
+     *
+     * @param error
+     *      cause of the failure
+     */
+    default void recordError(Throwable error) {}
+
+    /**
+     * Value of the W3C <code>traceparent</code> header identifying this span.
+     *
+     * @return
+     *      header value, or null to propagate nothing
+     */
+    default String getTraceParent() {
+        return null;
+    }
+
+    /**
+     * Value of the W3C <code>tracestate</code> header, vendor specific data.
+     *
+     * @return
+     *      header value, or null
+     */
+    default String getTraceState() {
+        return null;
+    }
+
+    /**
+     * Complete the span, it is not modified afterwards.
+     */
+    default void end() {}
+
+}
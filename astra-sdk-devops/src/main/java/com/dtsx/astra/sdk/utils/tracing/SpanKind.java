@@ -0,0 +1,13 @@
+package com.dtsx.astra.sdk.utils.tracing;
+
+/**
+ * Role of a span in the trace.
+ */
+public enum SpanKind {
+
+    /** Logical operation of the SDK, parent of the requests it sends. */
+    INTERNAL,
+
+    /** Http request sent to the server. */
+    CLIENT
+}
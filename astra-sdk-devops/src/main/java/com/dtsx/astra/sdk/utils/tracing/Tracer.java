@@ -0,0 +1,48 @@
+package com.dtsx.astra.sdk.utils.tracing;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * Tracing SPI of {@link com.dtsx.astra.sdk.utils.HttpClientWrapper}.
+ *
+ * <p>A client span is started for each request sent to the server and logical operations
+ * of the SDK, like the creation of a CDC, are parent spans of the requests they send.
+ * Implementations bridge the spans to a tracing library, like OpenTelemetry, and are
+ * discovered with the {@link ServiceLoader} when present on the classpath.
+ * {@link W3CTracer} generates W3C trace context without any library. Without
+ * implementation nothing is traced.</p>
+ */
+public interface Tracer {
+
+    /** No-op implementation. */
+    Tracer NONE = new Tracer() {};
+
+    /**
+     * Start a span.
+     *
+     * @param name
+     *      name of the span, operation or <code>METHOD /path/{id}</code> for requests
+     * @param kind
+     *      role of the span
+     * @param parent
+     *      parent span, null for a new trace
+     * @return
+     *      started span
+     */
+    default Span startSpan(String name, SpanKind kind, Span parent) {
+        return Span.NOOP;
+    }
+
+    /**
+     * First implementation available with the {@link ServiceLoader}.
+     *
+     * @return
+     *      implementation found or {@link #NONE}
+     */
+    static Tracer discover() {
+        Iterator<Tracer> it = ServiceLoader.load(Tracer.class).iterator();
+        return it.hasNext() ? it.next() : NONE;
+    }
+
+}
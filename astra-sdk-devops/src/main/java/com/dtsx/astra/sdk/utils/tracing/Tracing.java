@@ -0,0 +1,111 @@
+package com.dtsx.astra.sdk.utils.tracing;
+
+import java.util.function.Supplier;
+
+/**
+ * Span of the current thread.
+ *
+ * <p>An operation executed with {@link #call(Tracer, String, Supplier)} is the parent of
+ * every request sent in its scope, including the ones of nested clients and nested
+ * operations. Non-blocking calls capture the current span when they start.</p>
+ */
+public final class Tracing {
+
+    /** W3C header identifying the parent span. */
+    public static final String HEADER_TRACEPARENT = "traceparent";
+
+    /** W3C header carrying vendor specific data. */
+    public static final String HEADER_TRACESTATE = "tracestate";
+
+    /** Span of the current thread. */
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Hide default constructor.
+     */
+    private Tracing() {}
+
+    /**
+     * Span bound to the current thread.
+     *
+     * @return
+     *      current span, or null
+     */
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Execute an operation in a new span, child of the current one.
+     *
+     * @param tracer
+     *      tracer
+     * @param operation
+     *      name of the operation
+     * @param call
+     *      operation to execute
+     * @param <T>
+     *      returned type
+     * @return
+     *      result of the call
+     */
+    public static <T> T call(Tracer tracer, String operation, Supplier<T> call) {
+        if (tracer == null || tracer == Tracer.NONE) {
+            return call.get();
+        }
+        final Span span = tracer.startSpan(operation, SpanKind.INTERNAL, current());
+        try {
+            return withSpan(span, call);
+        } catch (RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Execute an operation in a new span, child of the current one.
+     *
+     * @param tracer
+     *      tracer
+     * @param operation
+     *      name of the operation
+     * @param run
+     *      operation to execute
+     */
+    public static void run(Tracer tracer, String operation, Runnable run) {
+        call(tracer, operation, () -> {
+            run.run();
+            return null;
+        });
+    }
+
+    /**
+     * Execute a call with a span bound to the current thread, used to continue a trace on
+     * another thread or from an incoming request.
+     *
+     * @param span
+     *      span to bind, can be null
+     * @param call
+     *      call to execute
+     * @param <T>
+     *      returned type
+     * @return
+     *      result of the call
+     */
+    public static <T> T withSpan(Span span, Supplier<T> call) {
+        final Span previous = CURRENT.get();
+        CURRENT.set(span);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,347 @@
+package com.dtsx.astra.sdk.utils.tracing;
+
+import com.dtsx.astra.sdk.utils.Assert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Tracer generating W3C trace context without tracing library.
+ *
+ * <p>Spans inherit the trace identifier of their parent, a remote parent being created from
+ * an incoming <code>traceparent</code> header with {@link #remoteParent(String, String)}.
+ * Completed spans are sent to an exporter, like a logger or a collector client. Traces not
+ * sampled by the caller are propagated but not exported.</p>
+ */
+public class W3CTracer implements Tracer {
+
+    /** Format of the <code>traceparent</code> header, version 00. */
+    private static final Pattern TRACE_PARENT = Pattern.compile("00-[0-9a-f]{32}-[0-9a-f]{16}-[0-9a-f]{2}");
+
+    /** Invalid identifier. */
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+
+    /** Bit of the trace flags telling the caller sampled the trace. */
+    private static final int FLAG_SAMPLED = 0x01;
+
+    /** Receives the completed spans. */
+    private final Consumer<W3CSpan> exporter;
+
+    /**
+     * Constructor.
+     *
+     * @param exporter
+     *      receives the completed spans
+     */
+    public W3CTracer(Consumer<W3CSpan> exporter) {
+        Assert.notNull(exporter, "exporter");
+        this.exporter = exporter;
+    }
+
+    /**
+     * Parent span received from a caller, to be bound with {@link Tracing#withSpan(Span, java.util.function.Supplier)}.
+     *
+     * @param traceParent
+     *      value of the <code>traceparent</code> header
+     * @param traceState
+     *      value of the <code>tracestate</code> header, can be null
+     * @return
+     *      remote parent, or null when the header is invalid
+     */
+    public static Span remoteParent(String traceParent, String traceState) {
+        if (!isValid(traceParent)) {
+            return null;
+        }
+        return new Span() {
+
+            /** {@inheritDoc} */
+            @Override
+            public String getTraceParent() {
+                return traceParent;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public String getTraceState() {
+                return traceState;
+            }
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Span startSpan(String name, SpanKind kind, Span parent) {
+        final String parentHeader = (parent == null) ? null : parent.getTraceParent();
+        if (isValid(parentHeader)) {
+            return new W3CSpan(this, name, kind,
+                    parentHeader.substring(3, 35),
+                    parentHeader.substring(36, 52),
+                    (Integer.parseInt(parentHeader.substring(53, 55), 16) & FLAG_SAMPLED) != 0,
+                    parent.getTraceState());
+        }
+        String traceId;
+        do {
+            traceId = randomHex() + randomHex();
+        } while (INVALID_TRACE_ID.equals(traceId));
+        return new W3CSpan(this, name, kind, traceId, null, true, null);
+    }
+
+    /**
+     * Tells if a <code>traceparent</code> header can be continued.
+     *
+     * @param traceParent
+     *      header value
+     * @return
+     *      if the header is valid
+     */
+    private static boolean isValid(String traceParent) {
+        return traceParent != null
+                && TRACE_PARENT.matcher(traceParent).matches()
+                && !traceParent.startsWith(INVALID_TRACE_ID, 3)
+                && !traceParent.startsWith("0000000000000000", 36);
+    }
+
+    /**
+     * Random identifier of 8 bytes, never zero.
+     *
+     * @return
+     *      identifier in hexadecimal
+     */
+    private static String randomHex() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        String hex = Long.toHexString(id);
+        return "0000000000000000".substring(hex.length()) + hex;
+    }
+
+    /**
+     * Span of a {@link W3CTracer}, exported when it ends.
+     */
+    public static final class W3CSpan implements Span {
+
+        /** Owner. */
+        private final W3CTracer tracer;
+
+        /** Name of the span. */
+        private final String name;
+
+        /** Role of the span. */
+        private final SpanKind kind;
+
+        /** Trace identifier. */
+        private final String traceId;
+
+        /** Span identifier. */
+        private final String spanId;
+
+        /** Parent span identifier, null for a root span. */
+        private final String parentSpanId;
+
+        /** If the trace is sampled. */
+        private final boolean sampled;
+
+        /** Vendor specific data. */
+        private final String traceState;
+
+        /** Start time. */
+        private final Instant startTime;
+
+        /** Start in nanoseconds. */
+        private final long startNanos;
+
+        /** Attributes. */
+        private final Map<String, Object> attributes = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        /** Duration, -1 until the span ends. */
+        private volatile long durationNanos = -1;
+
+        /** Cause of the failure. */
+        private volatile Throwable error;
+
+        /**
+         * Constructor.
+         *
+         * @param tracer
+         *      owner
+         * @param name
+         *      name of the span
+         * @param kind
+         *      role of the span
+         * @param traceId
+         *      trace identifier
+         * @param parentSpanId
+         *      parent span identifier, can be null
+         * @param sampled
+         *      if the trace is sampled
+         * @param traceState
+         *      vendor specific data, can be null
+         */
+        private W3CSpan(W3CTracer tracer, String name, SpanKind kind, String traceId, String parentSpanId,
+                        boolean sampled, String traceState) {
+            this.tracer       = tracer;
+            this.name         = name;
+            this.kind         = kind;
+            this.traceId      = traceId;
+            this.spanId       = randomHex();
+            this.parentSpanId = parentSpanId;
+            this.sampled      = sampled;
+            this.traceState   = traceState;
+            this.startTime    = Instant.now();
+            this.startNanos   = System.nanoTime();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setAttribute(String key, String value) {
+            attributes.put(key, value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setAttribute(String key, long value) {
+            attributes.put(key, value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void recordError(Throwable error) {
+            this.error = error;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getTraceParent() {
+            return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String getTraceState() {
+            return traceState;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void end() {
+            if (durationNanos < 0) {
+                durationNanos = System.nanoTime() - startNanos;
+                if (sampled) {
+                    tracer.exporter.accept(this);
+                }
+            }
+        }
+
+        /**
+         * Getter accessor for attribute 'name'.
+         *
+         * @return
+         *       current value of 'name'
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Getter accessor for attribute 'kind'.
+         *
+         * @return
+         *       current value of 'kind'
+         */
+        public SpanKind getKind() {
+            return kind;
+        }
+
+        /**
+         * Getter accessor for attribute 'traceId'.
+         *
+         * @return
+         *       current value of 'traceId'
+         */
+        public String getTraceId() {
+            return traceId;
+        }
+
+        /**
+         * Getter accessor for attribute 'spanId'.
+         *
+         * @return
+         *       current value of 'spanId'
+         */
+        public String getSpanId() {
+            return spanId;
+        }
+
+        /**
+         * Getter accessor for attribute 'parentSpanId'.
+         *
+         * @return
+         *       current value of 'parentSpanId', null for a root span
+         */
+        public String getParentSpanId() {
+            return parentSpanId;
+        }
+
+        /**
+         * Getter accessor for attribute 'startTime'.
+         *
+         * @return
+         *       current value of 'startTime'
+         */
+        public Instant getStartTime() {
+            return startTime;
+        }
+
+        /**
+         * Duration of the span.
+         *
+         * @return
+         *      duration, null until the span ends
+         */
+        public Duration getDuration() {
+            long duration = durationNanos;
+            return (duration < 0) ? null : Duration.ofNanos(duration);
+        }
+
+        /**
+         * Copy of the attributes.
+         *
+         * @return
+         *      attributes
+         */
+        public Map<String, Object> getAttributes() {
+            synchronized (attributes) {
+                return new LinkedHashMap<>(attributes);
+            }
+        }
+
+        /**
+         * Getter accessor for attribute 'error'.
+         *
+         * @return
+         *       current value of 'error', null when the span succeeded
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            Duration duration = getDuration();
+            return "W3CSpan{" + name + ", kind=" + kind + ", traceId=" + traceId + ", spanId=" + spanId
+                    + ", parentSpanId=" + parentSpanId
+                    + ", duration=" + (duration == null ? "-" : duration.toMillis() + "ms")
+                    + ", attributes=" + getAttributes()
+                    + (error == null ? "" : ", error=" + error.getMessage()) + "}";
+        }
+    }
+
+}
@@ -1,16 +1,44 @@
 package com.dtsx.astra.sdk;
 
 import com.dtsx.astra.sdk.db.domain.CloudProviderType;
+import com.dtsx.astra.sdk.exception.DeadlineExceededException;
 import com.dtsx.astra.sdk.db.domain.DatabaseRegion;
 import com.dtsx.astra.sdk.org.domain.*;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.dtsx.astra.sdk.utils.ApiLocator;
+import com.dtsx.astra.sdk.utils.ApiResponseHttp;
+import com.dtsx.astra.sdk.utils.CircuitBreaker;
+import com.dtsx.astra.sdk.utils.ConnectionPoolConfig;
+import com.dtsx.astra.sdk.utils.ConnectionPoolStats;
+import com.dtsx.astra.sdk.utils.Deadline;
+import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.HttpMetrics;
+import com.dtsx.astra.sdk.utils.HttpMetricsRegistry;
+import com.dtsx.astra.sdk.utils.RateLimiter;
+import com.dtsx.astra.sdk.utils.RequestTimings;
+import com.dtsx.astra.sdk.utils.RequestTimingsListener;
+import com.dtsx.astra.sdk.utils.ResponseCache;
+import com.dtsx.astra.sdk.utils.RetryPolicy;
+import com.dtsx.astra.sdk.utils.WarmUpReport;
+import com.dtsx.astra.sdk.utils.tracing.Tracing;
+import com.dtsx.astra.sdk.utils.tracing.W3CTracer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @TestMethodOrder(OrderAnnotation.class)
 public class ApiDevopsClientTest extends AbstractDevopsApiTest {
@@ -76,4 +104,345 @@ public class ApiDevopsClientTest extends AbstractDevopsApiTest {
         Assertions.assertTrue(iamClient.db().regions().findAllServerless().count() > 0);
     }
 
+    @Test
+    @Order(6)
+    @DisplayName("Multiplex non-blocking calls")
+    public void shouldExecuteAsyncRequests() {
+        // Given
+        AstraDevopsApiClient cli = new AstraDevopsApiClient(getToken());
+        // When
+        List<CompletableFuture<ApiResponseHttp>> calls = IntStream.range(0, 10)
+                .mapToObj(i -> cli.GETAsync(ApiLocator.getApiDevopsEndpoint() + "/currentOrg"))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+        // Then
+        calls.forEach(c -> Assertions.assertEquals(200, c.join().getCode()));
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Per host connection pool limits and statistics")
+    public void shouldConfigureConnectionPool() {
+        // Given
+        HttpClientWrapper.configureConnectionPool(ConnectionPoolConfig.builder()
+                .maxTotal(200)
+                .maxPerRoute("api.astra.datastax.com", 50)
+                .maxPerRoute("*.api.streaming.datastax.com", 20)
+                .timeToLive(Duration.ofMinutes(5))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build());
+        try {
+            // When
+            getApiDevopsClient().getOrganizationId();
+            ConnectionPoolStats stats = HttpClientWrapper.getInstance().getConnectionPoolStats();
+            // Then
+            Assertions.assertEquals(200, stats.getMax());
+            Assertions.assertEquals(50, stats.getRoutes().get("https://api.astra.datastax.com:443").getMax());
+            LOGGER.info("Pool statistics {}", stats);
+        } finally {
+            HttpClientWrapper.configureConnectionPool(ConnectionPoolConfig.builder().build());
+        }
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Retry transient errors with backoff")
+    public void shouldConfigureRetryPolicy() {
+        // Given
+        HttpClientWrapper.configureRetryPolicy(RetryPolicy.builder()
+                .maxAttempts(5)
+                .backoff(Duration.ofMillis(100), Duration.ofSeconds(5))
+                .retryOnPost("/park", "/unpark", "/resize")
+                .budget(0.1, 5)
+                .build());
+        try {
+            // Then
+            Assertions.assertEquals(5, HttpClientWrapper.getRetryPolicy().getMaxAttempts());
+            Assertions.assertNotNull(getApiDevopsClient().getOrganizationId());
+        } finally {
+            HttpClientWrapper.configureRetryPolicy(RetryPolicy.builder().build());
+        }
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Client-side rate limiting per token and host")
+    public void shouldThrottleRequests() {
+        // Given
+        RateLimiter limiter = RateLimiter.builder()
+                .permitsPerSecond(2)
+                .burst(2)
+                .maxWait(Duration.ofSeconds(10))
+                .build();
+        HttpClientWrapper.configureRateLimiter(limiter);
+        try {
+            // When
+            IntStream.range(0, 4).forEach(i -> getApiDevopsClient().getOrganizationId());
+            // Then
+            Assertions.assertEquals(4, limiter.getAcquiredCount());
+            Assertions.assertTrue(limiter.getThrottledCount() > 0);
+            LOGGER.info("Rate limiter {}", limiter);
+        } finally {
+            HttpClientWrapper.configureRateLimiter(null);
+        }
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Identical concurrent GET share one exchange")
+    public void shouldCoalesceIdenticalRequests() {
+        // Given
+        HttpClientWrapper.configureRequestCoalescing(true);
+        AstraDevopsApiClient cli = new AstraDevopsApiClient(getToken());
+        long before = HttpClientWrapper.getInstance().getCoalescedRequestCount();
+        try {
+            // When
+            List<CompletableFuture<ApiResponseHttp>> calls = IntStream.range(0, 10)
+                    .mapToObj(i -> cli.GETAsync(ApiLocator.getApiDevopsEndpoint() + "/currentOrg"))
+                    .collect(Collectors.toList());
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+            // Then
+            calls.forEach(c -> Assertions.assertEquals(200, c.join().getCode()));
+            Assertions.assertTrue(HttpClientWrapper.getInstance().getCoalescedRequestCount() > before);
+        } finally {
+            HttpClientWrapper.configureRequestCoalescing(false);
+        }
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Reference data served from the response cache")
+    public void shouldCacheReferenceData() {
+        // Given
+        ResponseCache cache = ResponseCache.builder()
+                .referenceData(Duration.ofMinutes(10))
+                .maxEntries(50)
+                .build();
+        HttpClientWrapper.configureResponseCache(cache);
+        try {
+            // When
+            long first  = getApiDevopsClient().db().regions().findAllServerless().count();
+            long second = getApiDevopsClient().db().regions().findAllServerless().count();
+            // Then
+            Assertions.assertEquals(first, second);
+            Assertions.assertEquals(1, cache.getMissCount());
+            Assertions.assertEquals(1, cache.getHitCount());
+            LOGGER.info("Response cache {}", cache);
+        } finally {
+            HttpClientWrapper.configureResponseCache(null);
+        }
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Dedicated transport inherited by sub clients")
+    public void shouldUseDedicatedTransport() {
+        // Given
+        try (HttpClientWrapper controlPlane = HttpClientWrapper.builder()
+                .connectionPool(ConnectionPoolConfig.builder().maxTotal(20).build())
+                .connectTimeout(Duration.ofSeconds(5))
+                .retryPolicy(RetryPolicy.NONE)
+                .build()) {
+            AstraDevopsApiClient cli = new AstraDevopsApiClient(getToken(), controlPlane);
+            // When
+            Assertions.assertTrue(cli.db().regions().findAllServerless().count() > 0);
+            // Then
+            Assertions.assertNotSame(HttpClientWrapper.getInstance(), controlPlane);
+            Assertions.assertSame(controlPlane, cli.db().getHttpClient());
+            Assertions.assertSame(controlPlane, cli.streaming().getHttpClient());
+            Assertions.assertEquals(20, controlPlane.getConnectionPoolStats().getMax());
+        }
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Deadline shared by nested calls")
+    public void shouldFailFastWhenDeadlineExpired() {
+        // Given
+        AstraDevopsApiClient cli = new AstraDevopsApiClient(getToken());
+        // When
+        long count = cli.withDeadline(Duration.ofSeconds(30), () -> cli.db().regions().findAllServerless().count());
+        // Then
+        Assertions.assertTrue(count > 0);
+        Assertions.assertThrows(DeadlineExceededException.class,
+                () -> cli.withDeadline(Duration.ZERO, cli::getOrganizationId));
+        Assertions.assertThrows(DeadlineExceededException.class,
+                () -> cli.withDeadline(Duration.ZERO, () -> cli.getHttpClient()
+                        .GETStream(ApiLocator.getApiDevopsEndpoint() + "/databases", getToken(), Map.class)
+                        .count()));
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Circuit breaker per endpoint")
+    public void shouldExposeCircuitBreakerStates() {
+        // Given
+        CircuitBreaker breaker = CircuitBreaker.builder()
+                .window(20, 5)
+                .failureRateThreshold(0.5)
+                .slowCallRateThreshold(0.8, Duration.ofSeconds(5))
+                .halfOpen(Duration.ofSeconds(30), 2)
+                .build();
+        HttpClientWrapper.configureCircuitBreaker(breaker);
+        try {
+            // When
+            getApiDevopsClient().getOrganizationId();
+            // Then
+            Map<String, CircuitBreaker.State> states = breaker.getStates();
+            Assertions.assertFalse(states.isEmpty());
+            Assertions.assertTrue(states.values().stream().allMatch(CircuitBreaker.State.CLOSED::equals));
+            LOGGER.info("Circuits {}", breaker);
+        } finally {
+            HttpClientWrapper.configureCircuitBreaker(null);
+        }
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("Metrics per method, path template and status")
+    public void shouldRecordMetrics() {
+        // Given
+        HttpMetricsRegistry registry = new HttpMetricsRegistry();
+        HttpClientWrapper.configureMetrics(registry);
+        try {
+            // When
+            getApiDevopsClient().getOrganizationId();
+            // Then
+            HttpMetricsRegistry.Timer timer = registry.getTimer("GET", "api.astra.datastax.com", "/v2/currentOrg", "2xx");
+            Assertions.assertNotNull(timer);
+            Assertions.assertTrue(timer.getCount() > 0);
+            Assertions.assertEquals(0, registry.getInFlight("api.astra.datastax.com"));
+            Assertions.assertTrue(registry.getConnectionPools().containsKey("classic"));
+            LOGGER.info("Metrics {}", registry);
+        } finally {
+            HttpClientWrapper.configureMetrics(HttpMetrics.NONE);
+        }
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Flight recorder events for exchanges and decoding")
+    public void shouldEmitFlightRecorderEvents() throws IOException {
+        // Given
+        Path dump = Files.createTempFile("astra-sdk", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.dtsx.astra.sdk.HttpExchange");
+            recording.enable("com.dtsx.astra.sdk.JsonDecode");
+            recording.start();
+            // When
+            getApiDevopsClient().getOrganization();
+            recording.stop();
+            recording.dump(dump);
+        }
+        // Then
+        List<String> events = RecordingFile.readAllEvents(dump).stream()
+                .map(e -> e.getEventType().getName())
+                .collect(Collectors.toList());
+        Assertions.assertTrue(events.contains("com.dtsx.astra.sdk.HttpExchange"));
+        Assertions.assertTrue(events.contains("com.dtsx.astra.sdk.JsonDecode"));
+        Files.deleteIfExists(dump);
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Latency breakdown of a call")
+    public void shouldBreakDownLatency() {
+        // Given
+        List<RequestTimings> responses = new ArrayList<>();
+        List<RequestTimings> parsed    = new ArrayList<>();
+        HttpClientWrapper.configureRequestTimings(new RequestTimingsListener() {
+            @Override
+            public void onResponse(RequestTimings timings) {
+                responses.add(timings);
+            }
+            @Override
+            public void onParsed(RequestTimings timings) {
+                parsed.add(timings);
+            }
+        });
+        try {
+            // When
+            getApiDevopsClient().getOrganizationId();
+            // Then
+            Assertions.assertEquals(1, responses.size());
+            Assertions.assertEquals(1, parsed.size());
+            RequestTimings timings = parsed.get(0);
+            Assertions.assertEquals("/v2/currentOrg", timings.getPathTemplate());
+            Assertions.assertEquals(200, timings.getStatus());
+            Assertions.assertTrue(timings.getTotal().toNanos() > 0);
+            LOGGER.info("Timings {}", timings);
+        } finally {
+            HttpClientWrapper.configureRequestTimings(null);
+        }
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Client spans nested in a logical operation")
+    public void shouldTraceRequests() {
+        // Given
+        List<W3CTracer.W3CSpan> spans = new ArrayList<>();
+        HttpClientWrapper.configureTracer(new W3CTracer(spans::add));
+        try {
+            // When
+            Tracing.call(HttpClientWrapper.getInstance().getTracer(), "organization",
+                    getApiDevopsClient()::getOrganizationId);
+            // Then
+            Assertions.assertEquals(2, spans.size());
+            W3CTracer.W3CSpan request   = spans.get(0);
+            W3CTracer.W3CSpan operation = spans.get(1);
+            Assertions.assertEquals("GET /v2/currentOrg", request.getName());
+            Assertions.assertEquals(operation.getTraceId(), request.getTraceId());
+            Assertions.assertEquals(operation.getSpanId(), request.getParentSpanId());
+            Assertions.assertEquals(200L, request.getAttributes().get("http.response.status_code"));
+            LOGGER.info("Spans {}", spans);
+        } finally {
+            HttpClientWrapper.configureTracer(null);
+        }
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Warm up connections to the devops API")
+    public void shouldWarmUpConnections() {
+        // Given
+        try (HttpClientWrapper http = HttpClientWrapper.builder().build()) {
+            // When
+            WarmUpReport report = http.warmUp(2);
+            // Then
+            WarmUpReport.HostReport devops = report.getHosts().get(0);
+            Assertions.assertEquals("api.astra.datastax.com", devops.getHost());
+            Assertions.assertNull(devops.getError());
+            Assertions.assertEquals(2, devops.getOpenedConnections() + devops.getReusedConnections());
+            Assertions.assertEquals(2, http.getConnectionPoolStats().getAvailable());
+            LOGGER.info("Warm up {}", report);
+            Assertions.assertNotNull(new AstraDevopsApiClient(getToken(), http).getOrganizationId());
+        }
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Evict idle connections and close a transport")
+    public void shouldEvictAndClose() throws InterruptedException {
+        // Given
+        HttpClientWrapper http = HttpClientWrapper.builder()
+                .connectionPool(ConnectionPoolConfig.builder()
+                        .maxIdleTime(Duration.ofMillis(500))
+                        .evictionInterval(Duration.ofMillis(100))
+                        .build())
+                .build();
+        AstraDevopsApiClient client = new AstraDevopsApiClient(getToken(), http);
+        client.getOrganizationId();
+        Assertions.assertEquals(1, http.getConnectionPoolStats().getAvailable());
+        // When
+        Thread.sleep(1000);
+        // Then
+        Assertions.assertEquals(0, http.getConnectionPoolStats().getAvailable());
+        http.close();
+        Assertions.assertTrue(http.isClosed());
+        Assertions.assertThrows(RuntimeException.class, client::getOrganizationId);
+        Assertions.assertTrue(http.GETAsync(ApiLocator.getApiDevopsEndpoint() + "/currentOrg", getToken())
+                .isCompletedExceptionally());
+    }
+
 }
@@ -260,4 +260,20 @@ public class DatabaseClientTest extends AbstractDevopsApiTest {
         //Assert.assertEquals(0, getDatabasesClient().findByName(SDK_TEST_DB_NAME).count());
     }
 
+    @Test
+    @Order(19)
+    @DisplayName("19. Share the database snapshot")
+    public void shouldShareDatabaseSnapshot() {
+        // Given
+        DatabaseClient dbClient = getDatabasesClient().databaseByName(SDK_TEST_DB_NAME);
+        Database snapshot = dbClient.snapshot();
+        // When
+        Assertions.assertTrue(dbClient.keyspaces().exist(SDK_TEST_KEYSPACE));
+        Assertions.assertNotNull(dbClient.accessLists());
+        // Then
+        Assertions.assertSame(snapshot, dbClient.snapshot());
+        Assertions.assertNotSame(snapshot, dbClient.refresh());
+        Assertions.assertEquals(snapshot.getId(), dbClient.snapshot().getId());
+    }
+
 }
@@ -5,9 +5,13 @@ import com.dtsx.astra.sdk.db.domain.*;
 import com.dtsx.astra.sdk.utils.TestUtils;
 import org.junit.jupiter.api.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Tests Operations on Databases level.
@@ -131,4 +135,69 @@ public class DatabasesClientTest extends AbstractDevopsApiTest {
                 .forEach(al -> Assertions.assertNotNull(al.getDatabaseId()));
     }
 
+    @Test
+    @Order(8)
+    @DisplayName("Stream databases from the response")
+    public void shouldStreamDatabases() {
+        try (Stream<Database> dbs = getDatabasesClient().searchStream(DatabaseFilter.builder().build())) {
+            Assertions.assertTrue(dbs.anyMatch(db -> SDK_TEST_DB_NAME.equals(db.getInfo().getName())));
+        }
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Decode databases as summaries")
+    public void shouldFindDatabaseSummaries() {
+        Optional<DatabaseSummary> summary = getDatabasesClient()
+                .findAllNonTerminated(DatabaseSummary.class)
+                .filter(db -> SDK_TEST_DB_NAME.equals(db.getName()))
+                .findFirst();
+        Assertions.assertTrue(summary.isPresent());
+        Assertions.assertNotNull(summary.get().getId());
+        Assertions.assertNotNull(summary.get().getStatus());
+        Assertions.assertEquals(summary.get().getId(), getDatabasesClient().databaseByName(SDK_TEST_DB_NAME).get().getId());
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("List databases page after page")
+    public void shouldSearchAllPages() {
+        long total = getDatabasesClient().findAllNonTerminated().count();
+        try (Stream<Database> dbs = getDatabasesClient().searchAll(DatabaseFilter.builder().limit(1).build())) {
+            Assertions.assertEquals(total, dbs.count());
+        }
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Resolve databases from the catalog")
+    public void shouldResolveFromCatalog() {
+        // Given
+        List<String> added = new ArrayList<>();
+        try (DatabaseCatalog catalog = DatabaseCatalog.builder()
+                .client(getDatabasesClient())
+                .ttl(Duration.ofSeconds(5))
+                .backgroundRefresh(false)
+                .listener(new DatabaseCatalogListener() {
+                    @Override
+                    public void onStatusChanged(Database database, DatabaseStatusType previousStatus) {}
+                    @Override
+                    public void onAdded(Database database) {
+                        added.add(database.getId());
+                    }
+                }).build()) {
+            // When
+            String dbId = catalog.getDatabaseId(SDK_TEST_DB_NAME);
+            // Then
+            Assertions.assertEquals(getDatabasesClient().databaseByName(SDK_TEST_DB_NAME).get().getId(), dbId);
+            Assertions.assertTrue(catalog.findById(dbId).isPresent());
+            Assertions.assertTrue(added.contains(dbId));
+            Assertions.assertEquals(added.size(), catalog.size());
+            // When
+            catalog.refresh();
+            // Then
+            Assertions.assertEquals(added.size(), catalog.size());
+        }
+    }
+
 }
@@ -0,0 +1,139 @@
+package com.dtsx.astra.sdk.utils;
+
+import com.dtsx.astra.sdk.exception.CircuitBreakerOpenException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State transitions of the {@link CircuitBreaker}, no server involved.
+ */
+public class CircuitBreakerTest {
+
+    /** Circuit of the tests. */
+    private static final String KEY = CircuitBreaker.key("api.astra.datastax.com", "/v2/databases");
+
+    @Test
+    @DisplayName("Circuits are keyed by host and path template")
+    public void shouldKeyCircuitsByPathTemplate() {
+        Assertions.assertEquals("api.astra.datastax.com/v2/databases/{id}/keyspaces",
+                CircuitBreaker.key("api.astra.datastax.com",
+                        "/v2/databases/8d4a5c6e-1f0b-4a8e-9c3d-2b7e5f6a1c90/keyspaces?x=1"));
+    }
+
+    @Test
+    @DisplayName("A circuit opens when the failure rate reaches the threshold")
+    public void shouldOpenOnFailures() {
+        // Given
+        CircuitBreaker breaker = breaker(Duration.ofSeconds(30));
+        // When
+        call(breaker, false);
+        call(breaker, true);
+        call(breaker, false);
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(KEY));
+        call(breaker, true);
+        // Then
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.getState(KEY));
+        Assertions.assertThrows(CircuitBreakerOpenException.class, () -> breaker.acquire(KEY));
+        Assertions.assertEquals(1, breaker.getRejectedCount());
+        String other = CircuitBreaker.key("api.astra.datastax.com", "/v2/currentOrg");
+        breaker.acquire(other);
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(other));
+    }
+
+    @Test
+    @DisplayName("A circuit half-opens after the wait and closes when its probes succeed")
+    public void shouldCloseAfterSuccessfulProbes() throws InterruptedException {
+        // Given
+        CircuitBreaker breaker = breaker(Duration.ofMillis(200));
+        open(breaker);
+        // When
+        Thread.sleep(300);
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(KEY));
+        breaker.acquire(KEY);
+        breaker.acquire(KEY);
+        Assertions.assertThrows(CircuitBreakerOpenException.class, () -> breaker.acquire(KEY));
+        breaker.onResult(KEY, 0, false);
+        breaker.onResult(KEY, 0, false);
+        // Then
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(KEY));
+    }
+
+    @Test
+    @DisplayName("A failed or slow probe opens the circuit again")
+    public void shouldReopenOnFailedProbe() throws InterruptedException {
+        // Given
+        CircuitBreaker breaker = breaker(Duration.ofMillis(200));
+        open(breaker);
+        Thread.sleep(300);
+        // When
+        breaker.acquire(KEY);
+        breaker.onResult(KEY, TimeUnit.SECONDS.toNanos(10), false);
+        // Then
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.getState(KEY));
+        Assertions.assertThrows(CircuitBreakerOpenException.class, () -> breaker.acquire(KEY));
+    }
+
+    @Test
+    @DisplayName("A cancelled probe frees its slot")
+    public void shouldReleaseCancelledProbe() throws InterruptedException {
+        // Given
+        CircuitBreaker breaker = breaker(Duration.ofMillis(200));
+        open(breaker);
+        Thread.sleep(300);
+        breaker.acquire(KEY);
+        breaker.acquire(KEY);
+        Assertions.assertThrows(CircuitBreakerOpenException.class, () -> breaker.acquire(KEY));
+        // When
+        breaker.release(KEY);
+        // Then
+        breaker.acquire(KEY);
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(KEY));
+    }
+
+    /**
+     * Breaker opening on half of four calls failed, probing with two calls.
+     *
+     * @param wait
+     *      time spent open before probing
+     * @return
+     *      circuit breaker
+     */
+    private static CircuitBreaker breaker(Duration wait) {
+        return CircuitBreaker.builder()
+                .window(4, 4)
+                .failureRateThreshold(0.5)
+                .slowCallRateThreshold(1.0, Duration.ofSeconds(5))
+                .halfOpen(wait, 2)
+                .build();
+    }
+
+    /**
+     * Open the circuit of the tests.
+     *
+     * @param breaker
+     *      circuit breaker
+     */
+    private static void open(CircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true);
+        }
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.getState(KEY));
+    }
+
+    /**
+     * Send a fast call through the breaker.
+     *
+     * @param breaker
+     *      circuit breaker
+     * @param failed
+     *      if the call fails
+     */
+    private static void call(CircuitBreaker breaker, boolean failed) {
+        breaker.acquire(KEY);
+        breaker.onResult(KEY, 0, failed);
+    }
+}
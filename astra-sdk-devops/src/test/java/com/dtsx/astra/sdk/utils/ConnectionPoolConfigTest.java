@@ -0,0 +1,44 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pool limits applied to the routes of the default transport, against a local stub.
+ */
+public class ConnectionPoolConfigTest {
+
+    @Test
+    @DisplayName("Removing a per host limit restores the default limit of the route")
+    public void shouldResetRouteLimits() throws Exception {
+        try (StubServer stub = StubServer.json("{}")) {
+            // Given
+            HttpClientWrapper.configureConnectionPool(ConnectionPoolConfig.builder()
+                    .maxPerRoute("localhost", 3)
+                    .build());
+            try {
+                HttpClientWrapper.getInstance().GET(stub.url("/v2/currentOrg"), "token");
+                Assertions.assertEquals(3, routeMax(stub));
+                // When
+                HttpClientWrapper.configureConnectionPool(ConnectionPoolConfig.builder().build());
+                // Then
+                Assertions.assertEquals(ConnectionPoolConfig.DEFAULT_MAX_PER_ROUTE, routeMax(stub));
+            } finally {
+                HttpClientWrapper.configureConnectionPool(ConnectionPoolConfig.builder().build());
+            }
+        }
+    }
+
+    /**
+     * Limit of the stub route in the blocking pool.
+     *
+     * @param stub
+     *      stub server
+     * @return
+     *      max connections of the route
+     */
+    private static int routeMax(StubServer stub) {
+        return HttpClientWrapper.getInstance().getConnectionPoolStats().getRoutes().get(stub.getRoute()).getMax();
+    }
+}
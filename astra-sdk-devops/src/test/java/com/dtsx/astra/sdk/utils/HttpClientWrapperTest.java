@@ -0,0 +1,208 @@
+package com.dtsx.astra.sdk.utils;
+
+import com.dtsx.astra.sdk.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Behaviour of an instance scoped transport against a local stub, no Astra credentials needed.
+ */
+public class HttpClientWrapperTest {
+
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientWrapperTest.class);
+
+    @Test
+    @DisplayName("Async requests on a closed transport fail instead of hanging")
+    public void shouldFailAsyncRequestsAfterClose() throws Exception {
+        try (StubServer stub = StubServer.start((req, res, ctx) -> res.setCode(503))) {
+            // Given
+            HttpClientWrapper http = HttpClientWrapper.builder()
+                    .retryPolicy(RetryPolicy.builder()
+                            .maxAttempts(3)
+                            .backoff(Duration.ofMillis(300), Duration.ofMillis(300))
+                            .build())
+                    .build();
+            CompletableFuture<ApiResponseHttp> retried = http.GETAsync(stub.url("/v2/currentOrg"), "token");
+            while (stub.getRequestCount() == 0) {
+                Thread.sleep(10);
+            }
+            // When
+            http.close();
+            // Then
+            Assertions.assertThrows(ExecutionException.class, () -> retried.get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(http.GETAsync(stub.url("/v2/currentOrg"), "token").isCompletedExceptionally());
+            Assertions.assertEquals(1, stub.getRequestCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Waiting for a rate limiter permit stops at the deadline")
+    public void shouldBoundPermitWaitByTheDeadline() throws Exception {
+        try (StubServer stub = StubServer.json("{}")) {
+            // Given
+            RateLimiter limiter = RateLimiter.builder()
+                    .permitsPerSecond(0.1)
+                    .burst(1)
+                    .maxWait(Duration.ofSeconds(10))
+                    .build();
+            try (HttpClientWrapper http = HttpClientWrapper.builder().rateLimiter(limiter).build()) {
+                String url = stub.url("/v2/currentOrg");
+                Assertions.assertEquals(200, http.GET(url, "token").getCode());
+                // When
+                long start = System.nanoTime();
+                Assertions.assertThrows(DeadlineExceededException.class,
+                        () -> Deadline.after(Duration.ofMillis(100)).call(() -> http.GET(url, "token")));
+                CompletableFuture<ApiResponseHttp> async = Deadline.after(Duration.ofMillis(100))
+                        .call(() -> http.GETAsync(url, "token"));
+                CompletionException error = Assertions.assertThrows(CompletionException.class, async::join);
+                // Then
+                Assertions.assertTrue(error.getCause() instanceof DeadlineExceededException);
+                Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+                Assertions.assertEquals(1, limiter.getAcquiredCount());
+                Assertions.assertEquals(1, stub.getRequestCount());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Coalesced requests keep their own deadline")
+    public void shouldBoundCoalescedRequestsByTheirDeadline() throws Exception {
+        // Given
+        AtomicInteger connections = new AtomicInteger();
+        CountDownLatch cancelled  = new CountDownLatch(1);
+        try (ServerSocket server = startSlowFirstResponseServer(connections, cancelled);
+             HttpClientWrapper http = HttpClientWrapper.builder().requestCoalescing(true).build()) {
+            String url = "http://localhost:" + server.getLocalPort() + "/v2/currentOrg";
+            CompletableFuture<ApiResponseHttp> leader = Deadline.after(Duration.ofSeconds(2))
+                    .call(() -> http.GETAsync(url, "token"));
+            // When
+            long start = System.nanoTime();
+            Assertions.assertThrows(DeadlineExceededException.class,
+                    () -> Deadline.after(Duration.ofMillis(100)).call(() -> http.GET(url, "token")));
+            long waited = System.nanoTime() - start;
+            ApiResponseHttp follower = http.GET(url, "token");
+            // Then
+            Assertions.assertTrue(waited < TimeUnit.MILLISECONDS.toNanos(400));
+            Assertions.assertEquals(200, follower.getCode());
+            Assertions.assertThrows(CompletionException.class, leader::join);
+            Assertions.assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(2, connections.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Hedge slow GET requests")
+    public void shouldHedgeSlowRequests() throws Exception {
+        // Given
+        AtomicInteger connections = new AtomicInteger();
+        CountDownLatch cancelled  = new CountDownLatch(1);
+        HedgePolicy hedge = HedgePolicy.builder()
+                .delay(Duration.ofMillis(100))
+                .budget(0.1, 5)
+                .build();
+        try (ServerSocket server = startSlowFirstResponseServer(connections, cancelled);
+             HttpClientWrapper http = HttpClientWrapper.builder().hedgePolicy(hedge).build()) {
+            // When
+            long start = System.nanoTime();
+            ApiResponseHttp res = http.GET("http://localhost:" + server.getLocalPort() + "/v2/currentOrg", "token");
+            // Then
+            Assertions.assertEquals(200, res.getCode());
+            Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            Assertions.assertEquals(2, connections.get());
+            Assertions.assertEquals(1, hedge.getHedgedCount());
+            Assertions.assertEquals(1, hedge.getHedgeWinCount());
+            Assertions.assertTrue(cancelled.await(5, TimeUnit.SECONDS), "Slow exchange should be cancelled");
+            LOGGER.info("Hedging {}", hedge);
+        }
+    }
+
+    /**
+     * Stub server answering every connection but the first one, which is held until the
+     * client closes it.
+     *
+     * @param connections
+     *      connections accepted
+     * @param cancelled
+     *      released when the client closes the held connection
+     * @return
+     *      server listening on a local port
+     * @throws IOException
+     *      cannot open the server socket
+     */
+    private static ServerSocket startSlowFirstResponseServer(AtomicInteger connections, CountDownLatch cancelled) throws IOException {
+        ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    boolean hold  = connections.incrementAndGet() == 1;
+                    Thread handler = new Thread(() -> answer(socket, hold, cancelled));
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server;
+    }
+
+    /**
+     * Read a request and answer it, or wait for the client to close the connection.
+     *
+     * @param socket
+     *      accepted connection
+     * @param hold
+     *      never answer
+     * @param cancelled
+     *      released when the client closes a held connection
+     */
+    private static void answer(Socket socket, boolean hold, CountDownLatch cancelled) {
+        try (Socket s = socket) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+            String line = in.readLine();
+            while (line != null && !line.isEmpty()) {
+                line = in.readLine();
+            }
+            if (hold) {
+                s.setSoTimeout(5000);
+                if (in.read() == -1) {
+                    cancelled.countDown();
+                }
+                return;
+            }
+            s.getOutputStream().write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\n"
+                    + "Content-Length: 2\r\nConnection: close\r\n\r\n{}").getBytes(StandardCharsets.US_ASCII));
+            s.getOutputStream().flush();
+        } catch (SocketTimeoutException e) {
+            LOGGER.warn("Held connection not closed by the client");
+        } catch (IOException e) {
+            // Connection reset by the client
+            if (hold) {
+                cancelled.countDown();
+            }
+        }
+    }
+}
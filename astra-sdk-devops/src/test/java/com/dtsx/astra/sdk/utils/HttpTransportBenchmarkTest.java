@@ -0,0 +1,179 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.Message;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncServer;
+import org.apache.hc.core5.http.nio.AsyncRequestConsumer;
+import org.apache.hc.core5.http.nio.AsyncServerRequestHandler;
+import org.apache.hc.core5.http.nio.entity.StringAsyncEntityConsumer;
+import org.apache.hc.core5.http.nio.support.AsyncResponseBuilder;
+import org.apache.hc.core5.http.nio.support.BasicRequestConsumer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.impl.nio.bootstrap.H2ServerBootstrap;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.ListenerEndpoint;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare throughput and p99 latency of the HTTP/1.1 and HTTP/2 transports against a local
+ * stub server answering after a fixed delay. Run with <code>-Dbenchmark=true</code>.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class HttpTransportBenchmarkTest {
+
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpTransportBenchmarkTest.class);
+
+    /** Concurrent callers. */
+    private static final int CONCURRENCY = 64;
+
+    /** Requests per caller. */
+    private static final int REQUESTS = 200;
+
+    /** Simulated server latency. */
+    private static final long SERVER_DELAY_MS = 5;
+
+    /** Payload returned by the stub. */
+    private static final String PAYLOAD = "[{\"id\":\"db1\",\"status\":\"ACTIVE\"},{\"id\":\"db2\",\"status\":\"PARKED\"}]";
+
+    /** Stub server speaking HTTP/1.1. */
+    private static HttpAsyncServer http1Server;
+
+    /** Stub server speaking HTTP/2 (prior knowledge, no TLS). */
+    private static HttpAsyncServer http2Server;
+
+    /** Delays the stub responses. */
+    private static ScheduledExecutorService delayer;
+
+    /** Stub url for HTTP/1.1. */
+    private static String http1Url;
+
+    /** Stub url for HTTP/2. */
+    private static String http2Url;
+
+    @BeforeAll
+    public static void startStubServers() throws Exception {
+        delayer     = Executors.newScheduledThreadPool(2);
+        http1Server = startStubServer(HttpVersionPolicy.FORCE_HTTP_1);
+        http1Url    = stubUrl(http1Server);
+        http2Server = startStubServer(HttpVersionPolicy.FORCE_HTTP_2);
+        http2Url    = stubUrl(http2Server);
+    }
+
+    @AfterAll
+    public static void stopStubServers() {
+        http1Server.close(CloseMode.GRACEFUL);
+        http2Server.close(CloseMode.GRACEFUL);
+        delayer.shutdownNow();
+    }
+
+    /**
+     * Start a stub answering every request with the same payload after a delay.
+     */
+    private static HttpAsyncServer startStubServer(HttpVersionPolicy versionPolicy) {
+        HttpAsyncServer server = H2ServerBootstrap.bootstrap()
+                .setVersionPolicy(versionPolicy)
+                .register("*", new AsyncServerRequestHandler<Message<HttpRequest, String>>() {
+                    @Override
+                    public AsyncRequestConsumer<Message<HttpRequest, String>> prepare(
+                            HttpRequest request, EntityDetails entityDetails, HttpContext context) {
+                        return new BasicRequestConsumer<>(entityDetails != null ? new StringAsyncEntityConsumer() : null);
+                    }
+                    @Override
+                    public void handle(Message<HttpRequest, String> message, ResponseTrigger trigger, HttpContext context) {
+                        delayer.schedule(() -> {
+                            try {
+                                trigger.submitResponse(AsyncResponseBuilder.create(200)
+                                        .setEntity(PAYLOAD, ContentType.APPLICATION_JSON).build(), context);
+                            } catch (Exception e) {
+                                LOGGER.error("Cannot send response", e);
+                            }
+                        }, SERVER_DELAY_MS, TimeUnit.MILLISECONDS);
+                    }
+                })
+                .create();
+        server.start();
+        return server;
+    }
+
+    /**
+     * Listen on a random port.
+     */
+    private static String stubUrl(HttpAsyncServer server) throws Exception {
+        ListenerEndpoint endpoint = server.listen(new InetSocketAddress("localhost", 0), URIScheme.HTTP).get();
+        return "http://localhost:" + ((InetSocketAddress) endpoint.getAddress()).getPort() + "/v2/databases";
+    }
+
+    @Test
+    @DisplayName("HTTP/1.1 pooled transport vs HTTP/2 multiplexed transport")
+    public void shouldCompareTransports() throws Exception {
+        HttpClientWrapper http1 = HttpClientWrapper.builder()
+                .connectionPool(ConnectionPoolConfig.builder().maxTotal(CONCURRENCY).maxPerRoute(CONCURRENCY).build())
+                .retryPolicy(RetryPolicy.NONE)
+                .build();
+        HttpClientWrapper http2 = HttpClientWrapper.builder()
+                .transport(new Http2Transport())
+                .retryPolicy(RetryPolicy.NONE)
+                .build();
+        // Warm up
+        run(http1, http1Url, 10);
+        run(http2, http2Url, 10);
+        // Measure
+        String r1 = run(http1, http1Url, REQUESTS);
+        String r2 = run(http2, http2Url, REQUESTS);
+        LOGGER.info("http1: {}", r1);
+        LOGGER.info("http2: {}", r2);
+        Assertions.assertEquals(0, http1.getConnectionPoolStats().getLeased());
+    }
+
+    /**
+     * Send requests from concurrent callers and compute statistics.
+     */
+    private String run(HttpClientWrapper http, String url, int requestsPerCaller) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CONCURRENCY);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> done = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < CONCURRENCY; c++) {
+            done.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < requestsPerCaller; i++) {
+                    long t0 = System.nanoTime();
+                    Assertions.assertEquals(200, http.GET(url, "token").getCode());
+                    latencies.add(System.nanoTime() - t0);
+                }
+            }, callers));
+        }
+        CompletableFuture.allOf(done.toArray(new CompletableFuture[0])).get();
+        long elapsed = System.nanoTime() - start;
+        callers.shutdown();
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p50 = sorted.get(sorted.size() / 2);
+        long p99 = sorted.get((int) (sorted.size() * 0.99));
+        double throughput = sorted.size() / (elapsed / 1_000_000_000.0);
+        return String.format("requests=%d, throughput=%.0f req/s, p50=%.2f ms, p99=%.2f ms",
+                sorted.size(), throughput, p50 / 1_000_000.0, p99 / 1_000_000.0);
+    }
+
+}
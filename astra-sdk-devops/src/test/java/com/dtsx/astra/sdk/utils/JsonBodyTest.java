@@ -0,0 +1,32 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * Request bodies written by {@link JsonBody}, no server involved.
+ */
+public class JsonBodyTest {
+
+    @Test
+    @DisplayName("Write request bodies with a json generator")
+    public void shouldWriteJsonBody() {
+        // Given
+        JsonBody body = JsonBody.of(json -> {
+            json.writeStartObject();
+            json.writeStringField("username", "admin");
+            json.writeStringField("password", "p\"ss\\w\u00f6rd");
+            json.writeEndObject();
+        });
+        // When
+        String json = new String(body.toByteArray(), StandardCharsets.UTF_8);
+        // Then
+        Assertions.assertEquals("{\"username\":\"admin\",\"password\":\"p\\\"ss\\\\w\u00f6rd\"}", json);
+        Assertions.assertTrue(body.toEntity().isRepeatable());
+        Assertions.assertEquals("[\"a\"]", new String(JsonBody.of(Collections.singletonList("a")).toByteArray(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,170 @@
+package com.dtsx.astra.sdk.utils;
+
+import com.dtsx.astra.sdk.db.domain.Database;
+import com.dtsx.astra.sdk.db.domain.DatabaseSummary;
+import com.dtsx.astra.sdk.streaming.domain.CdcDefinition;
+import com.dtsx.astra.sdk.streaming.domain.Statistics;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compare decoding with a new type reference and reader per call against the cached readers of
+ * {@link JsonUtils}, for the payloads of database, cdc and statistics listings. Run with
+ * <code>-Dbenchmark=true</code>, add <code>-Dastra.sdk.json.accessors=auto</code> and Blackbird
+ * or Afterburner on the classpath to measure an accessor backend.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class JsonDecodeBenchmarkTest {
+
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonDecodeBenchmarkTest.class);
+
+    /** Databases in the projection payload. */
+    private static final int DATABASES = 1000;
+
+    /** Decodes per measure. */
+    private static final int ITERATIONS = 20_000;
+
+    /** Items per payload. */
+    private static final int ITEMS = 20;
+
+    /** Allocation counter of the current thread. */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** List of databases. */
+    private static final TypeReference<List<Database>> TYPE_LIST_DATABASES = new TypeReference<List<Database>>(){};
+
+    /** List of cdc. */
+    private static final TypeReference<List<CdcDefinition>> TYPE_LIST_CDC = new TypeReference<List<CdcDefinition>>(){};
+
+    /** Statistics per topic. */
+    private static final TypeReference<Map<String, Statistics>> TYPE_MAP_STATISTICS = new TypeReference<Map<String, Statistics>>(){};
+
+    @Test
+    @DisplayName("Decode List<Database>, List<CdcDefinition> and Map<String, Statistics>")
+    public void shouldDecodeWithCachedReaders() throws Exception {
+        LOGGER.info("Accessor backend: {}", JsonUtils.getAccessorBackend());
+        String databases  = payload(i -> "{\"id\":\"db" + i + "\",\"orgId\":\"org\",\"ownerId\":\"owner\","
+                + "\"creationTime\":\"2023-01-01T00:00:00Z\",\"status\":\"ACTIVE\",\"observedStatus\":\"ACTIVE\","
+                + "\"info\":{\"name\":\"db" + i + "\",\"keyspace\":\"ks\",\"cloudProvider\":\"GCP\",\"tier\":\"serverless\","
+                + "\"capacityUnits\":1,\"region\":\"us-east1\",\"keyspaces\":[\"ks\",\"ks2\"]},"
+                + "\"storage\":{\"nodeCount\":3,\"replicationFactor\":3,\"totalStorage\":20,\"usedStorage\":1},"
+                + "\"availableActions\":[\"park\",\"terminate\",\"addKeyspace\"],"
+                + "\"studioUrl\":\"https://studio\",\"grafanaUrl\":\"https://grafana\",\"cqlshUrl\":\"https://cqlsh\","
+                + "\"graphqlUrl\":\"https://graphql\",\"dataEndpointUrl\":\"https://data\"}", true);
+        String cdc        = payload(i -> "{\"orgId\":\"org\",\"clusterName\":\"pulsar-gcp\",\"tenant\":\"t\","
+                + "\"namespace\":\"astracdc\",\"connectorName\":\"c" + i + "\",\"configType\":\"source\","
+                + "\"databaseId\":\"db\",\"databaseName\":\"db\",\"keyspace\":\"ks\",\"databaseTable\":\"table" + i + "\","
+                + "\"connectorStatus\":\"Running\",\"cdcStatus\":\"Running\",\"codStatus\":\"Running\","
+                + "\"eventTopic\":\"events\",\"dataTopic\":\"data\",\"instances\":1,\"cpu\":1,\"memory\":1000}", true);
+        String statistics = payload(i -> "\"persistent://t/ns/topic" + i + "\":{\"name\":\"topic" + i + "\","
+                + "\"totalMessagesIn\":1000,\"totalMessagesOut\":900,\"totalBytesIn\":123456,\"totalBytesOut\":654321,"
+                + "\"msgRateIn\":1.5,\"msgRateOut\":1.2,\"throughputIn\":100.5,\"throughputOut\":80.2,"
+                + "\"subscriptionCount\":2,\"producerCount\":1,\"consumerCount\":2,\"storageSize\":4096}", false);
+        compare("List<Database>", databases,
+                body -> read(body, new TypeReference<List<Database>>(){}),
+                body -> JsonUtils.unmarshallType(body, TYPE_LIST_DATABASES));
+        compare("List<CdcDefinition>", cdc,
+                body -> read(body, new TypeReference<List<CdcDefinition>>(){}),
+                body -> JsonUtils.unmarshallType(body, TYPE_LIST_CDC));
+        compare("Map<String, Statistics>", statistics,
+                body -> read(body, new TypeReference<Map<String, Statistics>>(){}),
+                body -> JsonUtils.unmarshallType(body, TYPE_MAP_STATISTICS));
+    }
+
+    @Test
+    @DisplayName("Decode 1000 databases as Database and as DatabaseSummary")
+    public void shouldDecodeProjection() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < DATABASES; i++) {
+            sb.append(i == 0 ? "" : ",").append("{\"id\":\"db").append(i).append("\",\"orgId\":\"org\",\"status\":\"ACTIVE\","
+                    + "\"info\":{\"name\":\"db").append(i).append("\",\"keyspace\":\"ks\",\"cloudProvider\":\"GCP\","
+                    + "\"tier\":\"serverless\",\"region\":\"us-east1\",\"keyspaces\":[\"ks\",\"ks2\"],"
+                    + "\"datacenters\":[{\"id\":\"dc1\",\"name\":\"dc1\",\"tier\":\"serverless\",\"status\":\"ACTIVE\","
+                    + "\"cloudProvider\":\"GCP\",\"region\":\"us-east1\",\"capacityUnits\":1}]},"
+                    + "\"storage\":{\"nodeCount\":3,\"replicationFactor\":3,\"totalStorage\":20,\"usedStorage\":1},"
+                    + "\"cost\":{\"costPerMinCents\":0,\"costPerHourCents\":0,\"costPerDayCents\":0},"
+                    + "\"metrics\":{\"writeRequestsTotalCount\":12,\"readRequestsTotalCount\":34,\"liveDataSizeBytes\":5678},"
+                    + "\"availableActions\":[\"park\",\"terminate\",\"addKeyspace\"],"
+                    + "\"studioUrl\":\"https://studio\",\"grafanaUrl\":\"https://grafana\",\"cqlshUrl\":\"https://cqlsh\"}");
+        }
+        String databases = sb.append("]").toString();
+        TypeReference<List<DatabaseSummary>> summaries = new TypeReference<List<DatabaseSummary>>(){};
+        List<DatabaseSummary> decoded = JsonUtils.unmarshallType(databases, summaries);
+        Assertions.assertEquals(DATABASES, decoded.size());
+        Assertions.assertEquals("db1", decoded.get(1).getName());
+        long[] full       = new long[2];
+        long[] projection = new long[2];
+        for (int round = 0; round < 3; round++) {
+            full       = measure(databases, 100, body -> JsonUtils.unmarshallType(body, TYPE_LIST_DATABASES));
+            projection = measure(databases, 100, body -> JsonUtils.unmarshallType(body, summaries));
+        }
+        LOGGER.info("{} databases: Database {} ns/op {} bytes/op, DatabaseSummary {} ns/op {} bytes/op",
+                DATABASES, full[0], full[1], projection[0], projection[1]);
+        Assertions.assertTrue(projection[1] < full[1]);
+    }
+
+    /**
+     * Decoding before the reader registry, type reference and reader resolved per call.
+     */
+    private static Object read(String body, TypeReference<?> ref) {
+        try {
+            return JsonUtils.getObjectMapper().readValue(body, ref);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Measure both decoders, the first round warms up.
+     */
+    private static void compare(String name, String body, Function<String, Object> perCall, Function<String, Object> cached) {
+        Object decoded = cached.apply(body);
+        Assertions.assertEquals(ITEMS, (decoded instanceof Map) ? ((Map<?, ?>) decoded).size() : ((List<?>) decoded).size());
+        long[] before = new long[2];
+        long[] after  = new long[2];
+        for (int round = 0; round < 3; round++) {
+            before = measure(body, ITERATIONS, perCall);
+            after  = measure(body, ITERATIONS, cached);
+        }
+        LOGGER.info("{}: {} bytes, per call reader {} ns/op {} bytes/op, cached reader {} ns/op {} bytes/op",
+                name, body.length(), before[0], before[1], after[0], after[1]);
+    }
+
+    /**
+     * Decode the payload and compute time and bytes allocated per decode.
+     */
+    private static long[] measure(String body, int iterations, Function<String, Object> decoder) {
+        long allocated = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+        long start     = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            Assertions.assertNotNull(decoder.apply(body));
+        }
+        long elapsed = System.nanoTime() - start;
+        allocated = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocated;
+        return new long[] { elapsed / iterations, allocated / iterations };
+    }
+
+    /**
+     * Build a JSON array or object of items.
+     */
+    private static String payload(Function<Integer, String> item, boolean array) {
+        StringBuilder sb = new StringBuilder(array ? "[" : "{");
+        for (int i = 0; i < ITEMS; i++) {
+            sb.append(i == 0 ? "" : ",").append(item.apply(i));
+        }
+        return sb.append(array ? "]" : "}").toString();
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.dtsx.astra.sdk.utils;
+
+import com.dtsx.astra.sdk.exception.RateLimitExceededException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+/**
+ * Token buckets of the {@link RateLimiter}, no server involved.
+ */
+public class RateLimiterTest {
+
+    @Test
+    @DisplayName("Permits beyond the burst are refused or delayed")
+    public void shouldLimitBurst() {
+        // Given
+        RateLimiter limiter = RateLimiter.builder()
+                .permitsPerSecond(1)
+                .burst(2)
+                .maxWait(Duration.ZERO)
+                .build();
+        String key = RateLimiter.key("token", "api.astra.datastax.com");
+        // When
+        Assertions.assertTrue(limiter.tryAcquire(key));
+        Assertions.assertTrue(limiter.tryAcquire(key));
+        // Then
+        Assertions.assertFalse(limiter.tryAcquire(key));
+        Assertions.assertThrows(RateLimitExceededException.class, () -> limiter.acquire(key));
+        Assertions.assertTrue(limiter.tryAcquire(RateLimiter.key("other", "api.astra.datastax.com")));
+        Assertions.assertEquals(3, limiter.getAcquiredCount());
+        Assertions.assertEquals(2, limiter.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Buckets full again are removed")
+    public void shouldRemoveFullBuckets() throws InterruptedException {
+        // Given
+        RateLimiter limiter = RateLimiter.builder()
+                .permitsPerSecond(100)
+                .burst(1)
+                .build();
+        IntStream.range(0, 50).forEach(i -> limiter.acquire(RateLimiter.key("token" + i, "localhost")));
+        Assertions.assertEquals(50, limiter.getBucketCount());
+        // When
+        Thread.sleep(1100);
+        limiter.acquire(RateLimiter.key("rotated", "localhost"));
+        // Then
+        Assertions.assertEquals(1, limiter.getBucketCount());
+    }
+}
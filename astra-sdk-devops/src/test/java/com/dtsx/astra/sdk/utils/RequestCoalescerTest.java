@@ -0,0 +1,79 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Identical requests sharing one exchange in the {@link RequestCoalescer}, no server involved.
+ */
+public class RequestCoalescerTest {
+
+    @Test
+    @DisplayName("Identical requests in flight share a single exchange")
+    public void shouldShareExchangeInFlight() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            // Given
+            RequestCoalescer coalescer = new RequestCoalescer();
+            String key = RequestCoalescer.key("https://api.astra.datastax.com/v2/databases", "token");
+            CompletableFuture<ApiResponseHttp> exchange = new CompletableFuture<>();
+            AtomicInteger sent = new AtomicInteger();
+            List<CompletableFuture<ApiResponseHttp>> calls = IntStream.range(0, 4)
+                    .mapToObj(i -> coalescer.executeAsync(key, () -> {
+                        sent.incrementAndGet();
+                        return exchange;
+                    }, scheduler))
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(1, coalescer.getInFlightCount());
+            // When
+            ApiResponseHttp res = new ApiResponseHttp("{}", 200);
+            exchange.complete(res);
+            // Then
+            calls.forEach(call -> Assertions.assertSame(res, call.join()));
+            Assertions.assertEquals(1, sent.get());
+            Assertions.assertEquals(3, coalescer.getCoalescedCount());
+            Assertions.assertEquals(0, coalescer.getInFlightCount());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A failed exchange fails its followers and is sent again by the next caller")
+    public void shouldSendAgainAfterFailure() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            // Given
+            RequestCoalescer coalescer = new RequestCoalescer();
+            String key = RequestCoalescer.key("https://api.astra.datastax.com/v2/databases", "token");
+            CompletableFuture<ApiResponseHttp> exchange = new CompletableFuture<>();
+            CompletableFuture<ApiResponseHttp> leader = coalescer.executeAsync(key, () -> exchange, scheduler);
+            CompletableFuture<ApiResponseHttp> follower = coalescer.executeAsync(key, () -> exchange, scheduler);
+            // When
+            exchange.completeExceptionally(new IllegalStateException("connection reset"));
+            // Then
+            Assertions.assertThrows(CompletionException.class, leader::join);
+            Assertions.assertThrows(CompletionException.class, follower::join);
+            Assertions.assertEquals(0, coalescer.getInFlightCount());
+            AtomicInteger sent = new AtomicInteger();
+            ApiResponseHttp res = coalescer.execute(key, () -> {
+                sent.incrementAndGet();
+                return new ApiResponseHttp("{}", 200);
+            });
+            Assertions.assertEquals(200, res.getCode());
+            Assertions.assertEquals(1, sent.get());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compare the bytes allocated to map a response, copying headers and body as before against
+ * the lazy headers and pooled body buffer of {@link HttpClientWrapper}.
+ * Run with <code>-Dbenchmark=true</code>.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ResponseAllocationBenchmarkTest {
+
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResponseAllocationBenchmarkTest.class);
+
+    /** Responses mapped per measure. */
+    private static final int RESPONSES = 50_000;
+
+    /** Headers of a response. */
+    private static final int HEADERS = 12;
+
+    /** Allocation counter of the current thread. */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Bytes allocated per response, eager mapping vs lean mapping")
+    public void shouldAllocateLessPerResponse() throws Exception {
+        byte[] payload = payload();
+        long eager = 0;
+        long lean  = 0;
+        // First round warms up
+        for (int round = 0; round < 3; round++) {
+            eager = measure(payload, true);
+            lean  = measure(payload, false);
+        }
+        LOGGER.info("body={} bytes, eager={} bytes/response, lean={} bytes/response", payload.length, eager, lean);
+        Assertions.assertTrue(lean < eager);
+    }
+
+    /**
+     * Map responses and compute the bytes allocated per response.
+     */
+    private long measure(byte[] payload, boolean eager) throws Exception {
+        ClassicHttpResponse[] responses = new ClassicHttpResponse[RESPONSES];
+        for (int i = 0; i < RESPONSES; i++) {
+            responses[i] = response(payload);
+        }
+        long start = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (ClassicHttpResponse response : responses) {
+            ApiResponseHttp res;
+            if (eager) {
+                String body = EntityUtils.toString(response.getEntity());
+                EntityUtils.consume(response.getEntity());
+                Map<String, String> headers = new HashMap<>();
+                Arrays.stream(response.getHeaders()).forEach(h -> headers.put(h.getName(), h.getValue()));
+                res = new ApiResponseHttp(body, response.getCode(), headers);
+            } else {
+                res = new ApiResponseHttp(ResponseBodyReader.read(response.getEntity()), response.getCode(), response.getHeaders());
+            }
+            Assertions.assertEquals(payload.length, res.getBody().length());
+        }
+        return (THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - start) / RESPONSES;
+    }
+
+    /**
+     * Response of a polling call.
+     */
+    private static ClassicHttpResponse response(byte[] payload) {
+        BasicClassicHttpResponse response = new BasicClassicHttpResponse(200);
+        for (int i = 0; i < HEADERS; i++) {
+            response.addHeader("X-Header-" + i, "value-" + i);
+        }
+        response.setEntity(new ByteArrayEntity(payload, ContentType.APPLICATION_JSON));
+        return response;
+    }
+
+    /**
+     * List of databases as returned by the devops api.
+     */
+    private static byte[] payload() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            sb.append("{\"id\":\"db").append(i).append("\",\"status\":\"ACTIVE\"},");
+        }
+        return sb.append("{}]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Expiry, revalidation and eviction of the {@link ResponseCache}, no server involved.
+ */
+public class ResponseCacheTest {
+
+    /** Cached endpoint. */
+    private static final String REGIONS = "https://api.astra.datastax.com/v2/availableRegions";
+
+    @Test
+    @DisplayName("Fresh entries are served, expired entries are revalidated with their ETag")
+    public void shouldRevalidateExpiredEntries() throws InterruptedException {
+        // Given
+        ResponseCache cache = ResponseCache.builder().referenceData(Duration.ofMillis(200)).build();
+        List<Map<String, String>> sent = new ArrayList<>();
+        ApiResponseHttp regions = new ApiResponseHttp("[]", 200, Collections.singletonMap("ETag", "\"v1\""));
+        Assertions.assertSame(regions, cache.get(REGIONS, "token", headers -> {
+            sent.add(headers);
+            return regions;
+        }));
+        Assertions.assertSame(regions, cache.get(REGIONS, "token", headers -> {
+            sent.add(headers);
+            return regions;
+        }));
+        Assertions.assertEquals(1, sent.size());
+        // When
+        Thread.sleep(300);
+        ApiResponseHttp res = cache.get(REGIONS, "token", headers -> {
+            sent.add(headers);
+            return new ApiResponseHttp("", 304);
+        });
+        // Then
+        Assertions.assertSame(regions, res);
+        Assertions.assertEquals("\"v1\"", sent.get(1).get("If-None-Match"));
+        Assertions.assertEquals(1, cache.getHitCount());
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(1, cache.getRevalidationCount());
+    }
+
+    @Test
+    @DisplayName("Urls without a time to live are never cached")
+    public void shouldSkipUncachedUrls() {
+        // Given
+        ResponseCache cache = ResponseCache.builder().referenceData(Duration.ofMinutes(5)).build();
+        String url = "https://api.astra.datastax.com/v2/databases";
+        // When
+        IntStream.range(0, 2).forEach(i -> cache.get(url, "token", headers -> new ApiResponseHttp("[]", 200)));
+        // Then
+        Assertions.assertNull(cache.getTimeToLive(url));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Least recently used entries are evicted beyond the max entries")
+    public void shouldEvictBeyondMaxEntries() {
+        // Given
+        ResponseCache cache = ResponseCache.builder()
+                .referenceData(Duration.ofMinutes(5))
+                .maxEntries(2)
+                .build();
+        // When
+        IntStream.range(0, 3).forEach(i -> cache.get(REGIONS, "token" + i, headers -> new ApiResponseHttp("[]", 200)));
+        // Then
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.getEvictionCount());
+    }
+}
@@ -0,0 +1,66 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+/**
+ * Retry decisions of {@link RetryPolicy} and {@link RetryBudget}, no server involved.
+ */
+public class RetryPolicyTest {
+
+    @Test
+    @DisplayName("Idempotent requests and listed POST operations are retried")
+    public void shouldRetryIdempotentRequests() {
+        // Given
+        RetryPolicy policy = RetryPolicy.builder()
+                .maxAttempts(5)
+                .backoff(Duration.ofMillis(100), Duration.ofSeconds(5))
+                .retryOnPost("/park", "/unpark", "/resize")
+                .build();
+        // Then
+        Assertions.assertTrue(policy.isRetryable("GET", "/v2/databases"));
+        Assertions.assertTrue(policy.isRetryable("POST", "/v2/databases/xxx/park"));
+        Assertions.assertFalse(policy.isRetryable("POST", "/v2/databases"));
+        Assertions.assertTrue(policy.isRetryableStatus(503));
+        Assertions.assertFalse(policy.isRetryableStatus(400));
+    }
+
+    @Test
+    @DisplayName("Backoff is capped and Retry-After is honored up to its max")
+    public void shouldComputeDelays() {
+        // Given
+        RetryPolicy policy = RetryPolicy.builder()
+                .maxAttempts(3)
+                .backoff(Duration.ofMillis(100), Duration.ofMillis(150))
+                .retryAfter(true, Duration.ofSeconds(10))
+                .build();
+        // Then
+        Assertions.assertTrue(policy.nextDelay(2, null).compareTo(Duration.ofMillis(150)) <= 0);
+        Assertions.assertEquals(Duration.ofSeconds(2), policy.nextDelay(1, "2"));
+        Assertions.assertNull(policy.nextDelay(1, "60"));
+        Assertions.assertNull(policy.nextDelay(3, null));
+        Assertions.assertEquals(Duration.ofSeconds(2), RetryPolicy.parseRetryAfter("2"));
+        Assertions.assertNull(RetryPolicy.parseRetryAfter("soon"));
+    }
+
+    @Test
+    @DisplayName("Retries stop when the budget is spent and resume with new requests")
+    public void shouldSpendRetryBudget() {
+        // Given
+        RetryBudget budget = new RetryBudget(0.5, 0);
+        // When
+        long granted = IntStream.range(0, 20).filter(i -> budget.tryAcquire()).count();
+        // Then
+        Assertions.assertEquals(10, granted);
+        Assertions.assertFalse(budget.tryAcquire());
+        budget.onRequest();
+        budget.onRequest();
+        Assertions.assertEquals(1, budget.getAvailableRetries());
+        Assertions.assertTrue(budget.tryAcquire());
+        Assertions.assertTrue(RetryBudget.UNLIMITED.tryAcquire());
+    }
+}
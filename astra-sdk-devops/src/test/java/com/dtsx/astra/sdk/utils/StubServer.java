@@ -0,0 +1,109 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.HttpRequestHandler;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP/1.1 server answering the unit tests, no Astra credentials needed.
+ */
+final class StubServer implements Closeable {
+
+    /** Running server. */
+    private final HttpServer server;
+
+    /** Requests received. */
+    private final AtomicInteger requests = new AtomicInteger();
+
+    /**
+     * Start a server answering every request with the handler.
+     *
+     * @param handler
+     *      request handler
+     * @throws IOException
+     *      when the server cannot listen
+     */
+    private StubServer(HttpRequestHandler handler) throws IOException {
+        this.server = ServerBootstrap.bootstrap()
+                .setListenerPort(0)
+                .register("*", (req, res, ctx) -> {
+                    requests.incrementAndGet();
+                    handler.handle(req, res, ctx);
+                })
+                .create();
+        this.server.start();
+    }
+
+    /**
+     * Start a server answering every request with the handler.
+     *
+     * @param handler
+     *      request handler
+     * @return
+     *      running server
+     * @throws IOException
+     *      when the server cannot listen
+     */
+    static StubServer start(HttpRequestHandler handler) throws IOException {
+        return new StubServer(handler);
+    }
+
+    /**
+     * Start a server answering every request with a JSON body.
+     *
+     * @param json
+     *      body of the responses
+     * @return
+     *      running server
+     * @throws IOException
+     *      when the server cannot listen
+     */
+    static StubServer json(String json) throws IOException {
+        return start((req, res, ctx) -> res.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON)));
+    }
+
+    /**
+     * Url of a path on this server.
+     *
+     * @param path
+     *      path starting with a slash
+     * @return
+     *      url
+     */
+    String url(String path) {
+        return getRoute() + path;
+    }
+
+    /**
+     * Route of the server as reported by the pool statistics.
+     *
+     * @return
+     *      scheme, host and port
+     */
+    String getRoute() {
+        return "http://localhost:" + server.getLocalPort();
+    }
+
+    /**
+     * Number of requests received.
+     *
+     * @return
+     *      requests count
+     */
+    int getRequestCount() {
+        return requests.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        server.close(CloseMode.IMMEDIATE);
+    }
+}
@@ -0,0 +1,28 @@
+package com.dtsx.astra.sdk.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Helpers of {@link Utils}, no server involved.
+ */
+public class UtilsTest {
+
+    @Test
+    @DisplayName("Identifiers and names of a path are replaced by placeholders")
+    public void shouldTemplatePaths() {
+        Assertions.assertEquals("/v2/databases/{id}/keyspaces/{keyspace}",
+                Utils.pathTemplate("/v2/databases/8d4a5c6e-1f0b-4a8e-9c3d-2b7e5f6a1c90/keyspaces/sales"));
+        Assertions.assertEquals("/v2/databases/{id}/datacenters/{id}/terminate",
+                Utils.pathTemplate("/v2/databases/8d4a5c6e-1f0b-4a8e-9c3d-2b7e5f6a1c90/datacenters/8d4a5c6e-1f0b-4a8e-9c3d-2b7e5f6a1c90-1/terminate"));
+        Assertions.assertEquals("/v2/streaming/tenants/{tenant}/clusters/{cluster}",
+                Utils.pathTemplate("/v2/streaming/tenants/my-tenant/clusters/pulsar-gcp-useast1"));
+        Assertions.assertEquals("/admin/v2/stats/namespaces/{tenant}/{namespace}",
+                Utils.pathTemplate("/admin/v2/stats/namespaces/my-tenant/default"));
+        Assertions.assertEquals("/v2/clientIdSecrets/{id}", Utils.pathTemplate("/v2/clientIdSecrets/AbCdEfGh"));
+        Assertions.assertEquals("/v2/organizations/users/{id}/roles",
+                Utils.pathTemplate("/v2/organizations/users/u-1/roles"));
+        Assertions.assertEquals("/v2/currentOrg", Utils.pathTemplate("/v2/currentOrg"));
+    }
+}
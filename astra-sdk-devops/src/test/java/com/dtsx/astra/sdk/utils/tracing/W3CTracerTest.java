@@ -0,0 +1,62 @@
+package com.dtsx.astra.sdk.utils.tracing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Propagation of the <code>traceparent</code> header by the {@link W3CTracer}, no server involved.
+ */
+public class W3CTracerTest {
+
+    /** Trace and parent identifiers of a remote caller. */
+    private static final String PARENT_ID = "-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-";
+
+    @Test
+    @DisplayName("Sampled flag is the lowest bit of the trace flags")
+    public void shouldReadSampledFlag() {
+        // Given
+        W3CTracer tracer = new W3CTracer(span -> {});
+        // When
+        Span sampled    = tracer.startSpan("sampled", SpanKind.CLIENT, W3CTracer.remoteParent("00" + PARENT_ID + "03", null));
+        Span notSampled = tracer.startSpan("not sampled", SpanKind.CLIENT, W3CTracer.remoteParent("00" + PARENT_ID + "10", null));
+        // Then
+        Assertions.assertTrue(sampled.getTraceParent().endsWith("-01"));
+        Assertions.assertTrue(notSampled.getTraceParent().endsWith("-00"));
+    }
+
+    @Test
+    @DisplayName("Spans continue the trace of a remote parent and only sampled spans are exported")
+    public void shouldContinueRemoteTrace() {
+        // Given
+        List<W3CTracer.W3CSpan> spans = new ArrayList<>();
+        W3CTracer tracer = new W3CTracer(spans::add);
+        // When
+        W3CTracer.W3CSpan child = (W3CTracer.W3CSpan) tracer.startSpan("child", SpanKind.CLIENT,
+                W3CTracer.remoteParent("00" + PARENT_ID + "01", "vendor=value"));
+        child.end();
+        tracer.startSpan("dropped", SpanKind.CLIENT, W3CTracer.remoteParent("00" + PARENT_ID + "00", null)).end();
+        // Then
+        Assertions.assertEquals("0af7651916cd43dd8448eb211c80319c", child.getTraceId());
+        Assertions.assertEquals("b7ad6b7169203331", child.getParentSpanId());
+        Assertions.assertEquals("vendor=value", child.getTraceState());
+        Assertions.assertEquals(1, spans.size());
+    }
+
+    @Test
+    @DisplayName("Invalid headers start a new trace")
+    public void shouldIgnoreInvalidParent() {
+        // Given
+        W3CTracer tracer = new W3CTracer(span -> {});
+        // When
+        Span parent = W3CTracer.remoteParent("00-00000000000000000000000000000000-b7ad6b7169203331-01", null);
+        Span root   = tracer.startSpan("root", SpanKind.CLIENT, parent);
+        // Then
+        Assertions.assertNull(parent);
+        Assertions.assertTrue(root.getTraceParent().matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01"));
+        Assertions.assertNull(((W3CTracer.W3CSpan) root).getParentSpanId());
+    }
+}